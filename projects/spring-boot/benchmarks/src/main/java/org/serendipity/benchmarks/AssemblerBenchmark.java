@@ -0,0 +1,72 @@
+package org.serendipity.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.serendipity.restapi.assembler.IndividualModelAssembler;
+import org.serendipity.restapi.assembler.PartyModelAssembler;
+import org.serendipity.restapi.entity.Individual;
+import org.serendipity.restapi.image.ImageIndex;
+import org.serendipity.restapi.model.IndividualModel;
+import org.serendipity.restapi.model.PartyModel;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AssemblerBenchmark {
+
+  // IndividualModelAssembler.toModel() and PartyModelAssembler.toModel() on a member of the House (see: Graphs), the
+  // assemblers are wired as they are in the server
+
+  private AnnotationConfigApplicationContext context;
+
+  private IndividualModelAssembler individualModelAssembler;
+  private PartyModelAssembler partyModelAssembler;
+
+  private Individual individual;
+
+  @Setup
+  public void setup() {
+
+    context = new AnnotationConfigApplicationContext(ImageIndex.class, PartyModelAssembler.class,
+      IndividualModelAssembler.class);
+
+    individualModelAssembler = context.getBean(IndividualModelAssembler.class);
+    partyModelAssembler = context.getBean(PartyModelAssembler.class);
+
+    individual = Graphs.individual();
+
+    CurrentRequest.bind("/api/individuals/1", null);
+  }
+
+  @TearDown
+  public void tearDown() {
+
+    CurrentRequest.unbind();
+
+    context.close();
+  }
+
+  @Benchmark
+  public IndividualModel individualModelAssembler() {
+    return individualModelAssembler.toModel(individual);
+  }
+
+  @Benchmark
+  public PartyModel partyModelAssembler() {
+    return partyModelAssembler.toModel(individual.getParty());
+  }
+
+  // The compact representation, for comparison (see: CompactModel)
+
+  @Benchmark
+  public void individualCompactModel(Blackhole blackhole) {
+    blackhole.consume(individualModelAssembler.toCompactModel(individual));
+  }
+
+}
@@ -0,0 +1,61 @@
+package org.serendipity.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.serendipity.restapi.database.seed.CsvReader;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CsvReaderBenchmark {
+
+  // The seed data's CSV parsing path (see: MemberLoader), every record of a sample-data file is read with CsvReader.
+  // The file is read into memory first so the benchmark measures parsing (and UTF-8 decoding), not I/O.
+
+  @Param({ "house-of-representatives.csv", "senate.csv", "electoral-divisions.csv" })
+  private String file;
+
+  private byte[] content;
+
+  @Setup
+  public void setup() throws IOException {
+
+    try (InputStream in = new ClassPathResource("sample-data/" + file).getInputStream()) {
+      content = StreamUtils.copyToByteArray(in);
+    }
+
+  }
+
+  @Benchmark
+  public int readRecords(Blackhole blackhole) throws IOException {
+
+    int records = 0;
+
+    try (CsvReader reader = new CsvReader(new InputStreamReader(new ByteArrayInputStream(content),
+      StandardCharsets.UTF_8))) {
+
+      String[] fields;
+
+      while ((fields = reader.readRecord()) != null) {
+        blackhole.consume(fields);
+        records++;
+      }
+
+    }
+
+    return records;
+  }
+
+}
@@ -0,0 +1,29 @@
+package org.serendipity.benchmarks;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public final class CurrentRequest {
+
+  // Links are built from the current request (see: ServletUriComponentsBuilder), a benchmark thread binds a request
+  // as the DispatcherServlet would, for example: GET http://localhost:3001/api/individuals?page=1&size=20
+
+  private CurrentRequest() {
+  }
+
+  public static void bind(String uri, String query) {
+
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+
+    request.setServerPort(3001);
+    request.setQueryString(query);
+
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+  }
+
+  public static void unbind() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+}
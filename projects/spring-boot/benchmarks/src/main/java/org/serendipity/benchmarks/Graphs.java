@@ -0,0 +1,205 @@
+package org.serendipity.benchmarks;
+
+import org.serendipity.restapi.database.seed.CsvReader;
+import org.serendipity.restapi.entity.*;
+import org.serendipity.restapi.type.LocationType;
+import org.serendipity.restapi.type.PartyType;
+import org.serendipity.restapi.type.au.IndividualNameType;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public final class Graphs {
+
+  // Realistic entity graphs, built from the seed data (sample-data/house-of-representatives.csv): an Individual, its
+  // Party, its legal name, a Parliament House and an electorate office address and its political party membership.
+  // The members are repeated (with new ids) for pages larger than the House.
+
+  static final String PATH = "sample-data/house-of-representatives.csv";
+
+  static final int HONORIFIC = 0;
+  static final int SALUTATION = 1;
+  static final int POST_NOMINALS = 2;
+  static final int SURNAME = 3;
+  static final int FIRST_NAME = 4;
+  static final int OTHER_NAME = 5;
+  static final int PREFERRED_NAME = 6;
+  static final int INITIALS = 7;
+  static final int ELECTORATE = 8;
+  static final int POLITICAL_PARTY = 10;
+  static final int SEX = 11;
+  static final int TELEPHONE = 12;
+  static final int ADDRESS_LINE_1 = 14;
+  static final int ADDRESS_LINE_2 = 15;
+  static final int SUBURB = 16;
+  static final int STATE = 17;
+  static final int POSTCODE = 18;
+
+  private static final List<String[]> MEMBERS = read();
+
+  private Graphs() {
+  }
+
+  public static List<Individual> individuals(int count) {
+
+    List<Individual> individuals = new ArrayList<>(count);
+
+    Address parliamentHouse = parliamentHouse();
+
+    for (int i = 0; i < count; i++) {
+      individuals.add(toIndividual(i + 1L, MEMBERS.get(i % MEMBERS.size()), parliamentHouse));
+    }
+
+    return individuals;
+  }
+
+  public static Individual individual() {
+    return individuals(1).get(0);
+  }
+
+  private static Individual toIndividual(Long id, String[] fields, Address parliamentHouse) {
+
+    Date updatedAt = new Date(1590969600000L + id * 1000);
+
+    Name name = Name.builder()
+      .title(fields[HONORIFIC])
+      .givenName(fields[FIRST_NAME])
+      .middleName(fields[OTHER_NAME])
+      .familyName(fields[SURNAME])
+      .honorific(fields[POST_NOMINALS])
+      .salutation(fields[SALUTATION])
+      .preferredName(fields[PREFERRED_NAME])
+      .initials(fields[INITIALS])
+      .build();
+
+    String displayName = name.getFamilyName() + ", " + name.getTitle() + " " + name.getGivenName();
+    String email = name.getGivenName().toLowerCase() + "." + name.getFamilyName().toLowerCase() + "@aph.gov.au";
+
+    Set<Address> addresses = new HashSet<>();
+
+    addresses.add(parliamentHouse);
+    addresses.add(electorateOffice(id, fields));
+
+    Party party = Party.builder()
+      .id(id)
+      .type(PartyType.INDIVIDUAL)
+      .displayName(displayName)
+      .addresses(addresses)
+      .roles(new HashSet<>())
+      .createdAt(updatedAt)
+      .updatedAt(updatedAt)
+      .build();
+
+    Individual individual = Individual.builder()
+      .id(id)
+      .party(party)
+      .name(name)
+      .sex(fields[SEX])
+      .email(email)
+      .phoneNumber(fields[TELEPHONE])
+      .photoUrl("images/" + name.getFamilyName().toLowerCase() + "-" + name.getGivenName().toLowerCase() + ".jpg")
+      .electorate(fields[ELECTORATE])
+      .build();
+
+    individual.setNames(Collections.singleton(IndividualName.builder()
+      .id(id)
+      .individual(individual)
+      .type(IndividualNameType.LEGAL_NAME.toString())
+      .name(name)
+      .fromDate(updatedAt)
+      .build()));
+
+    party.getRoles().add(Role.builder()
+      .id(id)
+      .role("Member")
+      .partyId(id)
+      .partyType(PartyType.INDIVIDUAL)
+      .partyName(displayName)
+      .partyEmail(email)
+      .partyPhoneNumber(fields[TELEPHONE])
+      .relationship("Membership")
+      .reciprocalRole("Organisation")
+      .reciprocalPartyId(100000L + Math.floorMod(fields[POLITICAL_PARTY].hashCode(), 100))
+      .reciprocalPartyType(PartyType.ORGANISATION)
+      .reciprocalPartyName(fields[POLITICAL_PARTY])
+      .reciprocalPartyEmail("info@" + fields[POLITICAL_PARTY].toLowerCase() + ".org.au")
+      .reciprocalPartyPhoneNumber("")
+      .build());
+
+    return individual;
+  }
+
+  private static Address parliamentHouse() {
+
+    Location location = Location.builder()
+      .id(0L)
+      .type(LocationType.ADDRESS)
+      .displayName("PO Box 6100 Parliament House Canberra ACT 2600")
+      .build();
+
+    return Address.builder()
+      .id(location.getId())
+      .location(location)
+      .name("The Senate")
+      .line1("PO Box 6100")
+      .line2("Parliament House")
+      .city("Canberra")
+      .state("ACT")
+      .postalCode("2600")
+      .country("Australia")
+      .addressType("Mailing")
+      .build();
+  }
+
+  private static Address electorateOffice(Long id, String[] fields) {
+
+    Location location = Location.builder()
+      .id(1000000L + id)
+      .type(LocationType.ADDRESS)
+      .displayName(fields[ADDRESS_LINE_1] + " " + fields[SUBURB] + " " + fields[STATE] + " " + fields[POSTCODE])
+      .build();
+
+    return Address.builder()
+      .id(location.getId())
+      .location(location)
+      .name("Electorate Office")
+      .line1(fields[ADDRESS_LINE_1])
+      .line2(fields[ADDRESS_LINE_2])
+      .city(fields[SUBURB])
+      .state(fields[STATE])
+      .postalCode(fields[POSTCODE])
+      .country("Australia")
+      .addressType("Street")
+      .build();
+  }
+
+  private static List<String[]> read() {
+
+    List<String[]> members = new ArrayList<>();
+
+    try (CsvReader reader = CsvReader.of(new ClassPathResource(PATH))) {
+
+      reader.readRecord(); // header
+
+      String[] fields;
+
+      while ((fields = reader.readRecord()) != null) {
+        members.add(fields);
+      }
+
+    } catch (IOException e) {
+
+      throw new UncheckedIOException(e);
+    }
+
+    return members;
+  }
+
+}
@@ -0,0 +1,78 @@
+package org.serendipity.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.serendipity.restapi.assembler.IndividualModelAssembler;
+import org.serendipity.restapi.assembler.PartyModelAssembler;
+import org.serendipity.restapi.entity.Individual;
+import org.serendipity.restapi.fields.FieldSetModule;
+import org.serendipity.restapi.image.ImageIndex;
+import org.serendipity.restapi.model.IndividualModel;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.EvoInflectorLinkRelationProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HalSerializationBenchmark {
+
+  // Jackson HAL serialisation of a page of IndividualModels, with the server's HAL object mapper configuration:
+  // Jackson2HalModule, the FieldSetModule, Evo Inflector relation names (individualModels) and indented output
+
+  @Param({ "20", "100", "1000" })
+  private int size;
+
+  private ObjectMapper objectMapper;
+
+  private PagedModel<IndividualModel> models;
+
+  @Setup
+  public void setup() {
+
+    objectMapper = Jackson2ObjectMapperBuilder.json()
+      .modules(new Jackson2HalModule(), new FieldSetModule())
+      .handlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(new EvoInflectorLinkRelationProvider(),
+        CurieProvider.NONE, MessageResolver.of(new StaticMessageSource())))
+      .featuresToEnable(SerializationFeature.INDENT_OUTPUT)
+      .build();
+
+    CurrentRequest.bind("/api/individuals", "page=1&size=" + size);
+
+    try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(ImageIndex.class,
+      PartyModelAssembler.class, IndividualModelAssembler.class)) {
+
+      models = new PagedResourcesAssembler<Individual>(new HateoasPageableHandlerMethodArgumentResolver(), null)
+        .toModel(new PageImpl<>(Graphs.individuals(size), PageRequest.of(1, size), size * 10L),
+          context.getBean(IndividualModelAssembler.class));
+    }
+
+  }
+
+  @TearDown
+  public void tearDown() {
+    CurrentRequest.unbind();
+  }
+
+  @Benchmark
+  public byte[] writeValueAsBytes() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(models);
+  }
+
+}
@@ -0,0 +1,67 @@
+package org.serendipity.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.serendipity.restapi.assembler.IndividualModelAssembler;
+import org.serendipity.restapi.assembler.PartyModelAssembler;
+import org.serendipity.restapi.entity.Individual;
+import org.serendipity.restapi.image.ImageIndex;
+import org.serendipity.restapi.model.IndividualModel;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.PagedModel;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PagedModelBenchmark {
+
+  // PagedResourcesAssembler.toModel(): a page of individuals (the second page, so it has first, prev, self, next and
+  // last links), as assembled by IndividualController.findAll()
+
+  @Param({ "20", "100", "1000" })
+  private int size;
+
+  private AnnotationConfigApplicationContext context;
+
+  private IndividualModelAssembler assembler;
+  private PagedResourcesAssembler<Individual> pagedResourcesAssembler;
+
+  private Page<Individual> page;
+
+  @Setup
+  public void setup() {
+
+    context = new AnnotationConfigApplicationContext(ImageIndex.class, PartyModelAssembler.class,
+      IndividualModelAssembler.class);
+
+    assembler = context.getBean(IndividualModelAssembler.class);
+    pagedResourcesAssembler = new PagedResourcesAssembler<>(new HateoasPageableHandlerMethodArgumentResolver(), null);
+
+    page = new PageImpl<>(Graphs.individuals(size), PageRequest.of(1, size), size * 10L);
+
+    CurrentRequest.bind("/api/individuals", "page=1&size=" + size);
+  }
+
+  @TearDown
+  public void tearDown() {
+
+    CurrentRequest.unbind();
+
+    context.close();
+  }
+
+  @Benchmark
+  public PagedModel<IndividualModel> pagedResourcesAssembler() {
+    return pagedResourcesAssembler.toModel(page, assembler);
+  }
+
+}
@@ -0,0 +1,24 @@
+package org.serendipity.reactive;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication(proxyBeanMethods = false)
+@Slf4j
+public class SerendipityReactiveApplication {
+
+  // A read-only, non-blocking (WebFlux and R2DBC) replica of the REST API's list endpoints: GET /individuals,
+  // /organisations and /electoral-divisions. It reads the server's database and produces the same HAL representations,
+  // a few event loop threads serve many concurrent readers. Writes, searches, exports, sparse fieldsets (?fields=) and
+  // the other representations are served by the server.
+
+  public static void main(String[] args) {
+
+    log.info("Serendipity REST API (Reactive) initialised");
+
+    SpringApplication.run(SerendipityReactiveApplication.class, args);
+  }
+
+}
@@ -0,0 +1,71 @@
+package org.serendipity.reactive.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+import java.util.Collections;
+
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+@Profile({"dev", "test", "prod"})
+@Slf4j
+public class DefaultSecurityConfig {
+
+  // The same resource server configuration as the server's DefaultSecurityConfig, so the same access tokens (and
+  // scopes, see: @PreAuthorize) are accepted
+
+  @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}")
+  private String jwkSetUri;
+
+  @Bean
+  SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+
+    log.info("DefaultSecurityConfig: securityWebFilterChain()");
+
+    http.cors().and()
+      .authorizeExchange()
+      .anyExchange().authenticated();
+
+    http.oauth2ResourceServer(ServerHttpSecurity.OAuth2ResourceServerSpec::jwt);
+
+    return http.build();
+  }
+
+  @Bean
+  ReactiveJwtDecoder jwtDecoder() {
+
+    log.info("DefaultSecurityConfig: jwtDecoder()");
+
+    return NimbusReactiveJwtDecoder.withJwkSetUri(this.jwkSetUri).build();
+  }
+
+  @Bean
+  CorsConfigurationSource corsConfigurationSource() {
+
+    log.info("DefaultSecurityConfig: corsConfigurationSource()");
+
+    CorsConfiguration configuration = new CorsConfiguration();
+
+    configuration.applyPermitDefaultValues();
+    configuration.setAllowedOrigins(Collections.singletonList("*"));
+    configuration.setAllowedMethods(Collections.singletonList("GET"));
+    configuration.setAllowCredentials(true);
+
+    UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+    source.registerCorsConfiguration("/**", configuration);
+
+    return source;
+  }
+
+}
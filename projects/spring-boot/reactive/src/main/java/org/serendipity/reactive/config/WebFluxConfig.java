@@ -0,0 +1,26 @@
+package org.serendipity.reactive.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+@Configuration(proxyBeanMethods = false)
+public class WebFluxConfig implements WebFluxConfigurer {
+
+  // Pageable controller arguments (?page=&size=&sort=), with the server's defaults: 20 per page, at most 1000
+  // (Spring Data REST's default-page-size and max-page-size)
+
+  static final int MAX_PAGE_SIZE = 1000;
+
+  @Override
+  public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+
+    ReactivePageableHandlerMethodArgumentResolver pageableResolver = new ReactivePageableHandlerMethodArgumentResolver();
+
+    pageableResolver.setMaxPageSize(MAX_PAGE_SIZE);
+
+    configurer.addCustomResolver(pageableResolver);
+  }
+
+}
@@ -0,0 +1,140 @@
+package org.serendipity.reactive.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.serendipity.reactive.hal.HalPageWriter;
+import org.serendipity.reactive.repository.PartyVersion;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class Controller {
+
+  protected static final MediaType HAL_JSON = MediaType.parseMediaType("application/hal+json");
+
+  // A page's models are read in batches of ids, the same batch size as the server's
+  // hibernate.default_batch_fetch_size
+
+  protected static final int BATCH_SIZE = 100;
+
+  private final HalPageWriter halPageWriter;
+
+  public Controller(HalPageWriter halPageWriter) {
+    this.halPageWriter = halPageWriter;
+  }
+
+  protected <Model> Mono<ResponseEntity<Flux<DataBuffer>>> page(String relation, Pageable pageable, Mono<Long> count,
+                                                                Flux<Model> models, ServerWebExchange exchange) {
+
+    return count
+      .map(totalElements -> ResponseEntity.ok()
+        .contentType(HAL_JSON)
+        .body(halPageWriter.write(relation, models, pageable, totalElements, exchange.getRequest().getURI(),
+          exchange.getResponse().bufferFactory())))
+      .onErrorMap(Controller::badRequest);
+  }
+
+  // Conditional GET: the same validators as the server's (see: the server's Controller.conditional()), derived from the
+  // page's party versions. WebFlux answers a matching If-None-Match/If-Modified-Since with a 304 before the body is
+  // subscribed to, so the page's models aren't read.
+
+  protected static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+  protected <Model> Mono<ResponseEntity<Flux<DataBuffer>>> conditionalPage(
+    String relation, Pageable pageable, Mono<Long> count, Flux<PartyVersion> versions,
+    Function<List<Long>, Flux<Model>> models, ServerWebExchange exchange) {
+
+    // The count and then the versions, one after the other (not Mono.zip()), so a request holds one connection at a
+    // time (see: PartyRepository)
+
+    return count
+      .flatMap(totalElements -> versions.collectList().map(rows -> {
+
+        List<Long> ids = rows.stream().map(PartyVersion::getId).collect(Collectors.toList());
+
+        Flux<Model> content = Flux.fromIterable(ids)
+          .buffer(BATCH_SIZE)
+          .concatMap(models);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+          .contentType(HAL_JSON)
+          .eTag(weakETag(pageable, totalElements, rows))
+          .cacheControl(CACHE_CONTROL);
+
+        Date lastModified = lastModified(rows);
+
+        if (lastModified != null && lastModified.getTime() > 0) {
+          builder.lastModified(lastModified.getTime());
+        }
+
+        return builder.body(halPageWriter.write(relation, content, pageable, totalElements,
+          exchange.getRequest().getURI(), exchange.getResponse().bufferFactory()));
+      }))
+      .onErrorMap(Controller::badRequest);
+  }
+
+  // A weak ETag for a page, a hash of the page's position and each row's id and updatedAt
+  // See: the server's Controller.weakETag()
+
+  protected static String weakETag(Pageable pageable, long totalElements, List<PartyVersion> rows) {
+
+    int totalPages = pageable.getPageSize() == 0 ? 1 :
+      (int) Math.ceil((double) totalElements / (double) pageable.getPageSize());
+
+    long hash = 17;
+
+    hash = 31 * hash + pageable.getPageNumber();
+    hash = 31 * hash + pageable.getPageSize();
+    hash = 31 * hash + (pageable.getPageNumber() + 1 < totalPages ? 1 : 0);
+    hash = 31 * hash + totalElements;
+
+    for (PartyVersion row : rows) {
+
+      hash = 31 * hash + row.getId();
+      hash = 31 * hash + (row.getUpdatedAt() != null ? row.getUpdatedAt().getTime() : 0);
+    }
+
+    return "W/\"" + Long.toHexString(hash) + "\"";
+  }
+
+  protected static Date lastModified(List<PartyVersion> rows) {
+
+    Date lastModified = null;
+
+    for (PartyVersion row : rows) {
+
+      Date updatedAt = row.getUpdatedAt();
+
+      if (updatedAt != null && (lastModified == null || updatedAt.after(lastModified))) {
+        lastModified = updatedAt;
+      }
+
+    }
+
+    return lastModified;
+  }
+
+  protected static Throwable badRequest(Throwable e) {
+
+    if (e instanceof ResponseStatusException) {
+      return e;
+    }
+
+    log.error("{}", e.getLocalizedMessage());
+
+    return new ResponseStatusException(HttpStatus.BAD_REQUEST);
+  }
+
+}
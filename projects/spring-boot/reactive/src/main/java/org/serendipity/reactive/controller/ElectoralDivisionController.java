@@ -0,0 +1,55 @@
+package org.serendipity.reactive.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.serendipity.reactive.hal.HalPageWriter;
+import org.serendipity.reactive.repository.ElectoralDivisionRepository;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class ElectoralDivisionController extends Controller {
+
+  private final ElectoralDivisionRepository repository;
+
+  public ElectoralDivisionController(ElectoralDivisionRepository repository, HalPageWriter halPageWriter) {
+
+    super(halPageWriter);
+
+    this.repository = repository;
+  }
+
+  @GetMapping("/electoral-divisions")
+  @PreAuthorize("hasAuthority('SCOPE_individual:read')")
+  public Mono<ResponseEntity<Flux<DataBuffer>>> findAll(
+    Pageable pageable, ServerWebExchange exchange) throws ResponseStatusException {
+
+    log.info("ElectoralDivisionController GET /electoral-divisions");
+
+    try {
+
+      pageable = repository.sortable(pageable);
+
+      return page("electoralDivisionModels", pageable, repository.count(), repository.findAll(pageable), exchange);
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
+}
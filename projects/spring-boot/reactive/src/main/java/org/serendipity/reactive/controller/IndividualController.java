@@ -0,0 +1,56 @@
+package org.serendipity.reactive.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.serendipity.reactive.hal.HalPageWriter;
+import org.serendipity.reactive.repository.IndividualRepository;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class IndividualController extends Controller {
+
+  private final IndividualRepository repository;
+
+  public IndividualController(IndividualRepository repository, HalPageWriter halPageWriter) {
+
+    super(halPageWriter);
+
+    this.repository = repository;
+  }
+
+  @GetMapping("/individuals")
+  @PreAuthorize("hasAuthority('SCOPE_individual:read')")
+  public Mono<ResponseEntity<Flux<DataBuffer>>> findAll(
+    Pageable pageable, ServerWebExchange exchange) throws ResponseStatusException {
+
+    log.info("IndividualController GET /individuals");
+
+    try {
+
+      pageable = repository.sortable(pageable);
+
+      return conditionalPage("individualModels", pageable, repository.count(), repository.findVersions(pageable),
+        repository::findAllById, exchange);
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
+}
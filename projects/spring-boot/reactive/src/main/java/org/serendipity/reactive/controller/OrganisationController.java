@@ -0,0 +1,54 @@
+package org.serendipity.reactive.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.serendipity.reactive.hal.HalPageWriter;
+import org.serendipity.reactive.repository.OrganisationRepository;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class OrganisationController extends Controller {
+
+  private final OrganisationRepository repository;
+
+  public OrganisationController(OrganisationRepository repository, HalPageWriter halPageWriter) {
+
+    super(halPageWriter);
+
+    this.repository = repository;
+  }
+
+  @GetMapping("/organisations")
+  public Mono<ResponseEntity<Flux<DataBuffer>>> findAll(
+    Pageable pageable, ServerWebExchange exchange) throws ResponseStatusException {
+
+    log.info("OrganisationController GET /organisations");
+
+    try {
+
+      pageable = repository.sortable(pageable);
+
+      return conditionalPage("organisationModels", pageable, repository.count(), repository.findVersions(pageable),
+        repository::findAllById, exchange);
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
+}
@@ -0,0 +1,239 @@
+package org.serendipity.reactive.hal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Slf4j
+public class HalPageWriter {
+
+  // Writes a page in the same HAL representation as the server (Spring Data REST's PagedModel, indented): the models
+  // (_embedded), the first, prev, self, next and last links (_links) and the page metadata (page).
+  //
+  // The representation is streamed, each model is written to its own buffer as it's read, so a page is never held in
+  // memory and the database is only read as fast as the client reads the response (backpressure).
+
+  private final ObjectMapper objectMapper;
+  private final ObjectWriter objectWriter;
+
+  public HalPageWriter(ObjectMapper objectMapper) {
+
+    this.objectMapper = objectMapper;
+    this.objectWriter = objectMapper.writer();
+  }
+
+  public <Model> Flux<DataBuffer> write(String relation, Flux<Model> models, Pageable pageable, long totalElements,
+                                        URI uri, DataBufferFactory bufferFactory) {
+
+    int size = pageable.getPageSize();
+    int number = pageable.getPageNumber();
+    int totalPages = size == 0 ? 1 : (int) Math.ceil((double) totalElements / (double) size);
+
+    Map<String, String> links = links(uri, pageable, totalPages);
+
+    return Flux.using(() -> new Output(relation, bufferFactory),
+      output -> models.map(output::write)
+        .concatWith(Mono.fromCallable(() -> output.end(links, size, totalElements, totalPages, number))),
+      Output::close);
+  }
+
+  // See: PagedResourcesAssembler.addPaginationLinks()
+
+  static Map<String, String> links(URI uri, Pageable pageable, int totalPages) {
+
+    boolean hasPrevious = pageable.getPageNumber() > 0;
+    boolean hasNext = pageable.getPageNumber() + 1 < totalPages;
+
+    Map<String, String> links = new LinkedHashMap<>();
+
+    if (hasPrevious || hasNext) {
+      links.put("first", href(uri, 0, pageable));
+    }
+
+    if (hasPrevious) {
+      links.put("prev", href(uri, pageable.getPageNumber() - 1, pageable));
+    }
+
+    links.put("self", href(uri, pageable.getPageNumber(), pageable));
+
+    if (hasNext) {
+      links.put("next", href(uri, pageable.getPageNumber() + 1, pageable));
+    }
+
+    if (hasPrevious || hasNext) {
+      links.put("last", href(uri, totalPages == 0 ? 0 : totalPages - 1, pageable));
+    }
+
+    return links;
+  }
+
+  private static String href(URI uri, int page, Pageable pageable) {
+
+    UriComponentsBuilder builder = UriComponentsBuilder.fromUri(uri)
+      .replaceQueryParam("page", page)
+      .replaceQueryParam("size", pageable.getPageSize())
+      .replaceQueryParam("sort");
+
+    for (String expression : sortExpressions(pageable.getSort())) {
+      builder.queryParam("sort", expression);
+    }
+
+    return builder.toUriString();
+  }
+
+  // Consecutive orders in the same direction are folded into one expression, for example: sort=name,email,desc
+  // See: SortHandlerMethodArgumentResolver.foldIntoExpressions()
+
+  static List<String> sortExpressions(Sort sort) {
+
+    List<String> expressions = new ArrayList<>();
+
+    List<String> properties = new ArrayList<>();
+    Sort.Direction direction = null;
+
+    for (Sort.Order order : sort) {
+
+      if (direction != null && direction != order.getDirection()) {
+        expressions.add(String.join(",", properties) + "," + direction.name().toLowerCase());
+        properties.clear();
+      }
+
+      direction = order.getDirection();
+      properties.add(order.getProperty());
+    }
+
+    if (direction != null) {
+      expressions.add(String.join(",", properties) + "," + direction.name().toLowerCase());
+    }
+
+    return expressions;
+  }
+
+  // A response's generator, its output is drained into a buffer after each model
+
+  private class Output {
+
+    private final String relation;
+    private final DataBufferFactory bufferFactory;
+
+    private final ByteArrayBuilder bytes = new ByteArrayBuilder();
+    private final JsonGenerator generator;
+
+    private boolean started;
+
+    Output(String relation, DataBufferFactory bufferFactory) throws IOException {
+
+      this.relation = relation;
+      this.bufferFactory = bufferFactory;
+
+      this.generator = objectMapper.getFactory().createGenerator(bytes);
+      this.generator.setPrettyPrinter(new DefaultPrettyPrinter());
+    }
+
+    // The _embedded object is only written if the page has content
+
+    DataBuffer write(Object model) {
+
+      try {
+
+        if (!started) {
+
+          generator.writeStartObject();
+          generator.writeObjectFieldStart("_embedded");
+          generator.writeArrayFieldStart(relation);
+
+          started = true;
+        }
+
+        objectWriter.writeValue(generator, model);
+
+        return drain();
+
+      } catch (IOException e) {
+
+        throw new UncheckedIOException(e);
+      }
+
+    }
+
+    DataBuffer end(Map<String, String> links, int size, long totalElements, int totalPages, int number)
+      throws IOException {
+
+      if (started) {
+        generator.writeEndArray();
+        generator.writeEndObject();
+      } else {
+        generator.writeStartObject();
+      }
+
+      generator.writeObjectFieldStart("_links");
+
+      for (Map.Entry<String, String> link : links.entrySet()) {
+        generator.writeObjectFieldStart(link.getKey());
+        generator.writeStringField("href", link.getValue());
+        generator.writeEndObject();
+      }
+
+      generator.writeEndObject();
+
+      generator.writeObjectFieldStart("page");
+      generator.writeNumberField("size", size);
+      generator.writeNumberField("totalElements", totalElements);
+      generator.writeNumberField("totalPages", totalPages);
+      generator.writeNumberField("number", number);
+      generator.writeEndObject();
+
+      generator.writeEndObject();
+
+      return drain();
+    }
+
+    private DataBuffer drain() throws IOException {
+
+      generator.flush();
+
+      byte[] content = bytes.toByteArray();
+
+      bytes.reset();
+
+      return bufferFactory.wrap(content);
+    }
+
+    // Called when the page is written, fails or the client goes away
+
+    void close() {
+
+      try {
+        generator.close();
+      } catch (IOException e) {
+        log.warn("{}", e.getLocalizedMessage());
+      }
+
+      bytes.release();
+    }
+
+  }
+
+}
+
+// https://docs.spring.io/spring-framework/docs/current/spring-framework-reference/web-reactive.html#webflux-codecs-streaming
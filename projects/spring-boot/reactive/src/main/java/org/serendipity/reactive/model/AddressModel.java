@@ -0,0 +1,23 @@
+package org.serendipity.reactive.model;
+
+import lombok.*;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+public class AddressModel {
+
+  private Long id;
+  private LocationModel location;
+  private String name;
+  private String line1;
+  private String line2;
+  private String city;
+  private String state;
+  private String postalCode;
+  private String country;
+  private String addressType;
+
+}
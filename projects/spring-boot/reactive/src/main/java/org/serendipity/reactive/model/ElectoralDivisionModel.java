@@ -0,0 +1,26 @@
+package org.serendipity.reactive.model;
+
+import lombok.*;
+
+import java.util.Date;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+public class ElectoralDivisionModel {
+
+  // The server's ElectoralDivisionModel (the same fields in the same order), without links
+
+  private Long id;
+  private String name;
+  private String nameDerivation;
+  private String state;
+  private String area;
+  private String locationDescription;
+  private Date dateGazetted;
+  private Double latitude;
+  private Double longitude;
+
+}
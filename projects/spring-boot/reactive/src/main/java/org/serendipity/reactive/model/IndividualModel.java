@@ -0,0 +1,35 @@
+package org.serendipity.reactive.model;
+
+import lombok.*;
+
+import java.util.Date;
+import java.util.Collection;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+public class IndividualModel {
+
+  // The server's IndividualModel (the same fields in the same order), without links
+
+  private Long id;
+  private PartyModel party;
+  private NameModel name;
+  private Collection<IndividualNameModel> names;
+  private String sex;
+  private String email;
+  private String phoneNumber;
+  private String photoUrl;
+  private String electorate;
+
+  private Date dateOfBirth;
+  private String placeOfBirth;
+  private String countryOfBirth;
+
+  private Date dateOfDeath;
+  private String placeOfDeath;
+  private String countryOfDeath;
+
+}
@@ -0,0 +1,20 @@
+package org.serendipity.reactive.model;
+
+import lombok.*;
+
+import java.util.Date;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+public class LocationModel {
+
+  private Long id;
+  private String type;
+  private String displayName;
+  private Date fromDate;
+  private Date toDate;
+
+}
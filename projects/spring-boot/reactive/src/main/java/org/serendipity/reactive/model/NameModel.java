@@ -0,0 +1,23 @@
+package org.serendipity.reactive.model;
+
+import lombok.*;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+public class NameModel {
+
+  private String title;         // name prefix
+  private String givenName;
+  private String preferredGivenName;
+  private String middleName;    // otherNames
+  private String familyName;
+  private String preferredFamilyName;
+  private String preferredName; // informalSalutation
+  private String initials;
+  private String honorific;     // name suffix
+  private String salutation;    // formalSalutation
+
+}
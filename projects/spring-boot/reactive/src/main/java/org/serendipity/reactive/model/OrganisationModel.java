@@ -0,0 +1,20 @@
+package org.serendipity.reactive.model;
+
+import lombok.*;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+public class OrganisationModel {
+
+  // The server's OrganisationModel (the same fields in the same order), without links
+
+  private Long id;
+  private PartyModel party;
+  private String name;
+  private String email;
+  private String phoneNumber;
+
+}
@@ -0,0 +1,21 @@
+package org.serendipity.reactive.model;
+
+import lombok.*;
+
+import java.util.Collection;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+public class PartyModel {
+
+  private Long id;
+  private String type;
+  private String legalType;
+  private String displayName;
+  private Collection<AddressModel> addresses;
+  private Collection<RoleModel> roles;
+
+}
@@ -0,0 +1,29 @@
+package org.serendipity.reactive.model;
+
+import lombok.*;
+
+import org.serendipity.reactive.type.PartyType;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+public class RoleModel {
+
+  private Long id;
+  private String role;
+  private Long partyId;
+  private PartyType partyType;
+  private String partyName;
+  private String partyEmail;
+  private String partyPhoneNumber;
+  private String relationship;
+  private String reciprocalRole;
+  private Long reciprocalPartyId;
+  private PartyType reciprocalPartyType;
+  private String reciprocalPartyName;
+  private String reciprocalPartyEmail;
+  private String reciprocalPartyPhoneNumber;
+
+}
@@ -0,0 +1,68 @@
+package org.serendipity.reactive.repository;
+
+import io.r2dbc.spi.Row;
+import org.serendipity.reactive.model.ElectoralDivisionModel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public class ElectoralDivisionRepository {
+
+  // An electoral division has no associations, a page's rows are streamed straight from the query
+
+  static final OrderBy ORDER_BY = OrderBy.of("id")
+    .with("name", "name")
+    .with("nameDerivation", "name_derivation")
+    .with("state", "state")
+    .with("area", "area")
+    .with("dateGazetted", "date_gazetted")
+    .with("latitude", "latitude")
+    .with("longitude", "longitude");
+
+  private final DatabaseClient databaseClient;
+
+  public ElectoralDivisionRepository(DatabaseClient databaseClient) {
+    this.databaseClient = databaseClient;
+  }
+
+  public Pageable sortable(Pageable pageable) {
+    return ORDER_BY.sortable(pageable);
+  }
+
+  public Mono<Long> count() {
+
+    return databaseClient.execute("SELECT COUNT(*) AS total FROM electoral_division")
+      .map((row, metadata) -> row.get("total", Long.class))
+      .one();
+  }
+
+  public Flux<ElectoralDivisionModel> findAll(Pageable pageable) {
+
+    return databaseClient.execute("SELECT id, name, name_derivation, state, area, location_description, " +
+      "date_gazetted, latitude, longitude FROM electoral_division" + ORDER_BY.toSql(pageable.getSort()) +
+      " LIMIT :limit OFFSET :offset")
+      .bind("limit", pageable.getPageSize())
+      .bind("offset", pageable.getOffset())
+      .map((row, metadata) -> toModel(row))
+      .all();
+  }
+
+  private static ElectoralDivisionModel toModel(Row row) {
+
+    return ElectoralDivisionModel.builder()
+      .id(row.get("id", Long.class))
+      .name(row.get("name", String.class))
+      .nameDerivation(row.get("name_derivation", String.class))
+      .state(row.get("state", String.class))
+      .area(row.get("area", String.class))
+      .locationDescription(row.get("location_description", String.class))
+      .dateGazetted(Rows.date(row, "date_gazetted"))
+      .latitude(row.get("latitude", Double.class))
+      .longitude(row.get("longitude", Double.class))
+      .build();
+  }
+
+}
@@ -0,0 +1,171 @@
+package org.serendipity.reactive.repository;
+
+import io.r2dbc.spi.Row;
+import org.serendipity.reactive.model.IndividualModel;
+import org.serendipity.reactive.model.IndividualNameModel;
+import org.serendipity.reactive.model.NameModel;
+import org.serendipity.reactive.model.PartyModel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Repository
+public class IndividualRepository {
+
+  // A page is read in two steps: the page's party ids and versions (in page order), then the individuals in batches of
+  // ids (see: IndividualController). Rows are only read as the response is written.
+
+  static final OrderBy ORDER_BY = OrderBy.of("i.party_id")
+    .with("name.title", "i.title")
+    .with("name.givenName", "i.given_name")
+    .with("name.middleName", "i.middle_name")
+    .with("name.familyName", "i.family_name")
+    .with("name.preferredName", "i.preferred_name")
+    .with("name.initials", "i.initials")
+    .with("party.displayName", "p.display_name")
+    .with("sex", "i.sex")
+    .with("email", "i.email")
+    .with("phoneNumber", "i.phone_number")
+    .with("electorate", "i.electorate")
+    .with("dateOfBirth", "i.date_of_birth")
+    .with("placeOfBirth", "i.place_of_birth")
+    .with("countryOfBirth", "i.country_of_birth")
+    .with("dateOfDeath", "i.date_of_death")
+    .with("placeOfDeath", "i.place_of_death")
+    .with("countryOfDeath", "i.country_of_death");
+
+  private static final String FROM = " FROM individual i JOIN party p ON p.id = i.party_id";
+
+  private static final String INDIVIDUALS =
+    "SELECT i.party_id, p.type, p.legal_type, p.display_name, i.title, i.given_name, i.middle_name, i.family_name, " +
+    "i.honorific, i.salutation, i.preferred_name, i.initials, i.sex, i.email, i.phone_number, i.photo_url, " +
+    "i.electorate, i.date_of_birth, i.place_of_birth, i.country_of_birth, i.date_of_death, i.place_of_death, " +
+    "i.country_of_death" + FROM + " WHERE i.party_id IN (:ids)";
+
+  private static final String NAMES =
+    "SELECT n.individual_id, n.id, n.type, n.title, n.given_name, n.middle_name, n.family_name, n.honorific, " +
+    "n.salutation, n.preferred_name, n.initials, n.from_date, n.to_date " +
+    "FROM individual_name n WHERE n.individual_id IN (:ids) ORDER BY n.individual_id, n.id";
+
+  private final DatabaseClient databaseClient;
+  private final PartyRepository partyRepository;
+
+  public IndividualRepository(DatabaseClient databaseClient, PartyRepository partyRepository) {
+
+    this.databaseClient = databaseClient;
+    this.partyRepository = partyRepository;
+  }
+
+  public Pageable sortable(Pageable pageable) {
+    return ORDER_BY.sortable(pageable);
+  }
+
+  public Mono<Long> count() {
+
+    return databaseClient.execute("SELECT COUNT(*) AS total FROM individual")
+      .map((row, metadata) -> row.get("total", Long.class))
+      .one();
+  }
+
+  public Flux<PartyVersion> findVersions(Pageable pageable) {
+
+    return databaseClient.execute("SELECT p.id, p.updated_at" + FROM + ORDER_BY.toSql(pageable.getSort()) +
+      " LIMIT :limit OFFSET :offset")
+      .bind("limit", pageable.getPageSize())
+      .bind("offset", pageable.getOffset())
+      .map((row, metadata) -> new PartyVersion(row.get("id", Long.class), Rows.timestamp(row, "updated_at")))
+      .all();
+  }
+
+  // The individuals (with their names, addresses and roles) in the same order as their ids
+
+  public Flux<IndividualModel> findAllById(List<Long> ids) {
+
+    return databaseClient.execute(INDIVIDUALS)
+      .bind("ids", ids)
+      .map((row, metadata) -> toModel(row))
+      .all()
+      .collectMap(IndividualModel::getId)
+      .flatMap(models -> findNames(ids)
+        .doOnNext(names -> models.forEach((id, model) ->
+          model.setNames(names.getOrDefault(id, Collections.emptyList()))))
+        .then(partyRepository.attach(models.values().stream()
+          .collect(Collectors.toMap(IndividualModel::getId, IndividualModel::getParty))))
+        .thenReturn(models))
+      .flatMapIterable(models -> Rows.inOrder(ids, models));
+  }
+
+  private Mono<Map<Long, Collection<IndividualNameModel>>> findNames(List<Long> ids) {
+
+    return databaseClient.execute(NAMES)
+      .bind("ids", ids)
+      .map((row, metadata) -> new AbstractMap.SimpleImmutableEntry<>(row.get("individual_id", Long.class),
+        toIndividualNameModel(row)))
+      .all()
+      .collectMultimap(Map.Entry::getKey, Map.Entry::getValue);
+  }
+
+  private static IndividualModel toModel(Row row) {
+
+    Long id = row.get("party_id", Long.class);
+
+    return IndividualModel.builder()
+      .id(id)
+      .party(PartyModel.builder()
+        .id(id)
+        .type(row.get("type", String.class))
+        .legalType(row.get("legal_type", String.class))
+        .displayName(row.get("display_name", String.class))
+        .build())
+      .name(NameModel.builder()
+        .title(row.get("title", String.class))
+        .givenName(row.get("given_name", String.class))
+        .middleName(row.get("middle_name", String.class))
+        .familyName(row.get("family_name", String.class))
+        .honorific(row.get("honorific", String.class))
+        .salutation(row.get("salutation", String.class))
+        .preferredName(row.get("preferred_name", String.class))
+        .initials(row.get("initials", String.class))
+        .build())
+      .sex(row.get("sex", String.class))
+      .email(row.get("email", String.class))
+      .phoneNumber(row.get("phone_number", String.class))
+      .photoUrl(row.get("photo_url", String.class))
+      .electorate(row.get("electorate", String.class))
+      .dateOfBirth(Rows.date(row, "date_of_birth"))
+      .placeOfBirth(row.get("place_of_birth", String.class))
+      .countryOfBirth(row.get("country_of_birth", String.class))
+      .dateOfDeath(Rows.date(row, "date_of_death"))
+      .placeOfDeath(row.get("place_of_death", String.class))
+      .countryOfDeath(row.get("country_of_death", String.class))
+      .build();
+  }
+
+  private static IndividualNameModel toIndividualNameModel(Row row) {
+
+    return IndividualNameModel.builder()
+      .id(row.get("id", Long.class))
+      .type(row.get("type", String.class))
+      .title(row.get("title", String.class))
+      .givenName(row.get("given_name", String.class))
+      .middleName(row.get("middle_name", String.class))
+      .familyName(row.get("family_name", String.class))
+      .honorific(row.get("honorific", String.class))
+      .salutation(row.get("salutation", String.class))
+      .preferredName(row.get("preferred_name", String.class))
+      .initials(row.get("initials", String.class))
+      .fromDate(Rows.timestamp(row, "from_date"))
+      .toDate(Rows.timestamp(row, "to_date"))
+      .build();
+  }
+
+}
@@ -0,0 +1,78 @@
+package org.serendipity.reactive.repository;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+public class OrderBy {
+
+  // A page's ORDER BY clause, for example: ?sort=name.familyName,desc -> ORDER BY i.family_name DESC, i.party_id
+  // Only the listed properties (as they're named in the representation) can be sorted on, anything else is ignored (as
+  // Spring Data REST does) rather than interpolated into the SQL. The id is always the last sort key, so a page's rows
+  // are stable.
+
+  private final String id;
+  private final Map<String, String> columns = new LinkedHashMap<>();
+
+  private OrderBy(String id) {
+    this.id = id;
+  }
+
+  public static OrderBy of(String id) {
+
+    OrderBy orderBy = new OrderBy(id);
+
+    orderBy.columns.put("id", id);
+
+    return orderBy;
+  }
+
+  public OrderBy with(String property, String column) {
+
+    columns.put(property, column);
+
+    return this;
+  }
+
+  public Pageable sortable(Pageable pageable) {
+
+    List<Sort.Order> orders = pageable.getSort().stream()
+      .filter(order -> columns.containsKey(order.getProperty()))
+      .collect(Collectors.toList());
+
+    return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(orders));
+  }
+
+  public String toSql(Sort sort) {
+
+    StringJoiner clause = new StringJoiner(", ", " ORDER BY ", "");
+
+    boolean unique = false;
+
+    for (Sort.Order order : sort) {
+
+      String column = columns.get(order.getProperty());
+
+      if (column == null) {
+        throw new IllegalArgumentException("Can't sort on: " + order.getProperty());
+      }
+
+      clause.add(column + (order.isAscending() ? " ASC" : " DESC"));
+
+      unique = unique || column.equals(id);
+    }
+
+    if (!unique) {
+      clause.add(id);
+    }
+
+    return clause.toString();
+  }
+
+}
@@ -0,0 +1,95 @@
+package org.serendipity.reactive.repository;
+
+import io.r2dbc.spi.Row;
+import org.serendipity.reactive.model.OrganisationModel;
+import org.serendipity.reactive.model.PartyModel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Repository
+public class OrganisationRepository {
+
+  // See: IndividualRepository
+
+  static final OrderBy ORDER_BY = OrderBy.of("o.party_id")
+    .with("name", "o.name")
+    .with("party.displayName", "p.display_name")
+    .with("email", "o.email")
+    .with("phoneNumber", "o.phone_number");
+
+  private static final String FROM = " FROM organisation o JOIN party p ON p.id = o.party_id";
+
+  private static final String ORGANISATIONS =
+    "SELECT o.party_id, p.type, p.legal_type, p.display_name, o.name, o.email, o.phone_number" + FROM +
+    " WHERE o.party_id IN (:ids)";
+
+  private final DatabaseClient databaseClient;
+  private final PartyRepository partyRepository;
+
+  public OrganisationRepository(DatabaseClient databaseClient, PartyRepository partyRepository) {
+
+    this.databaseClient = databaseClient;
+    this.partyRepository = partyRepository;
+  }
+
+  public Pageable sortable(Pageable pageable) {
+    return ORDER_BY.sortable(pageable);
+  }
+
+  public Mono<Long> count() {
+
+    return databaseClient.execute("SELECT COUNT(*) AS total FROM organisation")
+      .map((row, metadata) -> row.get("total", Long.class))
+      .one();
+  }
+
+  public Flux<PartyVersion> findVersions(Pageable pageable) {
+
+    return databaseClient.execute("SELECT p.id, p.updated_at" + FROM + ORDER_BY.toSql(pageable.getSort()) +
+      " LIMIT :limit OFFSET :offset")
+      .bind("limit", pageable.getPageSize())
+      .bind("offset", pageable.getOffset())
+      .map((row, metadata) -> new PartyVersion(row.get("id", Long.class), Rows.timestamp(row, "updated_at")))
+      .all();
+  }
+
+  // The organisations (with their addresses and roles) in the same order as their ids
+
+  public Flux<OrganisationModel> findAllById(List<Long> ids) {
+
+    return databaseClient.execute(ORGANISATIONS)
+      .bind("ids", ids)
+      .map((row, metadata) -> toModel(row))
+      .all()
+      .collectMap(OrganisationModel::getId)
+      .flatMap(models -> partyRepository.attach(models.values().stream()
+          .collect(Collectors.toMap(OrganisationModel::getId, OrganisationModel::getParty)))
+        .thenReturn(models))
+      .flatMapIterable(models -> Rows.inOrder(ids, models));
+  }
+
+  private static OrganisationModel toModel(Row row) {
+
+    Long id = row.get("party_id", Long.class);
+
+    return OrganisationModel.builder()
+      .id(id)
+      .party(PartyModel.builder()
+        .id(id)
+        .type(row.get("type", String.class))
+        .legalType(row.get("legal_type", String.class))
+        .displayName(row.get("display_name", String.class))
+        .build())
+      .name(row.get("name", String.class))
+      .email(row.get("email", String.class))
+      .phoneNumber(row.get("phone_number", String.class))
+      .build();
+  }
+
+}
@@ -0,0 +1,126 @@
+package org.serendipity.reactive.repository;
+
+import io.r2dbc.spi.Row;
+import org.serendipity.reactive.model.AddressModel;
+import org.serendipity.reactive.model.LocationModel;
+import org.serendipity.reactive.model.PartyModel;
+import org.serendipity.reactive.model.RoleModel;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class PartyRepository {
+
+  // A batch of parties' addresses and roles are read with one IN query each (like Hibernate's batch fetching of the
+  // server's lazy collections), the queries run one after the other so a request holds one connection at a time.
+
+  private static final String ADDRESSES =
+    "SELECT pa.party_id, a.location_id, a.name, a.line1, a.line2, a.city, a.state, a.postal_code, a.country, " +
+    "a.address_type, l.type AS location_type, l.display_name AS location_display_name, " +
+    "l.from_date AS location_from_date, l.to_date AS location_to_date " +
+    "FROM party_address pa JOIN address a ON a.location_id = pa.location_id JOIN location l ON l.id = a.location_id " +
+    "WHERE pa.party_id IN (:ids) ORDER BY pa.party_id, a.location_id";
+
+  private static final String ROLES =
+    "SELECT pr.party_id AS owner_id, r.id, r.role, r.party_id, r.party_type, r.party_name, r.party_email, " +
+    "r.party_phone_number, r.relationship, r.reciprocal_role, r.reciprocal_party_id, r.reciprocal_party_type, " +
+    "r.reciprocal_party_name, r.reciprocal_party_email, r.reciprocal_party_phone_number " +
+    "FROM party_role pr JOIN role r ON r.id = pr.role_id " +
+    "WHERE pr.party_id IN (:ids) ORDER BY pr.party_id, r.id";
+
+  private final DatabaseClient databaseClient;
+
+  public PartyRepository(DatabaseClient databaseClient) {
+    this.databaseClient = databaseClient;
+  }
+
+  // Sets the parties' addresses and roles, keyed by party id
+
+  public Mono<Void> attach(Map<Long, PartyModel> parties) {
+
+    if (parties.isEmpty()) {
+      return Mono.empty();
+    }
+
+    List<Long> ids = new ArrayList<>(parties.keySet());
+
+    return findAddresses(ids)
+      .doOnNext(addresses -> parties.forEach((id, party) ->
+        party.setAddresses(addresses.getOrDefault(id, Collections.emptyList()))))
+      .then(findRoles(ids))
+      .doOnNext(roles -> parties.forEach((id, party) ->
+        party.setRoles(roles.getOrDefault(id, Collections.emptyList()))))
+      .then();
+  }
+
+  private Mono<Map<Long, Collection<AddressModel>>> findAddresses(List<Long> ids) {
+
+    return databaseClient.execute(ADDRESSES)
+      .bind("ids", ids)
+      .map((row, metadata) -> new AbstractMap.SimpleImmutableEntry<>(row.get("party_id", Long.class), toAddressModel(row)))
+      .all()
+      .collectMultimap(Map.Entry::getKey, Map.Entry::getValue);
+  }
+
+  private Mono<Map<Long, Collection<RoleModel>>> findRoles(List<Long> ids) {
+
+    return databaseClient.execute(ROLES)
+      .bind("ids", ids)
+      .map((row, metadata) -> new AbstractMap.SimpleImmutableEntry<>(row.get("owner_id", Long.class), toRoleModel(row)))
+      .all()
+      .collectMultimap(Map.Entry::getKey, Map.Entry::getValue);
+  }
+
+  private static AddressModel toAddressModel(Row row) {
+
+    Long id = row.get("location_id", Long.class);
+
+    return AddressModel.builder()
+      .id(id)
+      .location(LocationModel.builder()
+        .id(id)
+        .type(row.get("location_type", String.class))
+        .displayName(row.get("location_display_name", String.class))
+        .fromDate(Rows.timestamp(row, "location_from_date"))
+        .toDate(Rows.timestamp(row, "location_to_date"))
+        .build())
+      .name(row.get("name", String.class))
+      .line1(row.get("line1", String.class))
+      .line2(row.get("line2", String.class))
+      .city(row.get("city", String.class))
+      .state(row.get("state", String.class))
+      .postalCode(row.get("postal_code", String.class))
+      .country(row.get("country", String.class))
+      .addressType(row.get("address_type", String.class))
+      .build();
+  }
+
+  private static RoleModel toRoleModel(Row row) {
+
+    return RoleModel.builder()
+      .id(row.get("id", Long.class))
+      .role(row.get("role", String.class))
+      .partyId(row.get("party_id", Long.class))
+      .partyType(Rows.partyType(row, "party_type"))
+      .partyName(row.get("party_name", String.class))
+      .partyEmail(row.get("party_email", String.class))
+      .partyPhoneNumber(row.get("party_phone_number", String.class))
+      .relationship(row.get("relationship", String.class))
+      .reciprocalRole(row.get("reciprocal_role", String.class))
+      .reciprocalPartyId(row.get("reciprocal_party_id", Long.class))
+      .reciprocalPartyType(Rows.partyType(row, "reciprocal_party_type"))
+      .reciprocalPartyName(row.get("reciprocal_party_name", String.class))
+      .reciprocalPartyEmail(row.get("reciprocal_party_email", String.class))
+      .reciprocalPartyPhoneNumber(row.get("reciprocal_party_phone_number", String.class))
+      .build();
+  }
+
+}
@@ -0,0 +1,17 @@
+package org.serendipity.reactive.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+@AllArgsConstructor
+@Getter
+public class PartyVersion {
+
+  // A party's id and Party.updatedAt, a page's validators (ETag and Last-Modified) are derived from its versions
+
+  private final Long id;
+  private final Date updatedAt;
+
+}
@@ -0,0 +1,64 @@
+package org.serendipity.reactive.repository;
+
+import io.r2dbc.spi.Row;
+import org.serendipity.reactive.type.PartyType;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+final class Rows {
+
+  // R2DBC reads TIMESTAMP and DATE columns as java.time values, they're converted to the java.sql types Hibernate reads
+  // so they're serialised in the same way as the server's models.
+
+  private Rows() {
+  }
+
+  static Date timestamp(Row row, String column) {
+
+    LocalDateTime value = row.get(column, LocalDateTime.class);
+
+    return value != null ? Timestamp.valueOf(value) : null;
+  }
+
+  static Date date(Row row, String column) {
+
+    LocalDate value = row.get(column, LocalDate.class);
+
+    return value != null ? java.sql.Date.valueOf(value) : null;
+  }
+
+  // A Role's party types are stored as ordinals (@Enumerated(EnumType.ORDINAL))
+
+  static PartyType partyType(Row row, String column) {
+
+    Integer ordinal = row.get(column, Integer.class);
+
+    return ordinal != null ? PartyType.values()[ordinal] : null;
+  }
+
+  // A batch's rows in page order, a row deleted since the page's ids were read is skipped
+
+  static <Model> List<Model> inOrder(List<Long> ids, Map<Long, Model> rows) {
+
+    List<Model> ordered = new ArrayList<>(rows.size());
+
+    for (Long id : ids) {
+
+      Model row = rows.get(id);
+
+      if (row != null) {
+        ordered.add(row);
+      }
+
+    }
+
+    return ordered;
+  }
+
+}
@@ -0,0 +1,11 @@
+package org.serendipity.reactive.type;
+
+public enum PartyType {
+
+  // The server's PartyType, a Role's party types are stored as ordinals
+
+  INDIVIDUAL,
+  ORGANISATION,
+  ORGANISATIONAL_UNIT
+
+}
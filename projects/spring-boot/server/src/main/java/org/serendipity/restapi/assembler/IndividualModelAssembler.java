@@ -4,13 +4,14 @@ import org.serendipity.restapi.controller.IndividualController;
 import org.serendipity.restapi.entity.Individual;
 import org.serendipity.restapi.entity.IndividualName;
 import org.serendipity.restapi.entity.Name;
+import org.serendipity.restapi.fields.FieldSet;
+import org.serendipity.restapi.image.ImageIndex;
+import org.serendipity.restapi.model.IndividualCompactModel;
 import org.serendipity.restapi.model.IndividualModel;
 import org.serendipity.restapi.model.IndividualNameModel;
 import org.serendipity.restapi.model.NameModel;
 import org.serendipity.restapi.type.au.IndividualNameType;
-import org.serendipity.restapi.type.au.Sex;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
 import org.springframework.stereotype.Component;
 
@@ -25,64 +26,105 @@ public class IndividualModelAssembler extends RepresentationModelAssemblerSuppor
   @Autowired
   private PartyModelAssembler partyModelAssembler;
 
+  @Autowired
+  private ImageIndex imageIndex;
+
   public IndividualModelAssembler() {
     super(IndividualController.class, IndividualModel.class);
   }
 
   @Override
   public IndividualModel toModel(Individual entity) {
+    return toModel(entity, FieldSet.current());
+  }
+
+  // Only the selected fields are read, so associations that aren't selected aren't fetched (see: FieldSet)
+
+  public IndividualModel toModel(Individual entity, FieldSet fields) {
 
     IndividualModel model = instantiateModel(entity);
 
-    model.setId(entity.getId());
-    model.setParty(partyModelAssembler.toModel(entity.getParty()));
-    model.setName(toNameModel(entity.getName()));
-    model.setNames(toIndividualNameModel(entity.getNames()));
-    model.setSex(entity.getSex());
-    model.setEmail(entity.getEmail());
-    model.setPhoneNumber(entity.getPhoneNumber());
+    fields.copy("id", entity::getId, model::setId);
+    fields.copy("party", () -> partyModelAssembler.toModel(entity.getParty(), fields.nested("party")), model::setParty);
+    fields.copy("name", () -> toNameModel(entity.getName(), fields.nested("name")), model::setName);
+    fields.copy("names", () -> toIndividualNameModel(entity.getNames()), model::setNames);
+    fields.copy("sex", entity::getSex, model::setSex);
+    fields.copy("email", entity::getEmail, model::setEmail);
+    fields.copy("phoneNumber", entity::getPhoneNumber, model::setPhoneNumber);
 
-    model.setPhotoUrl("images/male-avatar.svg");
+    fields.copy("photoUrl", () -> toPhotoUrl(entity), model::setPhotoUrl);
 
-    if (entity.getSex().equals(Sex.FEMALE.toString())) {
-      model.setPhotoUrl("images/female-avatar.svg");
-    }
+    // log.info("photoUrl: {}", model.getPhotoUrl());
 
-    // "photos/albanese-anthony.jpg"
-    String url = "images/" + entity.getName().getFamilyName().toLowerCase() + "-" +
-      entity.getName().getGivenName().toLowerCase() + ".jpg";
+    fields.copy("electorate", entity::getElectorate, model::setElectorate);
 
-    if (new ClassPathResource("public/" + url).exists()) {
-      model.setPhotoUrl(url);
-    }
+    fields.copy("dateOfBirth", entity::getDateOfBirth, model::setDateOfBirth);
+    fields.copy("placeOfBirth", entity::getPlaceOfBirth, model::setPlaceOfBirth);
+    fields.copy("countryOfBirth", entity::getCountryOfBirth, model::setCountryOfBirth);
 
-    // log.info("photoUrl: {}", model.getPhotoUrl());
+    fields.copy("dateOfDeath", entity::getDateOfDeath, model::setDateOfDeath);
+    fields.copy("placeOfDeath", entity::getPlaceOfDeath, model::setPlaceOfDeath);
+    fields.copy("countryOfDeath", entity::getCountryOfDeath, model::setCountryOfDeath);
 
-    model.setElectorate(entity.getElectorate());
+    return model;
+  }
 
-    model.setDateOfBirth(entity.getDateOfBirth());
-    model.setPlaceOfBirth(entity.getPlaceOfBirth());
-    model.setCountryOfBirth(entity.getCountryOfBirth());
+  // The compact representation (see: CompactModel), the Party is joined by the list queries so its display name is
+  // read without a query
+
+  public IndividualCompactModel toCompactModel(Individual entity) {
+
+    FieldSet fields = FieldSet.current();
+
+    IndividualCompactModel model = new IndividualCompactModel();
 
-    model.setDateOfDeath(entity.getDateOfDeath());
-    model.setPlaceOfDeath(entity.getPlaceOfDeath());
-    model.setCountryOfDeath(entity.getCountryOfDeath());
+    fields.copy("id", entity::getId, model::setId);
+    fields.copy("displayName", () -> entity.getParty().getDisplayName(), model::setDisplayName);
+    fields.copy("title", () -> entity.getName().getTitle(), model::setTitle);
+    fields.copy("givenName", () -> entity.getName().getGivenName(), model::setGivenName);
+    fields.copy("middleName", () -> entity.getName().getMiddleName(), model::setMiddleName);
+    fields.copy("familyName", () -> entity.getName().getFamilyName(), model::setFamilyName);
+    fields.copy("preferredName", () -> entity.getName().getPreferredName(), model::setPreferredName);
+    fields.copy("sex", entity::getSex, model::setSex);
+    fields.copy("email", entity::getEmail, model::setEmail);
+    fields.copy("phoneNumber", entity::getPhoneNumber, model::setPhoneNumber);
+    fields.copy("photoUrl", () -> toPhotoUrl(entity), model::setPhotoUrl);
+    fields.copy("electorate", entity::getElectorate, model::setElectorate);
+
+    fields.copy("dateOfBirth", entity::getDateOfBirth, model::setDateOfBirth);
+    fields.copy("placeOfBirth", entity::getPlaceOfBirth, model::setPlaceOfBirth);
+    fields.copy("countryOfBirth", entity::getCountryOfBirth, model::setCountryOfBirth);
+
+    fields.copy("dateOfDeath", entity::getDateOfDeath, model::setDateOfDeath);
+    fields.copy("placeOfDeath", entity::getPlaceOfDeath, model::setPlaceOfDeath);
+    fields.copy("countryOfDeath", entity::getCountryOfDeath, model::setCountryOfDeath);
 
     return model;
   }
 
-  private NameModel toNameModel(Name name) {
+  // The photo url is resolved at write time (see: PhotoUrlListener), rows written before then fall back to the index
+
+  private String toPhotoUrl(Individual entity) {
+
+    if (entity.getPhotoUrl() == null || entity.getPhotoUrl().isEmpty()) {
+      return imageIndex.getPhotoUrl(entity);
+    }
+
+    return entity.getPhotoUrl();
+  }
+
+  private NameModel toNameModel(Name name, FieldSet fields) {
 
     NameModel model = new NameModel();
 
-    model.setTitle(name.getTitle());
-    model.setGivenName(name.getGivenName());
-    model.setMiddleName(name.getMiddleName());
-    model.setFamilyName(name.getFamilyName());
-    model.setHonorific(name.getHonorific());
-    model.setSalutation(name.getSalutation());
-    model.setPreferredName(name.getPreferredName());
-    model.setInitials(name.getInitials());
+    fields.copy("title", name::getTitle, model::setTitle);
+    fields.copy("givenName", name::getGivenName, model::setGivenName);
+    fields.copy("middleName", name::getMiddleName, model::setMiddleName);
+    fields.copy("familyName", name::getFamilyName, model::setFamilyName);
+    fields.copy("honorific", name::getHonorific, model::setHonorific);
+    fields.copy("salutation", name::getSalutation, model::setSalutation);
+    fields.copy("preferredName", name::getPreferredName, model::setPreferredName);
+    fields.copy("initials", name::getInitials, model::setInitials);
 
     return model;
   }
@@ -0,0 +1,48 @@
+package org.serendipity.restapi.assembler;
+
+import org.serendipity.restapi.controller.IndividualController;
+import org.serendipity.restapi.image.ImageIndex;
+import org.serendipity.restapi.model.IndividualSummaryModel;
+import org.serendipity.restapi.projection.IndividualSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
+import org.springframework.stereotype.Component;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+@Component
+public class IndividualSummaryModelAssembler
+  extends RepresentationModelAssemblerSupport<IndividualSummary, IndividualSummaryModel> {
+
+  @Autowired
+  private ImageIndex imageIndex;
+
+  public IndividualSummaryModelAssembler() {
+    super(IndividualController.class, IndividualSummaryModel.class);
+  }
+
+  @Override
+  public IndividualSummaryModel toModel(IndividualSummary summary) {
+
+    IndividualSummaryModel model = instantiateModel(summary);
+
+    model.setId(summary.getId());
+    model.setTitle(summary.getTitle());
+    model.setGivenName(summary.getGivenName());
+    model.setFamilyName(summary.getFamilyName());
+    model.setDisplayName(summary.getDisplayName());
+    model.setElectorate(summary.getElectorate());
+    model.setPhotoUrl(summary.getPhotoUrl());
+
+    if (summary.getPhotoUrl() == null || summary.getPhotoUrl().isEmpty()) {
+      model.setPhotoUrl(imageIndex.getPhotoUrl(summary.getFamilyName(), summary.getGivenName(), summary.getSex()));
+    }
+
+    // The detail representation (the full graph) is served by /individuals/{id}
+    model.add(linkTo(methodOn(IndividualController.class).findById(summary.getId())).withSelfRel());
+
+    return model;
+  }
+
+}
@@ -2,6 +2,8 @@ package org.serendipity.restapi.assembler;
 
 import org.serendipity.restapi.controller.OrganisationController;
 import org.serendipity.restapi.entity.Organisation;
+import org.serendipity.restapi.fields.FieldSet;
+import org.serendipity.restapi.model.OrganisationCompactModel;
 import org.serendipity.restapi.model.OrganisationModel;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
@@ -19,19 +21,41 @@ public class OrganisationModelAssembler extends RepresentationModelAssemblerSupp
 
   @Override
   public OrganisationModel toModel(Organisation entity) {
+    return toModel(entity, FieldSet.current());
+  }
+
+  // Only the selected fields are read, so associations that aren't selected aren't fetched (see: FieldSet)
+
+  public OrganisationModel toModel(Organisation entity, FieldSet fields) {
 
     OrganisationModel model = instantiateModel(entity);
 
-    model.setId(entity.getId());
-    model.setParty(partyModelAssembler.toModel(entity.getParty()));
+    fields.copy("id", entity::getId, model::setId);
+    fields.copy("party", () -> partyModelAssembler.toModel(entity.getParty(), fields.nested("party")), model::setParty);
 
-    model.setName(entity.getName());
-    model.setEmail(entity.getEmail());
-    model.setPhoneNumber(entity.getPhoneNumber());
+    fields.copy("name", entity::getName, model::setName);
+    fields.copy("email", entity::getEmail, model::setEmail);
+    fields.copy("phoneNumber", entity::getPhoneNumber, model::setPhoneNumber);
 
     return model;
 
   }
 
+  // The compact representation (see: CompactModel)
+
+  public OrganisationCompactModel toCompactModel(Organisation entity) {
+
+    FieldSet fields = FieldSet.current();
+
+    OrganisationCompactModel model = new OrganisationCompactModel();
+
+    fields.copy("id", entity::getId, model::setId);
+    fields.copy("displayName", () -> entity.getParty().getDisplayName(), model::setDisplayName);
+    fields.copy("name", entity::getName, model::setName);
+    fields.copy("email", entity::getEmail, model::setEmail);
+    fields.copy("phoneNumber", entity::getPhoneNumber, model::setPhoneNumber);
+
+    return model;
+  }
 
 }
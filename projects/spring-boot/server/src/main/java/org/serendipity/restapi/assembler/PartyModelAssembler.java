@@ -5,6 +5,7 @@ import org.serendipity.restapi.entity.Address;
 import org.serendipity.restapi.entity.Location;
 import org.serendipity.restapi.entity.Party;
 import org.serendipity.restapi.entity.Role;
+import org.serendipity.restapi.fields.FieldSet;
 import org.serendipity.restapi.model.AddressModel;
 import org.serendipity.restapi.model.LocationModel;
 import org.serendipity.restapi.model.PartyModel;
@@ -25,15 +26,21 @@ public class PartyModelAssembler extends RepresentationModelAssemblerSupport<Par
 
   @Override
   public PartyModel toModel(Party entity) {
+    return toModel(entity, FieldSet.current());
+  }
+
+  // Only the selected fields are read, so the addresses and roles aren't fetched unless they're selected (see: FieldSet)
+
+  public PartyModel toModel(Party entity, FieldSet fields) {
 
     PartyModel model = instantiateModel(entity);
 
-    model.setId(entity.getId());
-    model.setType(entity.getType());
-    model.setLegalType(entity.getLegalType());
-    model.setDisplayName(entity.getDisplayName());
-    model.setAddresses(toAddressModel(entity.getAddresses()));
-    model.setRoles(toRoleModel(entity.getRoles()));
+    fields.copy("id", entity::getId, model::setId);
+    fields.copy("type", entity::getType, model::setType);
+    fields.copy("legalType", entity::getLegalType, model::setLegalType);
+    fields.copy("displayName", entity::getDisplayName, model::setDisplayName);
+    fields.copy("addresses", () -> toAddressModel(entity.getAddresses()), model::setAddresses);
+    fields.copy("roles", () -> toRoleModel(entity.getRoles()), model::setRoles);
 
     return model;
   }
@@ -39,6 +39,7 @@ public class DefaultSecurityConfig extends WebSecurityConfigurerAdapter {
       .requestMatchers(PathRequest.toStaticResources().atCommonLocations()).permitAll()
       .antMatchers("/h2-console/**").permitAll()
       .antMatchers("/docs/**").permitAll()
+      .antMatchers("/actuator/health/**").permitAll()
       .anyRequest().authenticated();
 
     http.csrf().ignoringAntMatchers("/h2-console/**");
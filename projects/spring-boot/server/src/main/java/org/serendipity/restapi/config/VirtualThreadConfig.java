@@ -0,0 +1,74 @@
+package org.serendipity.restapi.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+@Configuration(proxyBeanMethods = false)
+@Profile("virtual-threads")
+@Slf4j
+public class VirtualThreadConfig {
+
+  // Opt-in (spring.profiles.active=dev,virtual-threads): Tomcat runs each request on a new virtual thread rather than
+  // on its pool of server.tomcat.threads.max platform threads, so the controllers (and the repository calls they
+  // block on) no longer hold a platform thread while they wait for JDBC. The connection pool becomes the bulkhead,
+  // requests queue for a connection instead of for a worker thread (see: application-virtual-threads.properties).
+  //
+  // Virtual threads need a Java 21 runtime (build with: mvn -Pvirtual-threads), the code is still compiled for Java 11
+  // so they're created reflectively. Startup fails on an older runtime rather than silently using platform threads.
+
+  static final String THREAD_NAME_PREFIX = "tomcat-virtual-";
+
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService virtualThreadExecutor() {
+
+    ExecutorService executor = newVirtualThreadPerTaskExecutor(THREAD_NAME_PREFIX);
+
+    log.info("VirtualThreadConfig: requests run on virtual threads ({})", Runtime.version());
+
+    return executor;
+  }
+
+  @Bean
+  public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+    return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+  }
+
+  // Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 0).factory())
+
+  static ExecutorService newVirtualThreadPerTaskExecutor(String prefix) {
+
+    try {
+
+      Class<?> builder = Class.forName("java.lang.Thread$Builder");
+
+      Object ofVirtual = Thread.class.getMethod("ofVirtual").invoke(null);
+      Object named = builder.getMethod("name", String.class, long.class).invoke(ofVirtual, prefix, 0L);
+      ThreadFactory factory = (ThreadFactory) builder.getMethod("factory").invoke(named);
+
+      return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+        .invoke(null, factory);
+
+    } catch (ClassNotFoundException | NoSuchMethodException e) {
+
+      throw new IllegalStateException("The virtual-threads profile requires Java 21 or later, running on Java " +
+        Runtime.version());
+
+    } catch (IllegalAccessException | InvocationTargetException e) {
+
+      throw new IllegalStateException("Virtual threads aren't available: " + e.getLocalizedMessage(), e);
+    }
+
+  }
+
+}
+
+// https://openjdk.org/jeps/444
+// https://docs.oracle.com/en/java/javase/21/core/virtual-threads.html
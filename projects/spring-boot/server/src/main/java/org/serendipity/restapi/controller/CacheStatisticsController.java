@@ -0,0 +1,83 @@
+package org.serendipity.restapi.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.data.rest.webmvc.BasePathAwareController;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@BasePathAwareController
+@Slf4j
+public class CacheStatisticsController {
+
+  // Second-level and query cache hit/miss statistics (hibernate.generate_statistics=true), see: ehcache.xml
+
+  private final Statistics statistics;
+
+  public CacheStatisticsController(EntityManagerFactory entityManagerFactory) {
+    this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @GetMapping("/cache/statistics")
+  public ResponseEntity<Map<String, Object>> findAll() throws ResponseStatusException {
+
+    log.info("CacheStatisticsController GET /cache/statistics");
+
+    try {
+
+      Map<String, Object> regions = new LinkedHashMap<>();
+
+      for (String region : statistics.getSecondLevelCacheRegionNames()) {
+
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+
+        if (regionStatistics == null) {
+          continue;
+        }
+
+        regions.put(region, toMap(regionStatistics.getHitCount(), regionStatistics.getMissCount(),
+          regionStatistics.getPutCount()));
+      }
+
+      Map<String, Object> model = new LinkedHashMap<>();
+
+      model.put("secondLevelCache", toMap(statistics.getSecondLevelCacheHitCount(),
+        statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+      model.put("queryCache", toMap(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+        statistics.getQueryCachePutCount()));
+      model.put("regions", regions);
+
+      return ResponseEntity.ok(model);
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
+  private static Map<String, Object> toMap(long hits, long misses, long puts) {
+
+    Map<String, Object> map = new LinkedHashMap<>();
+
+    map.put("hitCount", hits);
+    map.put("missCount", misses);
+    map.put("putCount", puts);
+    map.put("hitRatio", hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+
+    return map;
+  }
+
+}
+
+// https://docs.jboss.org/hibernate/orm/5.4/userguide/html_single/Hibernate_User_Guide.html#statistics
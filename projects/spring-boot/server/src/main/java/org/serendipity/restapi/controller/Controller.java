@@ -1,11 +1,47 @@
 package org.serendipity.restapi.controller;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.extern.slf4j.Slf4j;
+import org.serendipity.restapi.entity.Party;
+import org.serendipity.restapi.export.ExportFormat;
+import org.serendipity.restapi.export.ExportWriter;
+import org.serendipity.restapi.fields.FieldSet;
+import org.serendipity.restapi.ingest.BatchIngester;
+import org.serendipity.restapi.ingest.BatchResult;
+import org.serendipity.restapi.ingest.BatchWriter;
+import org.serendipity.restapi.logging.PayloadLogger;
+import org.serendipity.restapi.model.CompactModel;
+import org.serendipity.restapi.model.IdsModel;
+import org.serendipity.restapi.paging.KeysetCursor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 public class Controller<Entity, Repository, Assembler> {
@@ -14,38 +50,236 @@ public class Controller<Entity, Repository, Assembler> {
   protected final Assembler assembler;
   protected final PagedResourcesAssembler<Entity> pagedResourcesAssembler;
 
+  private final PayloadLogger payloadLogger;
+  private final ExportWriter exportWriter;
+  private final BatchIngester batchIngester;
+
   public Controller(Repository repository, Assembler assembler,
-                    PagedResourcesAssembler<Entity> pagedResourcesAssembler) {
+                    PagedResourcesAssembler<Entity> pagedResourcesAssembler,
+                    PayloadLogger payloadLogger,
+                    ExportWriter exportWriter,
+                    BatchIngester batchIngester) {
 
     this.repository = repository;
     this.assembler = assembler;
     this.pagedResourcesAssembler = pagedResourcesAssembler;
+    this.payloadLogger = payloadLogger;
+    this.exportWriter = exportWriter;
+    this.batchIngester = batchIngester;
   }
 
-  protected void logInfo(Object entity, Object model) {
+  // Keyset (cursor) pagination: the next link carries an opaque cursor (?after=) built from the last row of the slice.
+  // There is no count query, so the page metadata (totalElements, totalPages) is null.
 
-    try {
+  protected <Model extends RepresentationModel<Model>> PagedModel<Model> toKeysetModel(
+    Slice<Entity> entities, RepresentationModelAssembler<Entity, Model> assembler,
+    Function<Entity, KeysetCursor> cursor) {
 
-      ObjectMapper mapper = new ObjectMapper();
+    List<Model> models = entities.getContent().stream()
+      .map(assembler::toModel)
+      .collect(Collectors.toList());
 
-      mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-      mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+    UriComponentsBuilder builder = ServletUriComponentsBuilder.fromCurrentRequest();
 
-      mapper.enable(SerializationFeature.INDENT_OUTPUT);
+    List<Link> links = new ArrayList<>();
 
-      if (entity != null) {
-        log.info("entity: {}", "\n" + mapper.writeValueAsString(entity));
-      }
+    links.add(Link.of(builder.toUriString()).withSelfRel());
+
+    if (entities.hasNext()) {
+
+      Entity last = entities.getContent().get(entities.getNumberOfElements() - 1);
+
+      links.add(Link.of(builder.replaceQueryParam("after", cursor.apply(last).encode()).toUriString(),
+        IanaLinkRelations.NEXT));
+    }
+
+    return PagedModel.of(models, null, links);
+  }
+
+  // Batch GET (?ids=): the ids are resolved with a single IN query, its parameters are padded to a power of 2 (see:
+  // application.properties) so the query plan cache holds a plan per size class rather than per list size.
+  // The entities are returned in request order (duplicates removed) and the ids that weren't found are reported.
+
+  protected static final int MAX_IDS = 1000;
+
+  protected static <Row> List<Row> inOrder(Collection<Long> ids, List<Row> rows, Function<Row, Long> id,
+                                           List<Long> missing) {
 
-      if (model != null) {
-        log.info("model: {}", "\n" + mapper.writeValueAsString(model));
+    Map<Long, Row> found = rows.stream().collect(Collectors.toMap(id, Function.identity()));
+
+    List<Row> ordered = new ArrayList<>(ids.size());
+
+    for (Long key : ids) {
+
+      Row row = found.get(key);
+
+      if (row != null) {
+        ordered.add(row);
+      } else {
+        missing.add(key);
       }
 
-    } catch (JsonProcessingException jpe) {
+    }
+
+    return ordered;
+  }
+
+  protected <Model extends RepresentationModel<Model>> IdsModel<Model> toIdsModel(
+    List<Entity> entities, List<Long> missing, RepresentationModelAssembler<Entity, Model> assembler) {
+
+    List<Model> models = entities.stream()
+      .map(assembler::toModel)
+      .collect(Collectors.toList());
+
+    return new IdsModel<>(models, missing, Link.of(ServletUriComponentsBuilder.fromCurrentRequest().toUriString())
+      .withSelfRel());
+  }
 
-      log.error("Json Processing Exception: {}", jpe.getLocalizedMessage());
+  // Compact representation (see: CompactModel): plain JSON rows, links at the top level only
+
+  protected <Row> CompactModel<Row> toCompactModel(Page<Entity> entities, Function<Entity, Row> row) {
+
+    List<Row> content = entities.getContent().stream()
+      .map(row)
+      .collect(Collectors.toList());
+
+    UriComponentsBuilder builder = ServletUriComponentsBuilder.fromCurrentRequest();
+
+    Map<String, String> links = new LinkedHashMap<>();
+
+    links.put(IanaLinkRelations.SELF.value(), builder.toUriString());
+
+    if (entities.hasPrevious()) {
+      links.put(IanaLinkRelations.PREV.value(),
+        builder.replaceQueryParam("page", entities.getNumber() - 1).toUriString());
     }
 
+    if (entities.hasNext()) {
+      links.put(IanaLinkRelations.NEXT.value(),
+        builder.replaceQueryParam("page", entities.getNumber() + 1).toUriString());
+    }
+
+    PagedModel.PageMetadata page = new PagedModel.PageMetadata(entities.getSize(), entities.getNumber(),
+      entities.getTotalElements(), entities.getTotalPages());
+
+    return new CompactModel<>(content, page, links);
+  }
+
+  // A representation variant has its own entity tag, for example: W/"5f0e3b1c" -> W/"5f0e3b1c-compact"
+
+  protected static String variant(String etag, String variant) {
+    return etag.substring(0, etag.length() - 1) + "-" + variant + "\"";
+  }
+
+  // Conditional GET: validators are derived from Party.updatedAt, so a client's If-None-Match/If-Modified-Since can be
+  // answered with a 304 before the model is assembled and serialised. Clients must revalidate (no-cache), the
+  // representations are private to the authenticated user.
+
+  protected static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+  protected <Model> ResponseEntity<Model> conditional(String etag, Date lastModified, Supplier<Model> model) {
+
+    // A sparse representation (?fields=) has its own entity tag
+    etag = FieldSet.current().tag(etag);
+
+    long time = lastModified != null ? lastModified.getTime() : -1;
+
+    ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+    ServletWebRequest request = new ServletWebRequest(attributes.getRequest(), attributes.getResponse());
+
+    boolean notModified = request.checkNotModified(etag, time);
+
+    ResponseEntity.BodyBuilder builder = notModified ? ResponseEntity.status(HttpStatus.NOT_MODIFIED) : ResponseEntity.ok();
+
+    builder.eTag(etag).cacheControl(CACHE_CONTROL);
+
+    if (time > 0) {
+      builder.lastModified(time);
+    }
+
+    if (notModified) {
+      return builder.build();
+    }
+
+    return builder.body(model.get());
+  }
+
+  // A strong ETag for a single resource, for example: "123-1590969600000" (id-updatedAt)
+
+  protected static String strongETag(Long id, Date updatedAt) {
+    return "\"" + id + "-" + (updatedAt != null ? updatedAt.getTime() : 0) + "\"";
+  }
+
+  // A weak ETag for a page, a hash of the page's position and each row's id and updatedAt
+
+  protected static <Row> String weakETag(Slice<Row> rows, Function<Row, Party> party) {
+
+    long hash = 17;
+
+    hash = 31 * hash + rows.getNumber();
+    hash = 31 * hash + rows.getSize();
+    hash = 31 * hash + (rows.hasNext() ? 1 : 0);
+
+    if (rows instanceof Page) {
+      hash = 31 * hash + ((Page<Row>) rows).getTotalElements();
+    }
+
+    for (Row row : rows) {
+
+      Party p = party.apply(row);
+
+      hash = 31 * hash + p.getId();
+      hash = 31 * hash + (p.getUpdatedAt() != null ? p.getUpdatedAt().getTime() : 0);
+    }
+
+    return "W/\"" + Long.toHexString(hash) + "\"";
+  }
+
+  protected static <Row> Date lastModified(Slice<Row> rows, Function<Row, Party> party) {
+
+    Date lastModified = null;
+
+    for (Row row : rows) {
+
+      Date updatedAt = party.apply(row).getUpdatedAt();
+
+      if (updatedAt != null && (lastModified == null || updatedAt.after(lastModified))) {
+        lastModified = updatedAt;
+      }
+
+    }
+
+    return lastModified;
+  }
+
+  // Exports are streamed straight from the result set to the response, the caller must hold a (read-only)
+  // transaction open and close the stream.
+
+  protected <Row> long export(Stream<Row> rows, Class<Row> type, ExportFormat format, String filename,
+                              HttpServletResponse response) throws IOException {
+
+    return exportWriter.write(rows, type, format, filename, response);
+  }
+
+  // Bulk ingest: a JSON array or NDJSON body is persisted in chunked transactions, see: BatchIngester
+
+  protected BatchResult ingest(InputStream in, Class<Entity> type, BatchWriter<Entity> writer, boolean upsert)
+    throws IOException {
+
+    return batchIngester.ingest(in, type, writer, upsert);
+  }
+
+  // Payloads are sampled and handed off to a background queue, see: PayloadLogger. Only models (or ids) are queued,
+  // never entities: they're serialised on another thread, after the request's session is closed.
+
+  protected void logInfo(String endpoint, Object model) {
+    payloadLogger.log(endpoint, model);
+  }
+
+  // The model is only built if the payload is sampled
+
+  protected void logInfo(String endpoint, Supplier<?> model) {
+    payloadLogger.log(endpoint, model);
   }
 
 }
@@ -3,32 +3,65 @@ package org.serendipity.restapi.controller;
 import lombok.extern.slf4j.Slf4j;
 import org.serendipity.restapi.assembler.ElectoralDivisionAssembler;
 import org.serendipity.restapi.entity.ElectoralDivision;
+import org.serendipity.restapi.export.ExportWriter;
+import org.serendipity.restapi.ingest.BatchIngester;
+import org.serendipity.restapi.logging.PayloadLogger;
 import org.serendipity.restapi.model.ElectoralDivisionModel;
 import org.serendipity.restapi.repository.ElectoralDivisionRepository;
+import org.serendipity.restapi.search.BoundaryIndex;
+import org.serendipity.restapi.search.BoundaryMatch;
+import org.serendipity.restapi.search.ElectoralDivisionIndex;
+import org.serendipity.restapi.search.GeoPoint;
+import org.serendipity.restapi.search.KdTree;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.rest.webmvc.BasePathAwareController;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
 @BasePathAwareController
 @Slf4j
 public class ElectoralDivisionController extends Controller<ElectoralDivision, ElectoralDivisionRepository,
     ElectoralDivisionAssembler> {
 
+  static final int MAX_NEAREST = 100;
+  static final int MAX_CONTAINING = 10000;
+
+  private final ElectoralDivisionIndex electoralDivisionIndex;
+  private final BoundaryIndex boundaryIndex;
+
   // Suppress IntelliJ IDEA Error: Could not autowire. No beans of 'PagedResourcesAssembler<ElectoralDivision>' type found.
   @SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection")
   public ElectoralDivisionController(ElectoralDivisionRepository repository,
                                      ElectoralDivisionAssembler assembler,
-                                     PagedResourcesAssembler<ElectoralDivision> pagedResourcesAssembler) {
+                                     PagedResourcesAssembler<ElectoralDivision> pagedResourcesAssembler,
+                                     PayloadLogger payloadLogger,
+                                     ExportWriter exportWriter,
+                                     BatchIngester batchIngester,
+                                     ElectoralDivisionIndex electoralDivisionIndex,
+                                     BoundaryIndex boundaryIndex) {
+
+    super(repository, assembler, pagedResourcesAssembler, payloadLogger, exportWriter, batchIngester);
 
-    super(repository, assembler, pagedResourcesAssembler);
+    this.electoralDivisionIndex = electoralDivisionIndex;
+    this.boundaryIndex = boundaryIndex;
   }
 
   @GetMapping("/electoral-divisions")
@@ -43,7 +76,7 @@ public class ElectoralDivisionController extends Controller<ElectoralDivision, E
       Page<ElectoralDivision> entities = repository.findAll(pageable);
       PagedModel<ElectoralDivisionModel> models = pagedResourcesAssembler.toModel(entities, assembler);
 
-      logInfo(entities, models);
+      logInfo("electoral-division-find-all", models);
 
       return ResponseEntity.ok(models);
 
@@ -70,7 +103,137 @@ public class ElectoralDivisionController extends Controller<ElectoralDivision, E
 
       ElectoralDivisionModel model = assembler.toModel(entity);
 
-      logInfo(entity, model);
+      logInfo("electoral-division-find-by-name", model);
+
+      return ResponseEntity.ok(model);
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
+  // The k Electoral Divisions nearest to a point, nearest first, each with its distance in metres (see: KdTree)
+
+  @GetMapping("/electoral-divisions/search/nearest")
+  @PreAuthorize("hasAuthority('SCOPE_individual:read')")
+  public ResponseEntity<CollectionModel<ElectoralDivisionModel>> nearest(
+    @RequestParam("lat") final double latitude,
+    @RequestParam("lon") final double longitude,
+    @RequestParam(name = "k", defaultValue = "1") final int k) throws ResponseStatusException {
+
+    log.info("ElectoralDivisionController GET /electoral-divisions/search/nearest");
+
+    try {
+
+      validate(latitude, longitude);
+
+      if (k < 1 || k > MAX_NEAREST) {
+        throw new IllegalArgumentException("k out of range");
+      }
+
+      List<KdTree.Neighbour> neighbours = electoralDivisionIndex.nearest(latitude, longitude, k);
+
+      Map<Long, ElectoralDivision> found = findAllById(neighbours.stream()
+        .map(KdTree.Neighbour::getId)
+        .collect(Collectors.toList()));
+
+      List<ElectoralDivisionModel> models = neighbours.stream()
+        .filter(neighbour -> found.containsKey(neighbour.getId()))
+        .map(neighbour -> {
+
+          ElectoralDivisionModel model = assembler.toModel(found.get(neighbour.getId()));
+
+          model.setDistance(neighbour.getDistance());
+
+          return model;
+        })
+        .collect(Collectors.toList());
+
+      CollectionModel<ElectoralDivisionModel> collection = CollectionModel.of(models);
+
+      logInfo("electoral-division-nearest", collection);
+
+      return ResponseEntity.ok(collection);
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
+  // The Electoral Divisions in a bounding box: bbox=minLon,minLat,maxLon,maxLat (the GeoJSON and OGC order), a box
+  // whose minLon is greater than its maxLon crosses the antimeridian
+
+  @GetMapping("/electoral-divisions/search/within")
+  @PreAuthorize("hasAuthority('SCOPE_individual:read')")
+  public ResponseEntity<CollectionModel<ElectoralDivisionModel>> within(
+    @RequestParam("bbox") final double[] bbox) throws ResponseStatusException {
+
+    log.info("ElectoralDivisionController GET /electoral-divisions/search/within");
+
+    try {
+
+      if (bbox.length != 4 || bbox[1] > bbox[3]) {
+        throw new IllegalArgumentException("bbox must be minLon,minLat,maxLon,maxLat");
+      }
+
+      List<Long> ids = electoralDivisionIndex.within(bbox[1], bbox[0], bbox[3], bbox[2]);
+
+      Map<Long, ElectoralDivision> found = findAllById(ids);
+
+      List<ElectoralDivisionModel> models = ids.stream()
+        .map(found::get)
+        .filter(Objects::nonNull)
+        .map(assembler::toModel)
+        .collect(Collectors.toList());
+
+      CollectionModel<ElectoralDivisionModel> collection = CollectionModel.of(models);
+
+      logInfo("electoral-division-within", collection);
+
+      return ResponseEntity.ok(collection);
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
+  // The Electoral Division whose boundary contains a point (see: BoundaryIndex)
+
+  @GetMapping("/electoral-divisions/search/containing")
+  @PreAuthorize("hasAuthority('SCOPE_individual:read')")
+  public ResponseEntity<ElectoralDivisionModel> containing(
+    @RequestParam("lat") final double latitude,
+    @RequestParam("lon") final double longitude) throws ResponseStatusException {
+
+    log.info("ElectoralDivisionController GET /electoral-divisions/search/containing");
+
+    try {
+
+      validate(latitude, longitude);
+
+      String name = boundaryIndex.containing(latitude, longitude);
+
+      ElectoralDivision entity = name != null ? repository.findByName(name).orElse(null) : null;
+
+      if (entity == null) {
+        return ResponseEntity.notFound().build();
+      }
+
+      ElectoralDivisionModel model = assembler.toModel(entity);
+
+      logInfo("electoral-division-containing", model);
 
       return ResponseEntity.ok(model);
 
@@ -83,4 +246,68 @@ public class ElectoralDivisionController extends Controller<ElectoralDivision, E
 
   }
 
+  // Batch lookup, for example an imported address list: [{ "lat": -34.907, "lon": 138.602 }, ...], the result has a
+  // match for each point, in request order. An invalid point has an error, it doesn't fail the batch.
+
+  @PostMapping("/electoral-divisions/search/containing")
+  @PreAuthorize("hasAuthority('SCOPE_individual:read')")
+  public ResponseEntity<List<BoundaryMatch>> containing(
+    @RequestBody final List<GeoPoint> points) throws ResponseStatusException {
+
+    log.info("ElectoralDivisionController POST /electoral-divisions/search/containing");
+
+    try {
+
+      if (points.size() > MAX_CONTAINING) {
+        throw new IllegalArgumentException("More than " + MAX_CONTAINING + " points");
+      }
+
+      List<BoundaryMatch> matches = new ArrayList<>(points.size());
+
+      for (int index = 0; index < points.size(); index++) {
+
+        GeoPoint point = points.get(index);
+
+        if (point == null || !isValid(point.getLat(), point.getLon())) {
+          matches.add(new BoundaryMatch(index, null, null, "lat or lon out of range"));
+          continue;
+        }
+
+        String name = boundaryIndex.containing(point.getLat(), point.getLon());
+
+        // The names are mapped to ids by the index, not a query (see: ElectoralDivisionIndex)
+        matches.add(new BoundaryMatch(index, electoralDivisionIndex.getId(name), name, null));
+      }
+
+      return ResponseEntity.ok(matches);
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
+  private static void validate(Double latitude, Double longitude) {
+
+    if (!isValid(latitude, longitude)) {
+      throw new IllegalArgumentException("lat or lon out of range");
+    }
+
+  }
+
+  private static boolean isValid(Double latitude, Double longitude) {
+    return latitude != null && longitude != null && Math.abs(latitude) <= 90 && Math.abs(longitude) <= 180;
+  }
+
+  // A division deleted since the index was searched is missing from the map
+
+  private Map<Long, ElectoralDivision> findAllById(List<Long> ids) {
+
+    return StreamSupport.stream(repository.findAllById(ids).spliterator(), false)
+      .collect(Collectors.toMap(ElectoralDivision::getId, Function.identity()));
+  }
+
 }
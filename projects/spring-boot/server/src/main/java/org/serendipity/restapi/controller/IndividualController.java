@@ -2,22 +2,58 @@ package org.serendipity.restapi.controller;
 
 import lombok.extern.slf4j.Slf4j;
 import org.serendipity.restapi.assembler.IndividualModelAssembler;
+import org.serendipity.restapi.assembler.IndividualSummaryModelAssembler;
 import org.serendipity.restapi.entity.Individual;
+import org.serendipity.restapi.export.ExportFormat;
+import org.serendipity.restapi.export.ExportWriter;
+import org.serendipity.restapi.fields.FieldSet;
+import org.serendipity.restapi.image.ImageIndex;
+import org.serendipity.restapi.ingest.BatchIngester;
+import org.serendipity.restapi.ingest.BatchResult;
+import org.serendipity.restapi.ingest.IndividualBatchWriter;
+import org.serendipity.restapi.logging.PayloadLogger;
+import org.serendipity.restapi.model.CompactModel;
+import org.serendipity.restapi.model.IdsModel;
+import org.serendipity.restapi.model.IndividualCompactModel;
 import org.serendipity.restapi.model.IndividualModel;
+import org.serendipity.restapi.model.IndividualSummaryModel;
+import org.serendipity.restapi.paging.KeysetCursor;
+import org.serendipity.restapi.projection.IndividualRecord;
+import org.serendipity.restapi.projection.IndividualSummary;
 import org.serendipity.restapi.repository.IndividualRepository;
+import org.serendipity.restapi.search.NameIndex;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.rest.webmvc.BasePathAwareController;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -26,16 +62,40 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @Slf4j
 public class IndividualController extends Controller<Individual, IndividualRepository, IndividualModelAssembler> {
 
+  private final ImageIndex imageIndex;
+
+  private final IndividualSummaryModelAssembler summaryAssembler;
+  private final PagedResourcesAssembler<IndividualSummary> pagedSummaryAssembler;
+
+  private final IndividualBatchWriter batchWriter;
+
+  private final NameIndex nameIndex;
+
   // Suppress IntelliJ IDEA Error: Could not autowire. No beans of 'PagedResourcesAssembler<Individual>' type found.
   @SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection")
   public IndividualController(IndividualRepository repository,
                               IndividualModelAssembler assembler,
-                              PagedResourcesAssembler<Individual> pagedResourcesAssembler) {
-
-    super(repository, assembler, pagedResourcesAssembler);
+                              PagedResourcesAssembler<Individual> pagedResourcesAssembler,
+                              PayloadLogger payloadLogger,
+                              ExportWriter exportWriter,
+                              BatchIngester batchIngester,
+                              ImageIndex imageIndex,
+                              IndividualSummaryModelAssembler summaryAssembler,
+                              PagedResourcesAssembler<IndividualSummary> pagedSummaryAssembler,
+                              IndividualBatchWriter batchWriter,
+                              NameIndex nameIndex) {
+
+    super(repository, assembler, pagedResourcesAssembler, payloadLogger, exportWriter, batchIngester);
+
+    this.imageIndex = imageIndex;
+    this.summaryAssembler = summaryAssembler;
+    this.pagedSummaryAssembler = pagedSummaryAssembler;
+    this.batchWriter = batchWriter;
+    this.nameIndex = nameIndex;
   }
 
   @GetMapping("/individuals")
+  @Transactional(readOnly = true)
   @PreAuthorize("hasAuthority('SCOPE_individual:read')")
   public ResponseEntity<PagedModel<IndividualModel>> findAll(
     Pageable pageable) throws ResponseStatusException {
@@ -45,10 +105,128 @@ public class IndividualController extends Controller<Individual, IndividualRepos
     try {
 
       Page<Individual> entities = repository.findAll(pageable);
-      PagedModel<IndividualModel> models = pagedResourcesAssembler.toModel(entities, assembler);
 
       // logInfo(entities, models);
 
+      return conditional(weakETag(entities, Individual::getParty), lastModified(entities, Individual::getParty), () ->
+        pagedResourcesAssembler.toModel(entities, assembler));
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
+  @GetMapping(value = "/individuals", params = { "ids", "!after" })
+  @Transactional(readOnly = true)
+  @PreAuthorize("hasAuthority('SCOPE_individual:read')")
+  public ResponseEntity<IdsModel<IndividualModel>> findAllById(
+    @RequestParam("ids") final List<Long> ids) throws ResponseStatusException {
+
+    log.info("IndividualController GET /individuals?ids=");
+
+    try {
+
+      if (ids.size() > MAX_IDS) {
+        throw new IllegalArgumentException("More than " + MAX_IDS + " ids");
+      }
+
+      Set<Long> unique = new LinkedHashSet<>(ids);
+      List<Long> missing = new ArrayList<>();
+
+      List<Individual> entities = unique.isEmpty() ? Collections.emptyList() :
+        inOrder(unique, repository.findByIdIn(unique), Individual::getId, missing);
+
+      Page<Individual> rows = new PageImpl<>(entities);
+
+      return conditional(weakETag(rows, Individual::getParty), lastModified(rows, Individual::getParty), () ->
+        toIdsModel(entities, missing, assembler));
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
+  // The compact representation (see: CompactModel), a page of keyset pagination (?after=) is always HAL
+
+  @GetMapping(value = "/individuals", params = { CompactModel.PARAMETER + "=" + CompactModel.COMPACT, "!after", "!ids" })
+  @Transactional(readOnly = true)
+  @PreAuthorize("hasAuthority('SCOPE_individual:read')")
+  public ResponseEntity<CompactModel<IndividualCompactModel>> findAllCompact(
+    Pageable pageable) throws ResponseStatusException {
+
+    log.info("IndividualController GET /individuals?representation=compact");
+
+    try {
+
+      Page<Individual> entities = repository.findAll(pageable);
+
+      String etag = variant(weakETag(entities, Individual::getParty), CompactModel.COMPACT);
+
+      return conditional(etag, lastModified(entities, Individual::getParty), () ->
+        toCompactModel(entities, assembler::toCompactModel));
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
+  @GetMapping(value = "/individuals", params = "after")
+  @Transactional(readOnly = true)
+  @PreAuthorize("hasAuthority('SCOPE_individual:read')")
+  public ResponseEntity<PagedModel<IndividualModel>> findAllAfter(
+    @RequestParam("after") final String after, Pageable pageable) throws ResponseStatusException {
+
+    log.info("IndividualController GET /individuals?after=");
+
+    try {
+
+      KeysetCursor cursor = KeysetCursor.decode(after);
+      Pageable limit = PageRequest.of(0, pageable.getPageSize());
+
+      Slice<Individual> entities = cursor == null ?
+        repository.findAllByOrderByNameFamilyNameAscIdAsc(limit) :
+        repository.findAllAfter(cursor.getKey(), cursor.getId(), limit);
+
+      return conditional(weakETag(entities, Individual::getParty), lastModified(entities, Individual::getParty), () ->
+        toKeysetModel(entities, assembler, IndividualController::toCursor));
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
+  @GetMapping("/individuals/summary")
+  @PreAuthorize("hasAuthority('SCOPE_individual:read')")
+  public ResponseEntity<PagedModel<IndividualSummaryModel>> findAllSummaries(
+    @RequestParam(value = "name", required = false) final String name, Pageable pageable)
+    throws ResponseStatusException {
+
+    log.info("IndividualController GET /individuals/summary");
+
+    try {
+
+      Page<IndividualSummary> summaries = name == null ?
+        repository.findAllSummaries(pageable) :
+        repository.findSummariesByFamilyNameStartsWith(name, pageable);
+
+      PagedModel<IndividualSummaryModel> models = pagedSummaryAssembler.toModel(summaries, summaryAssembler);
+
       return ResponseEntity.ok(models);
 
     } catch (Exception e) {
@@ -60,6 +238,39 @@ public class IndividualController extends Controller<Individual, IndividualRepos
 
   }
 
+  @GetMapping("/individuals/export")
+  @Transactional(readOnly = true)
+  @PreAuthorize("hasAuthority('SCOPE_individual:read')")
+  public void export(@RequestParam(value = "format", defaultValue = "ndjson") final String format,
+                     HttpServletResponse response) throws ResponseStatusException {
+
+    log.info("IndividualController GET /individuals/export");
+
+    ExportFormat exportFormat;
+
+    try {
+
+      exportFormat = ExportFormat.of(format);
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+    try (Stream<IndividualRecord> rows = repository.streamAllRecords()) {
+
+      export(rows, IndividualRecord.class, exportFormat, "individuals", response);
+
+    } catch (IOException e) {
+
+      // The client has gone away, the response is already committed
+      log.error("{}", e.getLocalizedMessage());
+    }
+
+  }
+
   @GetMapping("/individuals/{id}")
   @PreAuthorize("hasAuthority('SCOPE_individual:read')")
   public ResponseEntity<IndividualModel> findById(
@@ -69,14 +280,25 @@ public class IndividualController extends Controller<Individual, IndividualRepos
 
     try {
 
-      Individual entity = repository.findById(id).orElseThrow(() ->
-        new ResponseStatusException(HttpStatus.NOT_FOUND));
+      // A missing resource has no validators, so it can't be Not Modified
 
-      IndividualModel model = assembler.toModel(entity);
+      Date updatedAt = repository.findUpdatedAtById(id).orElse(null);
+
+      if (updatedAt == null) {
+        return ResponseEntity.notFound().build();
+      }
+
+      return conditional(strongETag(id, updatedAt), updatedAt, () -> {
+
+        Individual entity = (isDetail(FieldSet.current()) ? repository.findById(id) :
+          repository.findWithPartyById(id)).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+
+        IndividualModel model = assembler.toModel(entity);
 
-      logInfo(entity, model);
+        logInfo("individual-find-by-id", model);
 
-      return ResponseEntity.ok(model);
+        return model;
+      });
 
     } catch (Exception e) {
 
@@ -88,6 +310,7 @@ public class IndividualController extends Controller<Individual, IndividualRepos
   }
 
   @GetMapping("/individuals/search/findByFamilyNameStartsWith")
+  @Transactional(readOnly = true)
   @PreAuthorize("hasAuthority('SCOPE_individual:read')")
   public ResponseEntity<PagedModel<IndividualModel>> findByFamilyNameStartsWith(
     @RequestParam("name") final String name, Pageable pageable) throws ResponseStatusException {
@@ -97,11 +320,78 @@ public class IndividualController extends Controller<Individual, IndividualRepos
     try {
 
       Page<Individual> entities = repository.findByNameFamilyNameStartsWith(name, pageable);
-      PagedModel<IndividualModel> models = pagedResourcesAssembler.toModel(entities, assembler);
 
       // logInfo(entities, models);
 
-      return ResponseEntity.ok(models);
+      return conditional(weakETag(entities, Individual::getParty), lastModified(entities, Individual::getParty), () ->
+        pagedResourcesAssembler.toModel(entities, assembler));
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
+  @GetMapping(value = "/individuals/search/findByFamilyNameStartsWith", params = "after")
+  @Transactional(readOnly = true)
+  @PreAuthorize("hasAuthority('SCOPE_individual:read')")
+  public ResponseEntity<PagedModel<IndividualModel>> findByFamilyNameStartsWithAfter(
+    @RequestParam("name") final String name, @RequestParam("after") final String after, Pageable pageable)
+    throws ResponseStatusException {
+
+    log.info("IndividualController GET /individuals/search/findByFamilyNameStartsWith?after=");
+
+    try {
+
+      KeysetCursor cursor = KeysetCursor.decode(after);
+      Pageable limit = PageRequest.of(0, pageable.getPageSize());
+
+      Slice<Individual> entities = cursor == null ?
+        repository.findByNameFamilyNameStartsWithOrderByNameFamilyNameAscIdAsc(name, limit) :
+        repository.findByNameFamilyNameStartsWithAfter(name, cursor.getKey(), cursor.getId(), limit);
+
+      return conditional(weakETag(entities, Individual::getParty), lastModified(entities, Individual::getParty), () ->
+        toKeysetModel(entities, assembler, IndividualController::toCursor));
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
+  // Typo tolerant search across the Name and IndividualName history (see: NameIndex), ranked best match first
+
+  @GetMapping(value = "/individuals/search", params = "q")
+  @Transactional(readOnly = true)
+  @PreAuthorize("hasAuthority('SCOPE_individual:read')")
+  public ResponseEntity<PagedModel<IndividualModel>> search(
+    @RequestParam("q") final String q, Pageable pageable) throws ResponseStatusException {
+
+    log.info("IndividualController GET /individuals/search?q=");
+
+    try {
+
+      Page<Long> ids = nameIndex.search(q, pageable);
+
+      Map<Long, Individual> found = repository.findByIdIn(ids.getContent()).stream()
+        .collect(Collectors.toMap(Individual::getId, Function.identity()));
+
+      // In rank order, an Individual deleted since the search is dropped
+      List<Individual> content = ids.getContent().stream()
+        .map(found::get)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+
+      Page<Individual> entities = new PageImpl<>(content, pageable, ids.getTotalElements());
+
+      return conditional(weakETag(entities, Individual::getParty), lastModified(entities, Individual::getParty), () ->
+        pagedResourcesAssembler.toModel(entities, assembler));
 
     } catch (Exception e) {
 
@@ -124,7 +414,7 @@ public class IndividualController extends Controller<Individual, IndividualRepos
       Individual entity = repository.save(individual);
       IndividualModel model = assembler.toModel(entity);
 
-      logInfo(entity, model);
+      logInfo("individual-create", model);
 
       return ResponseEntity.created(linkTo(methodOn(IndividualController.class).findById(entity.getId())).toUri()).body(model);
 
@@ -137,6 +427,80 @@ public class IndividualController extends Controller<Individual, IndividualRepos
 
   }
 
+  @PostMapping(value = "/individuals/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson" })
+  @PreAuthorize("hasAuthority('SCOPE_individual:post')")
+  public ResponseEntity<BatchResult> createBatch(
+    @RequestParam(value = "upsert", defaultValue = "false") final boolean upsert, HttpServletRequest request)
+    throws ResponseStatusException {
+
+    log.info("IndividualController POST /individuals/batch");
+
+    try {
+
+      BatchResult result = ingest(request.getInputStream(), Individual.class, batchWriter, upsert);
+
+      return ResponseEntity.ok(result);
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
+  @PostMapping("/individuals/photos/refresh")
+  @PreAuthorize("hasAuthority('SCOPE_individual:patch')")
+  public ResponseEntity<Void> refreshPhotos() throws ResponseStatusException {
+
+    log.info("IndividualController POST /individuals/photos/refresh");
+
+    try {
+
+      // Rebuild the image index, then rewrite the photo urls that have changed
+
+      imageIndex.refresh();
+
+      int count = 0;
+
+      Pageable limit = PageRequest.of(0, 500);
+      Slice<Individual> entities = repository.findAllByOrderByNameFamilyNameAscIdAsc(limit);
+
+      while (true) {
+
+        for (Individual entity : entities) {
+
+          String photoUrl = imageIndex.getPhotoUrl(entity);
+
+          if (!photoUrl.equals(entity.getPhotoUrl())) {
+            count += repository.updatePhotoUrl(entity.getId(), photoUrl);
+            repository.touch(entity.getId(), new Date());
+          }
+
+        }
+
+        if (!entities.hasNext()) {
+          break;
+        }
+
+        KeysetCursor cursor = toCursor(entities.getContent().get(entities.getNumberOfElements() - 1));
+        entities = repository.findAllAfter(cursor.getKey(), cursor.getId(), limit);
+      }
+
+      log.info("Photo urls updated: {}", count);
+
+      return ResponseEntity.noContent().build();
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
   @PatchMapping("/individuals/{id}")
   @PreAuthorize("hasAuthority('SCOPE_individual:patch')")
   public ResponseEntity<IndividualModel> update(
@@ -144,13 +508,15 @@ public class IndividualController extends Controller<Individual, IndividualRepos
 
     log.info("IndividualController PATCH /individuals/{id}");
 
-    logInfo(individual, null);
-
     try {
 
       individual.setId(id);
 
+      // The request body is still detached, the entity save() returns is managed (its associations are proxies)
+      logInfo("individual-update", () -> assembler.toModel(individual));
+
       repository.save(individual);
+      repository.touch(id, new Date());
 
       Link link = linkTo(methodOn(IndividualController.class).findById(id)).withSelfRel();
 
@@ -187,6 +553,19 @@ public class IndividualController extends Controller<Individual, IndividualRepos
 
   }
 
+  private static KeysetCursor toCursor(Individual entity) {
+    return new KeysetCursor(entity.getName().getFamilyName(), entity.getId());
+  }
+
+  // The whole graph is fetched if the representation includes the names, the Party's addresses or roles
+
+  private static boolean isDetail(FieldSet fields) {
+
+    FieldSet party = fields.nested("party");
+
+    return party.includes("addresses") || party.includes("roles") || fields.includes("names");
+  }
+
 }
 
 // https://github.com/spring-projects/spring-hateoas-examples/blob/master/simplified/src/main/java/org/springframework/hateoas/examples/EmployeeController.java
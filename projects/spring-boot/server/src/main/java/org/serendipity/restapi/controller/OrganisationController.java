@@ -3,20 +3,47 @@ package org.serendipity.restapi.controller;
 import lombok.extern.slf4j.Slf4j;
 import org.serendipity.restapi.assembler.OrganisationModelAssembler;
 import org.serendipity.restapi.entity.Organisation;
+import org.serendipity.restapi.export.ExportFormat;
+import org.serendipity.restapi.export.ExportWriter;
+import org.serendipity.restapi.fields.FieldSet;
+import org.serendipity.restapi.ingest.BatchIngester;
+import org.serendipity.restapi.ingest.BatchResult;
+import org.serendipity.restapi.ingest.OrganisationBatchWriter;
+import org.serendipity.restapi.logging.PayloadLogger;
+import org.serendipity.restapi.model.CompactModel;
+import org.serendipity.restapi.model.IdsModel;
+import org.serendipity.restapi.model.OrganisationCompactModel;
 import org.serendipity.restapi.model.OrganisationModel;
+import org.serendipity.restapi.paging.KeysetCursor;
+import org.serendipity.restapi.projection.OrganisationRecord;
 import org.serendipity.restapi.repository.OrganisationRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.rest.webmvc.BasePathAwareController;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -25,16 +52,25 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @Slf4j
 public class OrganisationController extends Controller<Organisation, OrganisationRepository, OrganisationModelAssembler>{
 
+  private final OrganisationBatchWriter batchWriter;
+
   // Suppress IntelliJ IDEA Error: Could not autowire. No beans of 'PagedResourcesAssembler<Organisation>' type found.
   @SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection")
   public OrganisationController(OrganisationRepository repository,
                                 OrganisationModelAssembler assembler,
-                                PagedResourcesAssembler<Organisation> pagedResourcesAssembler) {
+                                PagedResourcesAssembler<Organisation> pagedResourcesAssembler,
+                                PayloadLogger payloadLogger,
+                                ExportWriter exportWriter,
+                                BatchIngester batchIngester,
+                                OrganisationBatchWriter batchWriter) {
+
+    super(repository, assembler, pagedResourcesAssembler, payloadLogger, exportWriter, batchIngester);
 
-    super(repository, assembler, pagedResourcesAssembler);
+    this.batchWriter = batchWriter;
   }
 
   @GetMapping("/organisations")
+  @Transactional(readOnly = true)
   public ResponseEntity<PagedModel<OrganisationModel>> findAll(
     Pageable pageable) throws ResponseStatusException {
 
@@ -43,11 +79,11 @@ public class OrganisationController extends Controller<Organisation, Organisatio
     try {
 
       Page<Organisation> entities = repository.findAll(pageable);
-      PagedModel<OrganisationModel> models = pagedResourcesAssembler.toModel(entities, assembler);
 
       // logInfo(entities, models);
 
-      return ResponseEntity.ok(models);
+      return conditional(weakETag(entities, Organisation::getParty), lastModified(entities, Organisation::getParty), () ->
+        pagedResourcesAssembler.toModel(entities, assembler));
 
     } catch (Exception e) {
 
@@ -58,6 +94,126 @@ public class OrganisationController extends Controller<Organisation, Organisatio
 
   }
 
+  @GetMapping(value = "/organisations", params = { "ids", "!after" })
+  @Transactional(readOnly = true)
+  public ResponseEntity<IdsModel<OrganisationModel>> findAllById(
+    @RequestParam("ids") final List<Long> ids) throws ResponseStatusException {
+
+    log.info("OrganisationController GET /organisations?ids=");
+
+    try {
+
+      if (ids.size() > MAX_IDS) {
+        throw new IllegalArgumentException("More than " + MAX_IDS + " ids");
+      }
+
+      Set<Long> unique = new LinkedHashSet<>(ids);
+      List<Long> missing = new ArrayList<>();
+
+      List<Organisation> entities = unique.isEmpty() ? Collections.emptyList() :
+        inOrder(unique, repository.findByIdIn(unique), Organisation::getId, missing);
+
+      Page<Organisation> rows = new PageImpl<>(entities);
+
+      return conditional(weakETag(rows, Organisation::getParty), lastModified(rows, Organisation::getParty), () ->
+        toIdsModel(entities, missing, assembler));
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
+  // The compact representation (see: CompactModel), a page of keyset pagination (?after=) is always HAL
+
+  @GetMapping(value = "/organisations", params = { CompactModel.PARAMETER + "=" + CompactModel.COMPACT, "!after", "!ids" })
+  @Transactional(readOnly = true)
+  public ResponseEntity<CompactModel<OrganisationCompactModel>> findAllCompact(
+    Pageable pageable) throws ResponseStatusException {
+
+    log.info("OrganisationController GET /organisations?representation=compact");
+
+    try {
+
+      Page<Organisation> entities = repository.findAll(pageable);
+
+      String etag = variant(weakETag(entities, Organisation::getParty), CompactModel.COMPACT);
+
+      return conditional(etag, lastModified(entities, Organisation::getParty), () ->
+        toCompactModel(entities, assembler::toCompactModel));
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
+  @GetMapping(value = "/organisations", params = "after")
+  @Transactional(readOnly = true)
+  public ResponseEntity<PagedModel<OrganisationModel>> findAllAfter(
+    @RequestParam("after") final String after, Pageable pageable) throws ResponseStatusException {
+
+    log.info("OrganisationController GET /organisations?after=");
+
+    try {
+
+      KeysetCursor cursor = KeysetCursor.decode(after);
+      Pageable limit = PageRequest.of(0, pageable.getPageSize());
+
+      Slice<Organisation> entities = cursor == null ?
+        repository.findAllByOrderByNameAscIdAsc(limit) :
+        repository.findAllAfter(cursor.getKey(), cursor.getId(), limit);
+
+      return conditional(weakETag(entities, Organisation::getParty), lastModified(entities, Organisation::getParty), () ->
+        toKeysetModel(entities, assembler, OrganisationController::toCursor));
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
+  @GetMapping("/organisations/export")
+  @Transactional(readOnly = true)
+  public void export(@RequestParam(value = "format", defaultValue = "ndjson") final String format,
+                     HttpServletResponse response) throws ResponseStatusException {
+
+    log.info("OrganisationController GET /organisations/export");
+
+    ExportFormat exportFormat;
+
+    try {
+
+      exportFormat = ExportFormat.of(format);
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+    try (Stream<OrganisationRecord> rows = repository.streamAllRecords()) {
+
+      export(rows, OrganisationRecord.class, exportFormat, "organisations", response);
+
+    } catch (IOException e) {
+
+      // The client has gone away, the response is already committed
+      log.error("{}", e.getLocalizedMessage());
+    }
+
+  }
+
   @GetMapping("/organisations/{id}")
   public ResponseEntity<OrganisationModel> findById(
     @PathVariable("id") final Long id) throws ResponseStatusException {
@@ -66,14 +222,25 @@ public class OrganisationController extends Controller<Organisation, Organisatio
 
     try {
 
-      Organisation entity = repository.findById(id).orElseThrow(() ->
-        new ResponseStatusException(HttpStatus.NOT_FOUND));
+      // A missing resource has no validators, so it can't be Not Modified
 
-      OrganisationModel model = assembler.toModel(entity);
+      Date updatedAt = repository.findUpdatedAtById(id).orElse(null);
+
+      if (updatedAt == null) {
+        return ResponseEntity.notFound().build();
+      }
+
+      return conditional(strongETag(id, updatedAt), updatedAt, () -> {
+
+        Organisation entity = (isDetail(FieldSet.current()) ? repository.findById(id) :
+          repository.findWithPartyById(id)).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
 
-      logInfo(entity, model);
+        OrganisationModel model = assembler.toModel(entity);
 
-      return ResponseEntity.ok(model);
+        logInfo("organisation-find-by-id", model);
+
+        return model;
+      });
 
     } catch (Exception e) {
 
@@ -85,6 +252,7 @@ public class OrganisationController extends Controller<Organisation, Organisatio
   }
 
   @GetMapping("/organisations/search/findByNameStartsWith")
+  @Transactional(readOnly = true)
   public ResponseEntity<PagedModel<OrganisationModel>> findByNameStartsWith(
     @RequestParam("name") final String name, Pageable pageable) throws ResponseStatusException {
 
@@ -93,11 +261,40 @@ public class OrganisationController extends Controller<Organisation, Organisatio
     try {
 
       Page<Organisation> entities = repository.findByNameStartsWith(name, pageable);
-      PagedModel<OrganisationModel> models = pagedResourcesAssembler.toModel(entities, assembler);
 
       // logInfo(entities, models);
 
-      return ResponseEntity.ok(models);
+      return conditional(weakETag(entities, Organisation::getParty), lastModified(entities, Organisation::getParty), () ->
+        pagedResourcesAssembler.toModel(entities, assembler));
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
+  @GetMapping(value = "/organisations/search/findByNameStartsWith", params = "after")
+  @Transactional(readOnly = true)
+  public ResponseEntity<PagedModel<OrganisationModel>> findByNameStartsWithAfter(
+    @RequestParam("name") final String name, @RequestParam("after") final String after, Pageable pageable)
+    throws ResponseStatusException {
+
+    log.info("OrganisationController GET /organisations/search/findByNameStartsWith?after=");
+
+    try {
+
+      KeysetCursor cursor = KeysetCursor.decode(after);
+      Pageable limit = PageRequest.of(0, pageable.getPageSize());
+
+      Slice<Organisation> entities = cursor == null ?
+        repository.findByNameStartsWithOrderByNameAscIdAsc(name, limit) :
+        repository.findByNameStartsWithAfter(name, cursor.getKey(), cursor.getId(), limit);
+
+      return conditional(weakETag(entities, Organisation::getParty), lastModified(entities, Organisation::getParty), () ->
+        toKeysetModel(entities, assembler, OrganisationController::toCursor));
 
     } catch (Exception e) {
 
@@ -119,7 +316,7 @@ public class OrganisationController extends Controller<Organisation, Organisatio
       Organisation entity = repository.save(organisation);
       OrganisationModel model = assembler.toModel(entity);
 
-      logInfo(entity, model);
+      logInfo("organisation-create", model);
 
       return ResponseEntity.created(linkTo(methodOn(OrganisationController.class).findById(entity.getId())).toUri()).body(model);
 
@@ -132,19 +329,43 @@ public class OrganisationController extends Controller<Organisation, Organisatio
 
   }
 
+  @PostMapping(value = "/organisations/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson" })
+  public ResponseEntity<BatchResult> createBatch(
+    @RequestParam(value = "upsert", defaultValue = "false") final boolean upsert, HttpServletRequest request)
+    throws ResponseStatusException {
+
+    log.info("OrganisationController POST /organisations/batch");
+
+    try {
+
+      BatchResult result = ingest(request.getInputStream(), Organisation.class, batchWriter, upsert);
+
+      return ResponseEntity.ok(result);
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    }
+
+  }
+
   @PatchMapping("/organisations/{id}")
   public ResponseEntity<OrganisationModel> update(
     @PathVariable("id") final Long id, @RequestBody Organisation organisation) throws ResponseStatusException {
 
     log.info("OrganisationController PATCH /organisations/{id}");
 
-    logInfo(organisation, null);
-
     try {
 
       organisation.setId(id);
 
+      // The request body is still detached, the entity save() returns is managed (its associations are proxies)
+      logInfo("organisation-update", () -> assembler.toModel(organisation));
+
       repository.save(organisation);
+      repository.touch(id, new Date());
 
       Link link = linkTo(methodOn(OrganisationController.class).findById(id)).withSelfRel();
 
@@ -180,4 +401,17 @@ public class OrganisationController extends Controller<Organisation, Organisatio
 
   }
 
+  private static KeysetCursor toCursor(Organisation entity) {
+    return new KeysetCursor(entity.getName(), entity.getId());
+  }
+
+  // The whole graph is fetched if the representation includes the Party's addresses or roles
+
+  private static boolean isDetail(FieldSet fields) {
+
+    FieldSet party = fields.nested("party");
+
+    return party.includes("addresses") || party.includes("roles");
+  }
+
 }
@@ -0,0 +1,120 @@
+package org.serendipity.restapi.database;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.data.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@DependsOn("snapshotRestore")
+@Slf4j
+public class CoordinateMigration implements InitializingBean {
+
+  // Electoral Division latitude and longitude were strings, they're altered to double precision columns before
+  // Hibernate starts (schema update (ddl-auto) adds columns but never changes a column's type). Values that aren't
+  // numbers become NULL. A new database is created with the right type.
+
+  static final String TABLE = "electoral_division";
+
+  static final List<String> COLUMNS = Arrays.asList("latitude", "longitude");
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public CoordinateMigration(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+
+    boolean h2 = SnapshotExport.isH2(jdbcTemplate);
+
+    for (String column : COLUMNS) {
+
+      if (!isCharacter(column)) {
+        continue;
+      }
+
+      log.info("Migrate column {}.{}: varchar -> double precision", TABLE, column);
+
+      // A value that isn't a number (blank, or a misplaced field) becomes NULL, the Electorate seed restores it
+      List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+        "SELECT id, " + column + " AS value FROM " + TABLE + " WHERE " + column + " IS NOT NULL");
+
+      for (Map<String, Object> row : rows) {
+
+        if (!isNumber((String) row.get("value"))) {
+          jdbcTemplate.update("UPDATE " + TABLE + " SET " + column + " = NULL WHERE id = ?", row.get("id"));
+        }
+
+      }
+
+      if (h2) {
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ALTER COLUMN " + column + " SET DATA TYPE DOUBLE PRECISION");
+      } else {
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ALTER COLUMN " + column + " TYPE DOUBLE PRECISION" +
+          " USING CAST(TRIM(" + column + ") AS DOUBLE PRECISION)");
+      }
+
+    }
+
+  }
+
+  private static boolean isNumber(String value) {
+
+    try {
+
+      Double.parseDouble(value.trim());
+
+      return true;
+
+    } catch (NumberFormatException e) {
+
+      return false;
+    }
+
+  }
+
+  // The column's JDBC type, from the database metadata (H2 stores identifiers in upper case, Postgres in lower case)
+
+  private boolean isCharacter(String column) {
+
+    Boolean character = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+
+      DatabaseMetaData metaData = connection.getMetaData();
+
+      String table = metaData.storesUpperCaseIdentifiers() ? TABLE.toUpperCase() : TABLE;
+      String name = metaData.storesUpperCaseIdentifiers() ? column.toUpperCase() : column;
+
+      try (ResultSet columns = metaData.getColumns(null, null, table, name)) {
+        return columns.next() && columns.getInt("DATA_TYPE") == Types.VARCHAR;
+      }
+
+    });
+
+    return Boolean.TRUE.equals(character);
+  }
+
+  // Hibernate (the EntityManagerFactory) must not start until the columns have been migrated
+
+  @Configuration
+  static class EntityManagerFactoryDependsOn extends EntityManagerFactoryDependsOnPostProcessor {
+
+    EntityManagerFactoryDependsOn() {
+      super(CoordinateMigration.class);
+    }
+
+  }
+
+}
@@ -0,0 +1,75 @@
+package org.serendipity.restapi.database;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.data.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Component
+@Slf4j
+public class SequenceMigration implements InitializingBean {
+
+  // Sequences created when the entities used allocationSize = 1 are altered to increment by the pooled-lo
+  // allocation size before Hibernate starts (it validates a sequence's increment against its mapping).
+  //
+  // It is safe to alter a sequence in place: with pooled-lo each nextval reserves the block [value, value + 49] and
+  // the next value is always greater than any id already issued. A new database is created with the right increment.
+
+  static final int ALLOCATION_SIZE = 50;
+
+  // The physical names (SpringPhysicalNamingStrategy) of the @SequenceGenerator sequences, e.g. "SequenceParty"
+
+  static final List<String> SEQUENCES = Arrays.asList(
+    "sequence_electoral_division",
+    "sequence_identifier",
+    "sequence_individual_name",
+    "sequence_location",
+    "sequence_party",
+    "sequence_role");
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public SequenceMigration(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+
+    for (String sequence : SEQUENCES) {
+
+      List<String> increments = jdbcTemplate.queryForList(
+        "SELECT CAST(increment AS VARCHAR(20)) FROM information_schema.sequences WHERE UPPER(sequence_name) = ?",
+        String.class, sequence.toUpperCase());
+
+      if (increments.isEmpty() || Long.parseLong(increments.get(0)) == ALLOCATION_SIZE) {
+        continue;
+      }
+
+      log.info("Migrate sequence {}: increment by {} -> {}", sequence, increments.get(0), ALLOCATION_SIZE);
+
+      jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + ALLOCATION_SIZE);
+    }
+
+  }
+
+  // Hibernate (the EntityManagerFactory) must not start until the sequences have been migrated
+
+  @Configuration
+  static class EntityManagerFactoryDependsOn extends EntityManagerFactoryDependsOnPostProcessor {
+
+    EntityManagerFactoryDependsOn() {
+      super(SequenceMigration.class);
+    }
+
+  }
+
+}
+
+// https://vladmihalcea.com/hibernate-hidden-gem-the-pooled-lo-optimizer/
+// https://docs.jboss.org/hibernate/orm/5.4/userguide/html_single/Hibernate_User_Guide.html#identifiers-generators-optimizer
@@ -0,0 +1,97 @@
+package org.serendipity.restapi.database;
+
+import lombok.extern.slf4j.Slf4j;
+import org.serendipity.restapi.database.seed.SeedRunner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+
+@Component
+@Order(SeedRunner.ORDER + 1)
+@Slf4j
+public class SnapshotExport implements CommandLineRunner {
+
+  // Exports the seeded H2 database (schema and data) to a gzipped SQL script, then exits (unless
+  // serendipity.snapshot.exit=false). For example:
+  //
+  // java -jar server.jar --spring.profiles.active=test --serendipity.snapshot.export=target/serendipity-snapshot.sql.gz
+  //
+  // The snapshot can be restored into an empty database before Hibernate starts (see: SnapshotRestore).
+
+  private final JdbcTemplate jdbcTemplate;
+  private final SeedRunner seedRunner;
+  private final ConfigurableApplicationContext context;
+  private final String path;
+  private final boolean exit;
+
+  public SnapshotExport(JdbcTemplate jdbcTemplate, SeedRunner seedRunner, ConfigurableApplicationContext context,
+                        @Value("${serendipity.snapshot.export:}") String path,
+                        @Value("${serendipity.snapshot.exit:true}") boolean exit) {
+
+    this.jdbcTemplate = jdbcTemplate;
+    this.seedRunner = seedRunner;
+    this.context = context;
+    this.path = path;
+    this.exit = exit;
+  }
+
+  @Override
+  public void run(String... args) {
+
+    if (path.isEmpty()) {
+      return;
+    }
+
+    if (!isH2(jdbcTemplate)) {
+      throw new IllegalStateException("Snapshots can only be exported from an H2 database");
+    }
+
+    // Seeding may be running in the background (serendipity.seed.async=true)
+    seedRunner.awaitCompletion();
+
+    File snapshot = resolve(path);
+
+    log.info("Export snapshot {} ...", snapshot);
+
+    // DROP: the script drops each table before creating it
+    jdbcTemplate.execute("SCRIPT DROP TO '" + quote(snapshot) + "' COMPRESSION GZIP");
+
+    log.info("Export snapshot complete: {} bytes", snapshot.length());
+
+    if (exit) {
+      System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+  }
+
+  static boolean isH2(JdbcTemplate jdbcTemplate) {
+
+    return "H2".equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+      connection.getMetaData().getDatabaseProductName()));
+  }
+
+  // "~/h2/serendipity-snapshot.sql.gz" -> "/home/<user>/h2/serendipity-snapshot.sql.gz"
+
+  static File resolve(String path) {
+
+    if (path.startsWith("~")) {
+      return new File(System.getProperty("user.home") + path.substring(1)).getAbsoluteFile();
+    }
+
+    return new File(path).getAbsoluteFile();
+  }
+
+  static String quote(File file) {
+    return file.getPath().replace("'", "''");
+  }
+
+}
+
+// http://www.h2database.com/html/commands.html#script
@@ -0,0 +1,85 @@
+package org.serendipity.restapi.database;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+
+@Component
+@Slf4j
+public class SnapshotRestore implements InitializingBean {
+
+  // Restores an empty H2 database from a snapshot (see: SnapshotExport) before Hibernate starts, so a fresh test or
+  // CI environment doesn't have to be seeded. The snapshot includes the seed ledger, so seeds that haven't changed
+  // since the snapshot was exported are skipped and changed seeds are applied as a diff (see: Seeder).
+  //
+  // For example: serendipity.snapshot.restore=~/h2/serendipity-snapshot.sql.gz
+  //
+  // A database that already has tables, or isn't H2, is left alone.
+
+  private final JdbcTemplate jdbcTemplate;
+  private final String path;
+
+  public SnapshotRestore(JdbcTemplate jdbcTemplate, @Value("${serendipity.snapshot.restore:}") String path) {
+
+    this.jdbcTemplate = jdbcTemplate;
+    this.path = path;
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+
+    if (path.isEmpty()) {
+      return;
+    }
+
+    File snapshot = SnapshotExport.resolve(path);
+
+    if (!snapshot.isFile()) {
+      log.warn("Snapshot {} not found, skipped", snapshot);
+      return;
+    }
+
+    if (!SnapshotExport.isH2(jdbcTemplate)) {
+      log.warn("Snapshot {} not restored, the database isn't H2", snapshot);
+      return;
+    }
+
+    Integer tables = jdbcTemplate.queryForObject(
+      "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = 'PUBLIC'", Integer.class);
+
+    if (tables != null && tables > 0) {
+      log.info("Snapshot {} not restored, the database isn't empty", snapshot);
+      return;
+    }
+
+    log.info("Restore snapshot {} ...", snapshot);
+
+    long start = System.currentTimeMillis();
+
+    // The snapshot is a gzipped SQL script (see: SnapshotExport), H2 runs it in a single statement
+    jdbcTemplate.execute("RUNSCRIPT FROM '" + SnapshotExport.quote(snapshot) + "' COMPRESSION GZIP");
+
+    log.info("Restore snapshot complete: {} ms", System.currentTimeMillis() - start);
+  }
+
+  // Hibernate (the EntityManagerFactory) must not start until the snapshot has been restored, so schema update
+  // (ddl-auto) sees the restored tables
+
+  @Configuration
+  static class EntityManagerFactoryDependsOn extends EntityManagerFactoryDependsOnPostProcessor {
+
+    EntityManagerFactoryDependsOn() {
+      super(SnapshotRestore.class);
+    }
+
+  }
+
+}
+
+// http://www.h2database.com/html/commands.html#runscript
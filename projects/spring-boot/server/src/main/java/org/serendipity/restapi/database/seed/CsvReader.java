@@ -0,0 +1,174 @@
+package org.serendipity.restapi.database.seed;
+
+import org.springframework.core.io.Resource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CsvReader implements Closeable {
+
+  // A streaming RFC 4180 reader, one record in memory at a time. Fields may be quoted, a quoted field may contain
+  // commas, line breaks and escaped quotes (""), for example: "Commonwealth Parliament Offices, Suite 8".
+  // Records end with LF or CRLF, blank lines are skipped.
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final Reader reader;
+
+  private final char[] buffer = new char[BUFFER_SIZE];
+
+  private int position;
+
+  private int limit;
+
+  private int lineNumber = 1;
+
+  private int columns = 16;
+
+  public CsvReader(Reader reader) {
+    this.reader = reader;
+  }
+
+  public static CsvReader of(Resource resource) throws IOException {
+    return new CsvReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8));
+  }
+
+  // Returns the next record, or null at the end of the input
+
+  public String[] readRecord() throws IOException {
+
+    List<String> fields = new ArrayList<>(columns);
+    StringBuilder field = new StringBuilder();
+
+    boolean quoted = false;
+    boolean empty = true;
+
+    int c;
+
+    while ((c = read()) != -1) {
+
+      if (quoted) {
+
+        if (c == '"') {
+
+          if (peek() == '"') {
+            read();
+            field.append('"');
+          } else {
+            quoted = false;
+          }
+
+        } else {
+
+          if (c == '\n') {
+            lineNumber++;
+          }
+
+          field.append((char) c);
+        }
+
+        continue;
+      }
+
+      switch (c) {
+
+        case '"':
+          quoted = true;
+          empty = false;
+          break;
+
+        case ',':
+          fields.add(field.toString());
+          field.setLength(0);
+          empty = false;
+          break;
+
+        case '\r':
+
+          if (peek() == '\n') {
+            read();
+          }
+
+          // fall through
+
+        case '\n':
+
+          lineNumber++;
+
+          if (empty && field.length() == 0) {
+            continue;
+          }
+
+          fields.add(field.toString());
+          columns = fields.size();
+
+          return fields.toArray(new String[0]);
+
+        default:
+          field.append((char) c);
+          empty = false;
+      }
+
+    }
+
+    if (quoted) {
+      throw new IOException("Unterminated quoted field at line " + lineNumber);
+    }
+
+    if (empty && field.length() == 0) {
+      return null;
+    }
+
+    fields.add(field.toString());
+
+    return fields.toArray(new String[0]);
+  }
+
+  public int getLineNumber() {
+    return lineNumber;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private int read() throws IOException {
+
+    if (position == limit && !fill()) {
+      return -1;
+    }
+
+    return buffer[position++];
+  }
+
+  private int peek() throws IOException {
+
+    if (position == limit && !fill()) {
+      return -1;
+    }
+
+    return buffer[position];
+  }
+
+  private boolean fill() throws IOException {
+
+    limit = reader.read(buffer, 0, BUFFER_SIZE);
+    position = 0;
+
+    if (limit < 0) {
+      limit = 0;
+      return false;
+    }
+
+    return true;
+  }
+
+}
+
+// https://tools.ietf.org/html/rfc4180
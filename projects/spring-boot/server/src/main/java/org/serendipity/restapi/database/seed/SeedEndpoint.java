@@ -0,0 +1,26 @@
+package org.serendipity.restapi.database.seed;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "seeding")
+public class SeedEndpoint {
+
+  // GET /actuator/seeding, for example: { "status": "RUNNING", "completed": 4, "total": 12, "running": [ "Senate" ] }
+
+  private final SeedRunner seedRunner;
+
+  public SeedEndpoint(SeedRunner seedRunner) {
+    this.seedRunner = seedRunner;
+  }
+
+  @ReadOperation
+  public Map<String, Object> progress() {
+    return seedRunner.getProgress();
+  }
+
+}
@@ -0,0 +1,33 @@
+package org.serendipity.restapi.database.seed;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SeedHealthIndicator extends AbstractHealthIndicator {
+
+  // Included in the readiness group (management.endpoint.health.group.readiness.include), so an instance doesn't
+  // receive traffic until seeding is complete.
+
+  private final SeedRunner seedRunner;
+
+  public SeedHealthIndicator(SeedRunner seedRunner) {
+    this.seedRunner = seedRunner;
+  }
+
+  @Override
+  protected void doHealthCheck(Health.Builder builder) {
+
+    if (seedRunner.isComplete()) {
+      builder.up();
+    } else {
+      builder.outOfService();
+    }
+
+    builder.withDetails(seedRunner.getProgress());
+  }
+
+}
+
+// https://docs.spring.io/spring-boot/docs/2.3.0.RELEASE/reference/html/production-ready-features.html#production-ready-kubernetes-probes
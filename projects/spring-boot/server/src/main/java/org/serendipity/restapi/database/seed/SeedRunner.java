@@ -0,0 +1,240 @@
+package org.serendipity.restapi.database.seed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+@Component
+@Order(SeedRunner.ORDER)
+@Slf4j
+public class SeedRunner implements CommandLineRunner {
+
+  // Runs before the runners that wait for seeding to complete (see: SnapshotExport), a runner that waits on the main
+  // thread before this one runs would wait forever
+
+  public static final int ORDER = 0;
+
+  // Seeders form a graph (see: Seeder.getDependencies), each seeder is applied in its own transaction on a pool of
+  // serendipity.seed.threads threads as soon as the seeders it depends on are applied, so independent seeders are
+  // applied in parallel. If a seeder fails the seeders that depend on it aren't applied.
+
+  // The main thread waits for seeding to complete, or (serendipity.seed.async=true) the application starts serving
+  // requests straight away. The readiness probe reports OUT_OF_SERVICE until seeding is complete (see:
+  // SeedHealthIndicator), the liveness probe and static content aren't affected. Progress is reported by the
+  // "seeding" actuator endpoint.
+
+  public enum Status { PENDING, RUNNING, COMPLETE }
+
+  private final List<Seeder> seeders;
+  private final boolean async;
+  private final int threads;
+
+  private volatile Status status = Status.PENDING;
+  private volatile Date startedAt;
+  private volatile Date completedAt;
+
+  private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+  private final Set<String> running = Collections.synchronizedSet(new LinkedHashSet<>());
+  private final Map<String, Seeder.Result> results = Collections.synchronizedMap(new LinkedHashMap<>());
+
+  public SeedRunner(List<Seeder> seeders,
+                    @Value("${serendipity.seed.async:false}") boolean async,
+                    @Value("${serendipity.seed.threads:4}") int threads) {
+
+    this.seeders = seeders;
+    this.async = async;
+    this.threads = threads;
+  }
+
+  @Override
+  public void run(String... args) {
+
+    Map<Seeder, List<Seeder>> dependencies = new LinkedHashMap<>();
+
+    for (Seeder seeder : seeders) {
+      dependencies.put(seeder, getDependencies(seeder));
+    }
+
+    // A cycle is a programming error, nothing is applied
+    List<Seeder> order = sort(dependencies);
+
+    status = Status.RUNNING;
+    startedAt = new Date();
+
+    log.info("Seeding {} seeders on {} threads ...", seeders.size(), threads);
+
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("seed-");
+    threadFactory.setDaemon(true);
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads, threadFactory);
+
+    // Seeders are scheduled in dependency order, so the futures of a seeder's dependencies already exist
+    Map<Seeder, CompletableFuture<Seeder.Result>> futures = new HashMap<>();
+
+    for (Seeder seeder : order) {
+
+      List<CompletableFuture<Seeder.Result>> prerequisites = dependencies.get(seeder).stream()
+        .map(futures::get)
+        .collect(Collectors.toList());
+
+      futures.put(seeder, CompletableFuture.allOf(prerequisites.toArray(new CompletableFuture[0]))
+        .thenApplyAsync(ignored -> apply(seeder, prerequisites), executor));
+    }
+
+    CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+      .whenComplete((ignored, e) -> {
+
+        executor.shutdown();
+
+        completedAt = new Date();
+        status = Status.COMPLETE;
+
+        log.info("Seeding complete: {} seeders in {} ms", seeders.size(),
+          completedAt.getTime() - startedAt.getTime());
+
+        completion.complete(null);
+      });
+
+    if (!async) {
+      awaitCompletion();
+    }
+
+  }
+
+  private Seeder.Result apply(Seeder seeder, List<CompletableFuture<Seeder.Result>> prerequisites) {
+
+    String name = seeder.getName();
+
+    Seeder.Result result;
+
+    if (prerequisites.stream().anyMatch(prerequisite -> prerequisite.join() == Seeder.Result.FAILED)) {
+
+      log.error("Seed {} not applied, a seed it depends on failed", name);
+
+      result = Seeder.Result.FAILED;
+
+    } else {
+
+      running.add(name);
+
+      try {
+
+        result = seeder.apply();
+
+      } catch (Exception e) {
+
+        log.error("Seed {} failed: {}", name, e.getLocalizedMessage());
+
+        result = Seeder.Result.FAILED;
+
+      } finally {
+
+        running.remove(name);
+      }
+
+    }
+
+    results.put(name, result);
+
+    return result;
+  }
+
+  private List<Seeder> getDependencies(Seeder seeder) {
+
+    return seeders.stream()
+      .filter(other -> other != seeder)
+      .filter(other -> Arrays.stream(seeder.getDependencies()).anyMatch(type -> type.isInstance(other)))
+      .collect(Collectors.toList());
+  }
+
+  // Depth first topological sort
+
+  private static List<Seeder> sort(Map<Seeder, List<Seeder>> dependencies) {
+
+    List<Seeder> order = new ArrayList<>();
+
+    Set<Seeder> visited = new HashSet<>();
+    Set<Seeder> visiting = new HashSet<>();
+
+    for (Seeder seeder : dependencies.keySet()) {
+      visit(seeder, dependencies, visited, visiting, order);
+    }
+
+    return order;
+  }
+
+  private static void visit(Seeder seeder, Map<Seeder, List<Seeder>> dependencies, Set<Seeder> visited,
+                            Set<Seeder> visiting, List<Seeder> order) {
+
+    if (visited.contains(seeder)) {
+      return;
+    }
+
+    if (!visiting.add(seeder)) {
+      throw new IllegalStateException("Seed dependency cycle at " + seeder.getName());
+    }
+
+    for (Seeder dependency : dependencies.get(seeder)) {
+      visit(dependency, dependencies, visited, visiting, order);
+    }
+
+    visiting.remove(seeder);
+    visited.add(seeder);
+
+    order.add(seeder);
+  }
+
+  public boolean isComplete() {
+    return status == Status.COMPLETE;
+  }
+
+  // Blocks until every seeder has been applied (or has failed)
+
+  public void awaitCompletion() {
+    completion.join();
+  }
+
+  public Map<String, Object> getProgress() {
+
+    Map<String, Object> progress = new LinkedHashMap<>();
+
+    progress.put("status", status);
+    progress.put("completed", results.size());
+    progress.put("total", seeders.size());
+
+    synchronized (running) {
+
+      if (!running.isEmpty()) {
+        progress.put("running", new ArrayList<>(running));
+      }
+
+    }
+
+    if (startedAt != null) {
+      progress.put("startedAt", startedAt);
+    }
+
+    if (completedAt != null) {
+      progress.put("completedAt", completedAt);
+    }
+
+    synchronized (results) {
+      progress.put("seeders", new LinkedHashMap<>(results));
+    }
+
+    return progress;
+  }
+
+}
+
+// https://en.wikipedia.org/wiki/Topological_sorting#Depth-first_search
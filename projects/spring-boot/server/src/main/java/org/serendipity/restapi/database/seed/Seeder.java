@@ -0,0 +1,134 @@
+package org.serendipity.restapi.database.seed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.serendipity.restapi.entity.SeedLedger;
+import org.serendipity.restapi.repository.SeedLedgerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.Optional;
+
+@Slf4j
+public abstract class Seeder {
+
+  // Seeders are run by the SeedRunner once the seeders they depend on are applied. Each seed is recorded in a ledger
+  // (see: SeedLedger) with a checksum of the seeder's class file and its source files. On restart a seed whose
+  // checksum is unchanged is skipped. Otherwise it's (re)applied, seeders match existing rows on a natural key (name,
+  // email) so a changed seed is applied as a diff rather than duplicated.
+
+  @Autowired
+  private SeedLedgerRepository seedLedgerRepository;
+
+  public enum Result { APPLIED, SKIPPED, FAILED }
+
+  @Transactional
+  public Result apply() throws IOException {
+
+    String seeder = getName();
+    String checksum = checksum();
+
+    Optional<SeedLedger> entry = seedLedgerRepository.findById(seeder);
+
+    if (entry.isPresent() && checksum.equals(entry.get().getChecksum())) {
+
+      log.info("Seed {} unchanged, skipped", seeder);
+
+      return Result.SKIPPED;
+    }
+
+    try {
+
+      seed();
+
+    } catch (Exception e) {
+
+      // Nothing is committed, and the seed isn't recorded so it's applied again on the next start
+      log.error("Seed {} failed: {}", seeder, e.getLocalizedMessage());
+
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+
+      return Result.FAILED;
+    }
+
+    seedLedgerRepository.save(SeedLedger.builder()
+      .seeder(seeder)
+      .checksum(checksum)
+      .sources(String.join(",", getSources()))
+      .appliedAt(new Date())
+      .build());
+
+    return Result.APPLIED;
+  }
+
+  protected abstract void seed() throws Exception;
+
+  // Seeders (by type) that must be applied before this one, for example: ParliamentHouse.class
+
+  protected Class<?>[] getDependencies() {
+    return new Class<?>[0];
+  }
+
+  // Classpath resources the seed is loaded from, for example: "sample-data/senate.csv"
+
+  protected String[] getSources() {
+    return new String[0];
+  }
+
+  protected String getName() {
+    return ClassUtils.getUserClass(this).getSimpleName();
+  }
+
+  private String checksum() throws IOException {
+
+    Class<?> type = ClassUtils.getUserClass(this);
+
+    MessageDigest digest = newDigest();
+
+    try (InputStream in = type.getResourceAsStream(ClassUtils.getClassFileName(type))) {
+
+      if (in != null) {
+        digest.update(StreamUtils.copyToByteArray(in));
+      }
+
+    }
+
+    for (String source : getSources()) {
+
+      try (InputStream in = new ClassPathResource(source).getInputStream()) {
+        digest.update(StreamUtils.copyToByteArray(in));
+      }
+
+    }
+
+    StringBuilder hex = new StringBuilder();
+
+    for (byte b : digest.digest()) {
+      hex.append(String.format("%02x", b));
+    }
+
+    return hex.toString();
+  }
+
+  private static MessageDigest newDigest() {
+
+    try {
+
+      return MessageDigest.getInstance("SHA-256");
+
+    } catch (NoSuchAlgorithmException e) {
+
+      throw new IllegalStateException(e);
+    }
+
+  }
+
+}
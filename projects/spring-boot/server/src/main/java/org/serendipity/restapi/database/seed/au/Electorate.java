@@ -1,23 +1,20 @@
 package org.serendipity.restapi.database.seed.au;
 
 import lombok.extern.slf4j.Slf4j;
+import org.serendipity.restapi.database.seed.CsvReader;
+import org.serendipity.restapi.database.seed.Seeder;
 import org.serendipity.restapi.entity.ElectoralDivision;
 import org.serendipity.restapi.repository.ElectoralDivisionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.CommandLineRunner;
-import org.springframework.core.annotation.Order;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.Map;
 
 @Component
 @Slf4j
-@Order(1)
-public class Electorate implements CommandLineRunner {
+public class Electorate extends Seeder {
 
   static final String PATH = "sample-data/electoral-divisions.csv";
 
@@ -32,62 +29,68 @@ public class Electorate implements CommandLineRunner {
   private ElectoralDivisionRepository electoralDivisionRepository;
 
   @Override
-  @Transactional
-  public void run(String... args) throws Exception {
+  protected void seed() throws Exception {
 
     log.info("Create Electoral Divisions ...");
 
-    BufferedReader buffer = null;
+    // Existing divisions are matched on name (ELECTORAL_DIVISION_NAME_INDEX) and updated in place
+    Map<String, ElectoralDivision> electoralDivisions = new HashMap<>();
 
-    try {
+    electoralDivisionRepository.findAll().forEach(electoralDivision ->
+      electoralDivisions.put(electoralDivision.getName(), electoralDivision));
+
+    try (CsvReader reader = CsvReader.of(new ClassPathResource(PATH))) {
 
       //
       // Process sample data file
       //
 
-      InputStream resource = new ClassPathResource(PATH).getInputStream();
+      // Header
+      reader.readRecord();
 
-      buffer = new BufferedReader(new InputStreamReader(resource));
+      String[] fields;
 
-      String line = buffer.readLine();
+      while ((fields = reader.readRecord()) != null) {
 
-      // log.info("Header: {}", line);
+        // 20 July 2018
+        // SimpleDateFormat formatter = new SimpleDateFormat("dd MMM yyyy", Locale.ENGLISH);
 
-      while ((line = buffer.readLine()) != null && !line.isEmpty()) {
+        ElectoralDivision electoralDivision = electoralDivisions.get(fields[NAME]);
 
-        // Note: No support for strings with embedded commas
-        String[] fields = line.split(",");
+        if (electoralDivision != null) {
 
-        // 20 July 2018
-        // SimpleDateFormat formatter = new SimpleDateFormat("dd MMM yyyy", Locale.ENGLISH);
+          electoralDivision.setLatitude(toDouble(fields[LATITUDE]));
+          electoralDivision.setLongitude(toDouble(fields[LONGITUDE]));
+
+          continue;
+        }
 
-        ElectoralDivision electoralDivision = ElectoralDivision.builder()
+        electoralDivision = ElectoralDivision.builder()
           .name(fields[NAME])
           // .state(fields[STATE])
           // .area(fields[AREA])
           // .dateGazetted(formatter.parse(fields[DATE_GAZETTED]))
-          .latitude(fields[LATITUDE])
-          .longitude(fields[LONGITUDE])
+          .latitude(toDouble(fields[LATITUDE]))
+          .longitude(toDouble(fields[LONGITUDE]))
           .build();
 
         electoralDivisionRepository.save(electoralDivision);
 
       }
 
-      log.info("Create Electoral Divisions complete");
-
-    } catch (Exception e) {
-
-      log.error("{}", e.getLocalizedMessage());
+    }
 
-    } finally {
+    log.info("Create Electoral Divisions complete");
 
-      if (buffer != null) {
-        buffer.close();
-      }
+  }
 
-    }
+  private static Double toDouble(String field) {
+    return field == null || field.trim().isEmpty() ? null : Double.valueOf(field.trim());
+  }
 
+  @Override
+  protected String[] getSources() {
+    return new String[] { PATH };
   }
 
 }
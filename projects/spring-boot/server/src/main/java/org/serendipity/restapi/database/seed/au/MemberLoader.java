@@ -0,0 +1,249 @@
+package org.serendipity.restapi.database.seed.au;
+
+import lombok.extern.slf4j.Slf4j;
+import org.serendipity.restapi.database.seed.CsvReader;
+import org.serendipity.restapi.entity.*;
+import org.serendipity.restapi.repository.AddressRepository;
+import org.serendipity.restapi.repository.IndividualRepository;
+import org.serendipity.restapi.repository.OrganisationRepository;
+import org.serendipity.restapi.repository.RoleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class MemberLoader {
+
+  // Loads members of parliament (see: Senate and HouseOfRepresentatives) from a CSV file. The Parliament House
+  // address and each political party are looked up once per load rather than once per row, and the persistence
+  // context is flushed and cleared every chunk, so inserts are sent as JDBC batches (hibernate.jdbc.batch_size) and
+  // dirty checking doesn't slow down as the file grows. A reload updates existing members (matched on email).
+
+  static final String PARLIAMENT_HOUSE = "The Senate";
+
+  @Autowired
+  private AddressRepository addressRepository;
+
+  @Autowired
+  private IndividualRepository individualRepository;
+
+  @Autowired
+  private OrganisationRepository organisationRepository;
+
+  @Autowired
+  private RoleRepository roleRepository;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Value("${serendipity.seed.chunk-size:500}")
+  private int chunkSize;
+
+  // Returns the number of members loaded
+
+  @Transactional
+  public int load(String path, int politicalPartyColumn, Function<String[], Individual> mapper) throws IOException {
+
+    // The address is referenced by id, so it can be used after the persistence context is cleared
+    Long parliamentHouseId = addressRepository.findByName(PARLIAMENT_HOUSE, PageRequest.of(0, 1))
+      .getContent().get(0).getId();
+
+    Map<PoliticalParty, Optional<Organisation>> organisations = new EnumMap<>(PoliticalParty.class);
+
+    List<Individual> individuals = new ArrayList<>(chunkSize);
+    List<Optional<Organisation>> memberships = new ArrayList<>(chunkSize);
+
+    int count = 0;
+
+    try (CsvReader reader = CsvReader.of(new ClassPathResource(path))) {
+
+      // Header
+      reader.readRecord();
+
+      String[] fields;
+
+      while ((fields = reader.readRecord()) != null) {
+
+        // "AG" | "ALP" | "CA" | "JLN" | "LNP" | "LP" | "NATS" | "PHON" | "IND"
+        String abbreviation = fields[politicalPartyColumn].toUpperCase();
+
+        PoliticalParty politicalParty = PoliticalParty.valueOfAbbreviation(abbreviation);
+
+        if (politicalParty == PoliticalParty.INDEPENDENT) {
+          log.info("Political Party: {}", abbreviation);
+        }
+
+        individuals.add(mapper.apply(fields));
+        memberships.add(organisations.computeIfAbsent(politicalParty, this::findOrganisation));
+
+        if (individuals.size() == chunkSize) {
+          count += write(individuals, memberships, parliamentHouseId);
+        }
+
+      }
+
+      count += write(individuals, memberships, parliamentHouseId);
+    }
+
+    return count;
+  }
+
+  // Members are matched on email (one query per chunk), new members are inserted and existing members updated
+
+  private int write(List<Individual> individuals, List<Optional<Organisation>> memberships, Long parliamentHouseId) {
+
+    int size = individuals.size();
+
+    if (size == 0) {
+      return 0;
+    }
+
+    Map<String, Individual> existing = individualRepository.findByEmailIn(individuals.stream()
+      .map(Individual::getEmail)
+      .collect(Collectors.toSet())).stream()
+      .collect(Collectors.toMap(Individual::getEmail, Function.identity(), (first, second) -> first));
+
+    for (int i = 0; i < size; i++) {
+
+      Individual individual = individuals.get(i);
+      Organisation organisation = memberships.get(i).orElse(null);
+
+      Individual match = existing.get(individual.getEmail());
+
+      if (match != null) {
+        update(match, individual, organisation);
+        continue;
+      }
+
+      individual.getParty().getAddresses().add(entityManager.getReference(Address.class, parliamentHouseId));
+
+      individualRepository.save(individual);
+
+      if (organisation != null) {
+        addMembership(individual, organisation);
+      }
+
+    }
+
+    individuals.clear();
+    memberships.clear();
+
+    entityManager.flush();
+    entityManager.clear();
+
+    return size;
+  }
+
+  private void addMembership(Individual individual, Organisation organisation) {
+
+    Role role = Role.builder()
+      .role("Member")
+      .partyId(individual.getParty().getId())
+      .partyType(individual.getParty().getType())
+      .partyName(individual.getParty().getDisplayName())
+      .partyEmail(individual.getEmail())
+      .partyPhoneNumber(individual.getPhoneNumber())
+      .relationship("Membership")
+      .reciprocalRole("Organisation")
+      .build();
+
+    setReciprocalParty(role, organisation);
+
+    roleRepository.save(role);
+    individual.getParty().getRoles().add(role);
+  }
+
+  private static void setReciprocalParty(Role role, Organisation organisation) {
+
+    role.setReciprocalPartyId(organisation.getParty().getId());
+    role.setReciprocalPartyType(organisation.getParty().getType());
+    role.setReciprocalPartyName(organisation.getParty().getDisplayName());
+    role.setReciprocalPartyEmail(organisation.getEmail());
+    role.setReciprocalPartyPhoneNumber(organisation.getPhoneNumber());
+  }
+
+  // The managed entity is updated in place (dirty checking), the Party is touched if anything changed so its ETag
+  // changes (see: IndividualController)
+
+  private void update(Individual entity, Individual item, Organisation organisation) {
+
+    Party party = entity.getParty();
+
+    boolean changed = !equals(entity.getName(), item.getName()) ||
+      !Objects.equals(entity.getSex(), item.getSex()) ||
+      !Objects.equals(entity.getElectorate(), item.getElectorate()) ||
+      !Objects.equals(party.getDisplayName(), item.getParty().getDisplayName());
+
+    if (changed) {
+      entity.setName(item.getName());
+      entity.setSex(item.getSex());
+      entity.setElectorate(item.getElectorate());
+      party.setDisplayName(item.getParty().getDisplayName());
+    }
+
+    Role membership = party.getRoles().stream()
+      .filter(role -> "Membership".equals(role.getRelationship()))
+      .findFirst()
+      .orElse(null);
+
+    if (membership == null && organisation != null) {
+
+      addMembership(entity, organisation);
+      changed = true;
+
+    } else if (membership != null && organisation == null) {
+
+      party.getRoles().remove(membership);
+      roleRepository.delete(membership);
+      changed = true;
+
+    } else if (membership != null &&
+      !Objects.equals(membership.getReciprocalPartyId(), organisation.getParty().getId())) {
+
+      setReciprocalParty(membership, organisation);
+      changed = true;
+    }
+
+    if (changed) {
+      party.setUpdatedAt(new Date());
+    }
+
+  }
+
+  private static boolean equals(Name name, Name other) {
+
+    return Objects.equals(name.getTitle(), other.getTitle()) &&
+      Objects.equals(name.getGivenName(), other.getGivenName()) &&
+      Objects.equals(name.getMiddleName(), other.getMiddleName()) &&
+      Objects.equals(name.getFamilyName(), other.getFamilyName()) &&
+      Objects.equals(name.getHonorific(), other.getHonorific()) &&
+      Objects.equals(name.getSalutation(), other.getSalutation()) &&
+      Objects.equals(name.getPreferredName(), other.getPreferredName()) &&
+      Objects.equals(name.getInitials(), other.getInitials());
+  }
+
+  // The Organisation's Party is fetched with it (Organisation.party), so it can still be read once detached
+
+  private Optional<Organisation> findOrganisation(PoliticalParty politicalParty) {
+
+    if (politicalParty == PoliticalParty.INDEPENDENT) {
+      return Optional.empty();
+    }
+
+    return organisationRepository.findByName(politicalParty.toString(), PageRequest.of(0, 1)).get().findFirst();
+  }
+
+}
+
+// https://docs.jboss.org/hibernate/orm/5.4/userguide/html_single/Hibernate_User_Guide.html#batch-session-batch-insert
@@ -0,0 +1,51 @@
+package org.serendipity.restapi.database.seed.au;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PoliticalParties {
+
+  // A seeder per political party, the data is in "sample-data/political-parties.csv" (see: PoliticalPartySeeder)
+
+  @Bean
+  PoliticalPartySeeder australianGreens() {
+    return new PoliticalPartySeeder(PoliticalParty.AUSTRALIAN_GREENS);
+  }
+
+  @Bean
+  PoliticalPartySeeder australianLaborParty() {
+    return new PoliticalPartySeeder(PoliticalParty.AUSTRALIAN_LABOR_PARTY);
+  }
+
+  @Bean
+  PoliticalPartySeeder centreAlliance() {
+    return new PoliticalPartySeeder(PoliticalParty.CENTRE_ALLIANCE);
+  }
+
+  @Bean
+  PoliticalPartySeeder jacquiLambieNetwork() {
+    return new PoliticalPartySeeder(PoliticalParty.JACQUI_LAMBIE_NETWORK);
+  }
+
+  @Bean
+  PoliticalPartySeeder liberalNationalPartyOfQueensland() {
+    return new PoliticalPartySeeder(PoliticalParty.LIBERAL_NATIONAL_PARTY_OF_QUEENSLAND);
+  }
+
+  @Bean
+  PoliticalPartySeeder liberalPartyOfAustralia() {
+    return new PoliticalPartySeeder(PoliticalParty.LIBERAL_PARTY_OF_AUSTRALIA);
+  }
+
+  @Bean
+  PoliticalPartySeeder nationalPartyOfAustralia() {
+    return new PoliticalPartySeeder(PoliticalParty.NATIONAL_PARTY_OF_AUSTRALIA);
+  }
+
+  @Bean
+  PoliticalPartySeeder paulineHansonsOneNation() {
+    return new PoliticalPartySeeder(PoliticalParty.PAULINE_HANSONS_ONE_NATION);
+  }
+
+}
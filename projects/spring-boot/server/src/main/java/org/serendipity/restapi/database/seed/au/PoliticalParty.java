@@ -63,6 +63,10 @@ public enum PoliticalParty {
     this.abbreviation = abbreviation;
   }
 
+  public String getAbbreviation() {
+    return abbreviation;
+  }
+
   public static PoliticalParty valueOfAbbreviation(String abbreviation) {
 
     for (PoliticalParty e : values()) {
@@ -0,0 +1,357 @@
+package org.serendipity.restapi.database.seed.au;
+
+import lombok.extern.slf4j.Slf4j;
+import org.serendipity.restapi.database.seed.CsvReader;
+import org.serendipity.restapi.database.seed.Seeder;
+import org.serendipity.restapi.entity.*;
+import org.serendipity.restapi.repository.AddressRepository;
+import org.serendipity.restapi.repository.IndividualRepository;
+import org.serendipity.restapi.repository.OrganisationRepository;
+import org.serendipity.restapi.repository.RoleRepository;
+import org.serendipity.restapi.type.LocationType;
+import org.serendipity.restapi.type.PartyType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@Slf4j
+public class PoliticalPartySeeder extends Seeder {
+
+  // Creates a political party (Organisation), its head office (Address) and primary contact (Individual) from a row
+  // of the political parties data file, or updates them if the party exists. There's a seeder per party (see:
+  // PoliticalParties), they don't depend on each other so they're applied in parallel.
+
+  static final String PATH = "sample-data/political-parties.csv";
+
+  static final int ABBREVIATION = 0;
+  static final int NAME = 1;
+  static final int EMAIL = 2;
+  static final int TELEPHONE = 3;
+  static final int LEGAL_TYPE = 4;
+  static final int ADDRESS = 5;
+  static final int ADDRESS_NAME = 6;
+  static final int ADDRESS_LINE_1 = 7;
+  static final int ADDRESS_LINE_2 = 8;
+  static final int SUBURB = 9;
+  static final int STATE = 10;
+  static final int POSTCODE = 11;
+  static final int COUNTRY = 12;
+  static final int ADDRESS_TYPE = 13;
+  static final int CONTACT_FIRST_NAME = 14;
+  static final int CONTACT_SURNAME = 15;
+  static final int CONTACT_SEX = 16;
+  static final int CONTACT_EMAIL = 17;
+  static final int CONTACT_TELEPHONE = 18;
+
+  static final String PRIMARY_CONTACT = "Primary Contact";
+  static final String MEMBERSHIP = "Membership";
+
+  @Autowired
+  private AddressRepository addressRepository;
+
+  @Autowired
+  private IndividualRepository individualRepository;
+
+  @Autowired
+  private OrganisationRepository organisationRepository;
+
+  @Autowired
+  private RoleRepository roleRepository;
+
+  private final PoliticalParty politicalParty;
+
+  public PoliticalPartySeeder(PoliticalParty politicalParty) {
+    this.politicalParty = politicalParty;
+  }
+
+  @Override
+  protected void seed() throws Exception {
+
+    String[] fields = read();
+
+    Optional<Organisation> existing = organisationRepository.findByName(politicalParty.toString(),
+      PageRequest.of(0, 1)).get().findFirst();
+
+    if (existing.isPresent()) {
+
+      log.info("Update {} ...", politicalParty.toString());
+
+      update(existing.get(), fields);
+
+      log.info("Update {} complete", politicalParty.toString());
+
+      return;
+    }
+
+    log.info("Create {} ...", politicalParty.toString());
+
+    //
+    // Head Office Address
+    //
+
+    Location location = Location.builder()
+      .type(LocationType.ADDRESS)
+      .displayName(fields[ADDRESS])
+      .build();
+
+    Address headOffice = Address.builder()
+      .location(location)
+      .name(fields[ADDRESS_NAME])
+      .line1(fields[ADDRESS_LINE_1])
+      .line2(fields[ADDRESS_LINE_2])
+      .city(fields[SUBURB])
+      .state(fields[STATE])
+      .postalCode(fields[POSTCODE])
+      .country(fields[COUNTRY])
+      .addressType(fields[ADDRESS_TYPE])
+      .build();
+
+    addressRepository.save(headOffice);
+
+    // Create the Primary Contact (Individual)
+
+    Name name = Name.builder()
+      .givenName(fields[CONTACT_FIRST_NAME])
+      .familyName(fields[CONTACT_SURNAME])
+      .build();
+
+    Party individualParty = Party.builder()
+      .type(PartyType.INDIVIDUAL)
+      .displayName(name.getFamilyName() + ", " + name.getGivenName())
+      .addresses(new HashSet<>())
+      .roles(new HashSet<>())
+      .build();
+
+    Individual individual = Individual.builder()
+      .party(individualParty)
+      .name(name)
+      .sex(fields[CONTACT_SEX])
+      .email(fields[CONTACT_EMAIL])
+      .phoneNumber(fields[CONTACT_TELEPHONE])
+      .build();
+
+    // Save the Primary Contact (Individual)
+
+    individualRepository.save(individual);
+
+    // Organisation
+
+    Party organisationParty = Party.builder()
+      .type(PartyType.ORGANISATION)
+      .legalType(fields[LEGAL_TYPE])
+      .displayName(fields[NAME])
+      .addresses(new HashSet<>())
+      .roles(new HashSet<>())
+      .build();
+
+    Organisation organisation = Organisation.builder()
+      .party(organisationParty)
+      .name(fields[NAME])
+      .email(fields[EMAIL])
+      .phoneNumber(fields[TELEPHONE])
+      .build();
+
+    organisationRepository.save(organisation);
+
+    // Organisation, Relationship -> Primary Contact
+
+    Role role = Role.builder()
+      .role("Organisation")
+      .partyId(organisation.getParty().getId())
+      .partyType(organisation.getParty().getType())
+      .partyName(organisation.getParty().getDisplayName())
+      .partyEmail(organisation.getEmail())
+      .partyPhoneNumber(organisation.getPhoneNumber())
+      .relationship(PRIMARY_CONTACT)
+      .reciprocalRole("Member")
+      .reciprocalPartyId(individual.getParty().getId())
+      .reciprocalPartyType(individual.getParty().getType())
+      .reciprocalPartyName(individual.getParty().getDisplayName())
+      .reciprocalPartyEmail(individual.getEmail())
+      .reciprocalPartyPhoneNumber(individual.getPhoneNumber())
+      .build();
+
+    roleRepository.save(role);
+
+    organisationParty.getAddresses().add(headOffice);
+    organisationParty.getRoles().add(role);
+
+    // Primary Contact, Relationship -> Membership
+
+    Role reciprocalRole = Role.builder()
+      .role("Member")
+      .partyId(individual.getParty().getId())
+      .partyType(individual.getParty().getType())
+      .partyName(individual.getParty().getDisplayName())
+      .partyEmail(individual.getEmail())
+      .partyPhoneNumber(individual.getPhoneNumber())
+      .relationship(MEMBERSHIP)
+      .reciprocalRole("Organisation")
+      .reciprocalPartyId(organisation.getParty().getId())
+      .reciprocalPartyType(organisation.getParty().getType())
+      .reciprocalPartyName(organisation.getParty().getDisplayName())
+      .reciprocalPartyEmail(organisation.getEmail())
+      .reciprocalPartyPhoneNumber(organisation.getPhoneNumber())
+      .build();
+
+    roleRepository.save(reciprocalRole);
+
+    individualParty.getAddresses().add(headOffice);
+    individualParty.getRoles().add(reciprocalRole);
+
+    log.info("Create {} complete", politicalParty.toString());
+  }
+
+  // The party's row (or the seeder) has changed: the Organisation (matched on name), its head office and its primary
+  // contact are updated in place (dirty checking), and a Party whose data changed is touched so its ETag changes
+
+  private void update(Organisation organisation, String[] fields) {
+
+    Party organisationParty = organisation.getParty();
+
+    boolean organisationChanged = set(organisation::getEmail, organisation::setEmail, fields[EMAIL]) |
+      set(organisation::getPhoneNumber, organisation::setPhoneNumber, fields[TELEPHONE]) |
+      set(organisationParty::getLegalType, organisationParty::setLegalType, fields[LEGAL_TYPE]) |
+      set(organisationParty::getDisplayName, organisationParty::setDisplayName, fields[NAME]);
+
+    // Head Office Address
+
+    for (Address headOffice : organisationParty.getAddresses()) {
+
+      Location location = headOffice.getLocation();
+
+      organisationChanged |= set(location::getDisplayName, location::setDisplayName, fields[ADDRESS]) |
+        set(headOffice::getName, headOffice::setName, fields[ADDRESS_NAME]) |
+        set(headOffice::getLine1, headOffice::setLine1, fields[ADDRESS_LINE_1]) |
+        set(headOffice::getLine2, headOffice::setLine2, fields[ADDRESS_LINE_2]) |
+        set(headOffice::getCity, headOffice::setCity, fields[SUBURB]) |
+        set(headOffice::getState, headOffice::setState, fields[STATE]) |
+        set(headOffice::getPostalCode, headOffice::setPostalCode, fields[POSTCODE]) |
+        set(headOffice::getCountry, headOffice::setCountry, fields[COUNTRY]) |
+        set(headOffice::getAddressType, headOffice::setAddressType, fields[ADDRESS_TYPE]);
+    }
+
+    // Primary Contact (Individual)
+
+    Optional<Role> role = organisationParty.getRoles().stream()
+      .filter(r -> PRIMARY_CONTACT.equals(r.getRelationship()))
+      .findFirst();
+
+    Optional<Individual> contact = role.flatMap(r -> individualRepository.findById(r.getReciprocalPartyId()));
+
+    if (contact.isPresent()) {
+
+      Individual individual = contact.get();
+      Party individualParty = individual.getParty();
+      Name name = individual.getName();
+
+      boolean contactChanged = set(name::getGivenName, name::setGivenName, fields[CONTACT_FIRST_NAME]) |
+        set(name::getFamilyName, name::setFamilyName, fields[CONTACT_SURNAME]) |
+        set(individualParty::getDisplayName, individualParty::setDisplayName,
+          fields[CONTACT_SURNAME] + ", " + fields[CONTACT_FIRST_NAME]) |
+        set(individual::getSex, individual::setSex, fields[CONTACT_SEX]) |
+        set(individual::getEmail, individual::setEmail, fields[CONTACT_EMAIL]) |
+        set(individual::getPhoneNumber, individual::setPhoneNumber, fields[CONTACT_TELEPHONE]);
+
+      // Relationships
+
+      setParties(role.get(), organisationParty, organisation.getEmail(), organisation.getPhoneNumber(),
+        individualParty, individual.getEmail(), individual.getPhoneNumber());
+
+      individualParty.getRoles().stream()
+        .filter(r -> MEMBERSHIP.equals(r.getRelationship()) &&
+          organisationParty.getId().equals(r.getReciprocalPartyId()))
+        .forEach(r -> setParties(r, individualParty, individual.getEmail(), individual.getPhoneNumber(),
+          organisationParty, organisation.getEmail(), organisation.getPhoneNumber()));
+
+      if (contactChanged || organisationChanged) {
+        individualParty.setUpdatedAt(new Date());
+        organisationParty.setUpdatedAt(new Date());
+      }
+
+    } else if (organisationChanged) {
+      organisationParty.setUpdatedAt(new Date());
+    }
+
+  }
+
+  // A Role holds a copy of both parties' names and contact details
+
+  private static void setParties(Role role, Party party, String email, String phoneNumber,
+                                 Party reciprocalParty, String reciprocalEmail, String reciprocalPhoneNumber) {
+
+    role.setPartyName(party.getDisplayName());
+    role.setPartyEmail(email);
+    role.setPartyPhoneNumber(phoneNumber);
+    role.setReciprocalPartyName(reciprocalParty.getDisplayName());
+    role.setReciprocalPartyEmail(reciprocalEmail);
+    role.setReciprocalPartyPhoneNumber(reciprocalPhoneNumber);
+  }
+
+  // Returns true if the value changed
+
+  private static <T> boolean set(Supplier<T> getter, Consumer<T> setter, T value) {
+
+    if (Objects.equals(getter.get(), value)) {
+      return false;
+    }
+
+    setter.accept(value);
+
+    return true;
+  }
+
+  @Override
+  protected String[] getSources() {
+    return new String[] { PATH };
+  }
+
+  // "AUSTRALIAN_LABOR_PARTY" -> "AustralianLaborParty"
+
+  @Override
+  protected String getName() {
+
+    StringBuilder name = new StringBuilder();
+
+    for (String word : politicalParty.name().split("_")) {
+      name.append(word.charAt(0)).append(word.substring(1).toLowerCase());
+    }
+
+    return name.toString();
+  }
+
+  // The party's row of the data file
+
+  String[] read() throws IOException {
+
+    try (CsvReader reader = CsvReader.of(new ClassPathResource(PATH))) {
+
+      // Header
+      reader.readRecord();
+
+      String[] fields;
+
+      while ((fields = reader.readRecord()) != null) {
+
+        if (politicalParty.getAbbreviation().equals(fields[ABBREVIATION])) {
+          return fields;
+        }
+
+      }
+
+    }
+
+    throw new IllegalArgumentException("No data for " + politicalParty.toString() + " in " + PATH);
+  }
+
+}
+
+// https://en.wikipedia.org/wiki/List_of_political_parties_in_Australia
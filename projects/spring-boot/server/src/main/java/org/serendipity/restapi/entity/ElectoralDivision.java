@@ -1,6 +1,9 @@
 package org.serendipity.restapi.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.serendipity.restapi.search.ElectoralDivisionIndexListener;
 
 import javax.persistence.*;
 import java.util.Date;
@@ -12,6 +15,9 @@ import java.util.Date;
 @Setter
 @Getter
 @Table(indexes = { @Index(name = "ELECTORAL_DIVISION_NAME_INDEX", columnList = "name", unique = true) })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "electoral-division")
+@EntityListeners(ElectoralDivisionIndexListener.class)
 public class ElectoralDivision {
 
   @Id
@@ -20,7 +26,7 @@ public class ElectoralDivision {
     generator = "SequenceElectoralDivision")
   @SequenceGenerator(
     name = "SequenceElectoralDivision",
-    allocationSize = 1
+    allocationSize = 50
   )
   private Long id;
 
@@ -38,8 +44,8 @@ public class ElectoralDivision {
   @Temporal(TemporalType.DATE)
   private Date dateGazetted;
 
-  private String latitude;
+  private Double latitude;
 
-  private String longitude;
+  private Double longitude;
 
 }
@@ -25,7 +25,7 @@ public class Identifier {
     generator = "SequenceIdentifier")
   @SequenceGenerator(
     name = "SequenceIdentifier",
-    allocationSize = 1
+    allocationSize = 50
   )
   private Long id;
 
@@ -1,6 +1,8 @@
 package org.serendipity.restapi.entity;
 
 import lombok.*;
+import org.serendipity.restapi.image.PhotoUrlListener;
+import org.serendipity.restapi.search.NameIndexListener;
 
 import javax.persistence.*;
 import java.util.Date;
@@ -12,7 +14,25 @@ import java.util.Set;
 @NoArgsConstructor
 @Setter
 @Getter
-@Table(indexes = { @Index(name = "INDIVIDUAL_FAMILY_NAME_INDEX", columnList = "familyName", unique = false) })
+@EntityListeners({ PhotoUrlListener.class, NameIndexListener.class })
+@Table(indexes = {
+  @Index(name = "INDIVIDUAL_FAMILY_NAME_ID_INDEX", columnList = "familyName, partyId", unique = false),
+  @Index(name = "INDIVIDUAL_EMAIL_INDEX", columnList = "email", unique = false) })
+@NamedEntityGraphs({
+  @NamedEntityGraph(
+    name = "Individual.party",
+    attributeNodes = { @NamedAttributeNode("party") }
+  ),
+  @NamedEntityGraph(
+    name = "Individual.detail",
+    attributeNodes = { @NamedAttributeNode(value = "party", subgraph = "party"), @NamedAttributeNode("names") },
+    subgraphs = {
+      @NamedSubgraph(name = "party", attributeNodes = {
+        @NamedAttributeNode(value = "addresses", subgraph = "address"), @NamedAttributeNode("roles") }),
+      @NamedSubgraph(name = "address", attributeNodes = { @NamedAttributeNode("location") })
+    }
+  )
+})
 public class Individual {
 
   // An Individual is a person.
@@ -21,7 +41,10 @@ public class Individual {
   @Id
   private Long id;
 
-  @OneToOne(fetch = FetchType.EAGER)
+  // Associations are lazy, each repository method chooses a fetch plan (entity graph).
+  // See: https://vladmihalcea.com/eager-fetching-is-a-code-smell/
+
+  @OneToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "partyId")
   @MapsId
   private Party party;
@@ -32,7 +55,7 @@ public class Individual {
   // You cannot limit the size of a @OneToMany collection
   // See: https://vladmihalcea.com/the-best-way-to-map-a-onetomany-association-with-jpa-and-hibernate/
 
-  @OneToMany(mappedBy = "individual", fetch = FetchType.EAGER)
+  @OneToMany(mappedBy = "individual", fetch = FetchType.LAZY)
   private Set<IndividualName> names;
 
   private String sex;
@@ -43,7 +66,7 @@ public class Individual {
 
   private String phoneNumber;
 
-  private String photoUrl;
+  private String photoUrl; // Resolved at write time, see: PhotoUrlListener
 
   private String electorate;
 
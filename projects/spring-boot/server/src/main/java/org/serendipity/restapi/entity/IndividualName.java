@@ -2,6 +2,7 @@ package org.serendipity.restapi.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.serendipity.restapi.search.NameIndexListener;
 
 import javax.persistence.*;
 import java.util.Date;
@@ -12,6 +13,7 @@ import java.util.Date;
 @NoArgsConstructor
 @Setter
 @Getter
+@EntityListeners(NameIndexListener.class)
 public class IndividualName {
 
   @Id
@@ -20,12 +22,12 @@ public class IndividualName {
     generator = "SequenceIndividualName")
   @SequenceGenerator(
     name = "SequenceIndividualName",
-    allocationSize = 1
+    allocationSize = 50
   )
   private Long id;
 
   @JsonIgnore
-  @ManyToOne(fetch = FetchType.EAGER, optional = false)
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
   @JoinColumn(name = "individualId", nullable = false)
   private Individual individual;
 
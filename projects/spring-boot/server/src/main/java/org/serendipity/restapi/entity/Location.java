@@ -1,6 +1,8 @@
 package org.serendipity.restapi.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.serendipity.restapi.type.LocationType;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
@@ -18,6 +20,8 @@ import java.util.Date;
 @Setter
 @Getter
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "location")
 public class Location {
 
   @Id
@@ -26,7 +30,7 @@ public class Location {
     generator = "SequenceLocation")
   @SequenceGenerator(
     name = "SequenceLocation",
-    allocationSize = 1
+    allocationSize = 50
   )
   private Long id;
 
@@ -1,6 +1,8 @@
 package org.serendipity.restapi.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.Date;
@@ -11,7 +13,24 @@ import java.util.Date;
 @NoArgsConstructor
 @Setter
 @Getter
-@Table(indexes = { @Index(name = "ORGANISATION_NAME_INDEX", columnList = "name", unique = false) })
+@Table(indexes = { @Index(name = "ORGANISATION_NAME_ID_INDEX", columnList = "name, partyId", unique = false) })
+@NamedEntityGraphs({
+  @NamedEntityGraph(
+    name = "Organisation.party",
+    attributeNodes = { @NamedAttributeNode("party") }
+  ),
+  @NamedEntityGraph(
+    name = "Organisation.detail",
+    attributeNodes = { @NamedAttributeNode(value = "party", subgraph = "party") },
+    subgraphs = {
+      @NamedSubgraph(name = "party", attributeNodes = {
+        @NamedAttributeNode(value = "addresses", subgraph = "address"), @NamedAttributeNode("roles") }),
+      @NamedSubgraph(name = "address", attributeNodes = { @NamedAttributeNode("location") })
+    }
+  )
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "organisation")
 public class Organisation {
 
   // An Organisation usually consists of a number of individuals or groups bound by a common purpose.
@@ -21,7 +40,7 @@ public class Organisation {
   @Id
   private Long id;
 
-  @OneToOne(fetch = FetchType.EAGER)
+  @OneToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "partyId")
   @MapsId
   private Party party;
@@ -24,6 +24,7 @@ public class Party {
   // When using Hibernate, the IDENTITY generator is not a good choice since it disables JDBC batching.
   // See: https://vladmihalcea.com/14-high-performance-java-persistence-tips/
   //      https://vladmihalcea.com/jpa-entity-identifier-sequence/
+  // Ids are allocated in blocks of 50 (pooled-lo optimizer), one nextval per 50 inserts. See: SequenceMigration
 
   @Id
   @GeneratedValue(
@@ -31,7 +32,7 @@ public class Party {
     generator = "SequenceParty")
   @SequenceGenerator(
     name = "SequenceParty",
-    allocationSize = 1
+    allocationSize = 50
   )
   private Long id;
 
@@ -45,7 +46,10 @@ public class Party {
   @Builder.Default
   private String displayName = "";
 
-  @ManyToMany(fetch = FetchType.EAGER)
+  // Collections are lazy and batch fetched (hibernate.default_batch_fetch_size), or fetched via an entity graph.
+  // See: Individual.detail and Organisation.detail
+
+  @ManyToMany(fetch = FetchType.LAZY)
   @JoinTable(
     name = "PartyAddress",
     joinColumns = @JoinColumn(name = "partyId"),
@@ -53,7 +57,7 @@ public class Party {
   )
   private Set<Address> addresses;
 
-  @ManyToMany(fetch = FetchType.EAGER)
+  @ManyToMany(fetch = FetchType.LAZY)
   @JoinTable(
     name = "PartyRole",
     joinColumns = @JoinColumn(name = "partyId"),
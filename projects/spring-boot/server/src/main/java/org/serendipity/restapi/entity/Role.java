@@ -19,7 +19,7 @@ public class Role {
     generator = "SequenceRole")
   @SequenceGenerator(
     name = "SequenceRole",
-    allocationSize = 1
+    allocationSize = 50
   )
   private Long id;
 
@@ -0,0 +1,29 @@
+package org.serendipity.restapi.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.util.Date;
+
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+public class SeedLedger {
+
+  // One row per seeder, see: Seeder
+
+  @Id
+  private String seeder; // Senate
+
+  @Column(name = "checksum", nullable = false)
+  private String checksum; // SHA-256 of the seeder's class file and source files
+
+  private String sources; // sample-data/senate.csv
+
+  @Temporal(TemporalType.TIMESTAMP)
+  private Date appliedAt;
+
+}
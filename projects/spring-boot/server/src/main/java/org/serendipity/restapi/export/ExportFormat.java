@@ -0,0 +1,29 @@
+package org.serendipity.restapi.export;
+
+public enum ExportFormat {
+
+  NDJSON("application/x-ndjson"),
+  CSV("text/csv");
+
+  private final String contentType;
+
+  ExportFormat(String contentType) {
+    this.contentType = contentType;
+  }
+
+  public String getContentType() {
+    return contentType + ";charset=UTF-8";
+  }
+
+  public String getExtension() {
+    return name().toLowerCase();
+  }
+
+  public static ExportFormat of(String format) throws IllegalArgumentException {
+    return valueOf(format.toUpperCase());
+  }
+
+  // http://ndjson.org/
+  // https://tools.ietf.org/html/rfc4180
+
+}
@@ -0,0 +1,150 @@
+package org.serendipity.restapi.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.DateFormat;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class ExportWriter {
+
+  // Each row is written to the response as soon as it is read from the result set, so heap use is bounded by the
+  // JDBC fetch size and the response buffer rather than by the size of the table.
+
+  // The number of rows the JDBC driver fetches per round trip (see: the repositories' streamAllRecords() hints).
+  // Note: PostgreSQL only honours a fetch size inside a transaction (autocommit off), otherwise it reads the
+  // whole result set into memory.
+
+  public static final String FETCH_SIZE = "500";
+
+  private static final int FLUSH_INTERVAL = 1000;
+
+  private final ObjectMapper mapper;
+  private final ObjectWriter writer;
+
+  public ExportWriter() {
+
+    this.mapper = new ObjectMapper();
+    this.mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    this.mapper.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    this.writer = mapper.writer();
+  }
+
+  public <T> long write(Stream<T> rows, Class<T> type, ExportFormat format, String filename,
+                        HttpServletResponse response) throws IOException {
+
+    response.setContentType(format.getContentType());
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+      "attachment; filename=\"" + filename + "." + format.getExtension() + "\"");
+
+    Writer out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+
+    ObjectWriter rowWriter = writer.forType(type);
+
+    // The CSV columns are the type's properties (in serialisation order), so an empty export still has a header
+    List<AnnotatedMember> columns = null;
+    DateFormat dateFormat = null;
+
+    if (format == ExportFormat.CSV) {
+
+      columns = writeCsvHeader(out, type);
+      dateFormat = (DateFormat) mapper.getDateFormat().clone();
+    }
+
+    long count = 0;
+
+    Iterator<T> iterator = rows.iterator();
+
+    while (iterator.hasNext()) {
+
+      T row = iterator.next();
+
+      if (format == ExportFormat.CSV) {
+        writeCsv(out, row, columns, dateFormat);
+      } else {
+        rowWriter.writeValue(out, row);
+        out.write('\n');
+      }
+
+      if (++count % FLUSH_INTERVAL == 0) {
+        out.flush();
+      }
+
+    }
+
+    out.flush();
+
+    log.info("Export complete: {} rows", count);
+
+    return count;
+  }
+
+  private List<AnnotatedMember> writeCsvHeader(Writer out, Class<?> type) throws IOException {
+
+    List<BeanPropertyDefinition> properties = mapper.getSerializationConfig()
+      .introspect(mapper.constructType(type))
+      .findProperties().stream()
+      .filter(property -> property.getAccessor() != null)
+      .collect(Collectors.toList());
+
+    for (int i = 0; i < properties.size(); i++) {
+      out.write(escape(properties.get(i).getName()));
+      out.write(i < properties.size() - 1 ? "," : "\r\n");
+    }
+
+    return properties.stream().map(BeanPropertyDefinition::getAccessor).collect(Collectors.toList());
+  }
+
+  // The record types' values are scalars, a date is formatted as the NDJSON export formats it (ISO-8601)
+
+  private static void writeCsv(Writer out, Object row, List<AnnotatedMember> columns, DateFormat dateFormat)
+    throws IOException {
+
+    for (int i = 0; i < columns.size(); i++) {
+
+      Object value = columns.get(i).getValue(row);
+
+      if (value instanceof Date) {
+        out.write(dateFormat.format((Date) value));
+      } else if (value != null) {
+        out.write(escape(value.toString()));
+      }
+
+      out.write(i < columns.size() - 1 ? "," : "\r\n");
+    }
+
+  }
+
+  // A field containing a comma, double quote or line break is enclosed in double quotes and embedded double quotes
+  // are escaped by doubling them.
+
+  private static String escape(String value) {
+
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      return value;
+    }
+
+    return "\"" + value.replace("\"", "\"\"") + "\"";
+  }
+
+}
@@ -0,0 +1,146 @@
+package org.serendipity.restapi.fields;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class FieldSet {
+
+  // Sparse fieldsets: the fields a client wants in a representation, for example: ?fields=id,name.familyName,electorate
+  // A dotted path selects a nested field, a field selected without a path (e.g. party) includes all of its fields.
+  // Collections (names, party.addresses, party.roles) are selected whole.
+  //
+  // The assemblers only read the entity's attributes (and lazy associations) that are selected, fields that aren't
+  // selected are left null and aren't serialised (see: FieldSetModule). Without ?fields= everything is included.
+
+  public static final String PARAMETER = "fields";
+
+  public static final FieldSet ALL = new FieldSet(null);
+
+  private static final String ATTRIBUTE = FieldSet.class.getName();
+
+  private static final String SEPARATOR = ".";
+
+  // null: all fields
+  private final NavigableSet<String> paths;
+
+  private FieldSet(NavigableSet<String> paths) {
+    this.paths = paths;
+  }
+
+  public static FieldSet of(String... fields) {
+
+    NavigableSet<String> paths = new TreeSet<>();
+
+    for (String field : fields) {
+      for (String path : field.split(",")) {
+        if (!path.trim().isEmpty()) {
+          paths.add(path.trim());
+        }
+      }
+    }
+
+    return paths.isEmpty() ? ALL : new FieldSet(paths);
+  }
+
+  // The current request's field set, parsed once per request
+
+  public static FieldSet current() {
+
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+    if (!(attributes instanceof ServletRequestAttributes)) {
+      return ALL;
+    }
+
+    FieldSet fields = (FieldSet) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+
+    if (fields == null) {
+
+      String[] values = ((ServletRequestAttributes) attributes).getRequest().getParameterValues(PARAMETER);
+
+      fields = values != null ? of(values) : ALL;
+
+      attributes.setAttribute(ATTRIBUTE, fields, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    return fields;
+  }
+
+  public boolean isSparse() {
+    return paths != null;
+  }
+
+  // The field is selected, or one of its nested fields is
+
+  public boolean includes(String field) {
+
+    if (paths == null || paths.contains(field)) {
+      return true;
+    }
+
+    String prefix = field + SEPARATOR;
+
+    String next = paths.ceiling(prefix);
+
+    return next != null && next.startsWith(prefix);
+  }
+
+  // The selection within a nested field, for example: fields=name.familyName -> nested("name") -> familyName
+
+  public FieldSet nested(String field) {
+
+    if (paths == null || paths.contains(field)) {
+      return ALL;
+    }
+
+    String prefix = field + SEPARATOR;
+
+    NavigableSet<String> nested = new TreeSet<>();
+
+    for (String path : paths.tailSet(prefix)) {
+
+      if (!path.startsWith(prefix)) {
+        break;
+      }
+
+      nested.add(path.substring(prefix.length()));
+    }
+
+    return new FieldSet(nested);
+  }
+
+  // Copies a field to the model if it's selected, the value isn't read if it isn't
+
+  public <T> void copy(String field, Supplier<T> value, Consumer<T> setter) {
+
+    if (includes(field)) {
+      setter.accept(value.get());
+    }
+
+  }
+
+  // A representation's entity tag varies with the fields selected, for example: "123-1590969600000" ->
+  // "123-1590969600000-5f0e3b1c"
+
+  public String tag(String etag) {
+
+    if (paths == null) {
+      return etag;
+    }
+
+    return etag.substring(0, etag.length() - 1) + "-" + Integer.toHexString(paths.hashCode()) + "\"";
+  }
+
+  @Override
+  public String toString() {
+    return paths == null ? "*" : String.join(",", paths);
+  }
+
+}
+
+// https://jsonapi.org/format/#fetching-sparse-fieldsets
@@ -0,0 +1,68 @@
+package org.serendipity.restapi.fields;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import org.serendipity.restapi.model.IndividualModel;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class FieldSetModule extends SimpleModule {
+
+  // When a request selects fields (see: FieldSet) the null properties of a model (the fields that weren't selected)
+  // aren't serialised. Without ?fields= the representations are unchanged.
+  //
+  // Spring Boot registers Module beans with its ObjectMapper builder, which also configures the Spring Data REST
+  // and Spring HATEOAS (HAL) object mappers.
+
+  static final String MODELS = IndividualModel.class.getPackage().getName();
+
+  public FieldSetModule() {
+
+    super(FieldSetModule.class.getSimpleName());
+
+    setSerializerModifier(new BeanSerializerModifier() {
+
+      @Override
+      public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription description,
+                                                       List<BeanPropertyWriter> properties) {
+
+        if (!description.getBeanClass().getName().startsWith(MODELS + ".")) {
+          return properties;
+        }
+
+        return properties.stream().map(SparseWriter::new).collect(Collectors.toList());
+      }
+
+    });
+
+  }
+
+  static class SparseWriter extends BeanPropertyWriter {
+
+    SparseWriter(BeanPropertyWriter writer) {
+      super(writer);
+    }
+
+    @Override
+    public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider provider) throws Exception {
+
+      if (get(bean) == null && FieldSet.current().isSparse()) {
+        return;
+      }
+
+      super.serializeAsField(bean, gen, provider);
+    }
+
+  }
+
+}
+
+// https://github.com/FasterXML/jackson-docs/wiki/JacksonHowToCustomSerializers
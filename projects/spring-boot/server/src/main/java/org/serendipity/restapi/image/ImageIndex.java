@@ -0,0 +1,90 @@
+package org.serendipity.restapi.image;
+
+import lombok.extern.slf4j.Slf4j;
+import org.serendipity.restapi.entity.Individual;
+import org.serendipity.restapi.entity.Name;
+import org.serendipity.restapi.type.au.Sex;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+@Component
+@Slf4j
+public class ImageIndex {
+
+  // The set of images served from "public/images", built at startup so resolving a photo url is a set lookup
+  // rather than a class loader resource lookup per row.
+
+  static final String LOCATION = "classpath*:public/images/*";
+
+  static final String IMAGES = "images/";
+  static final String MALE_AVATAR = IMAGES + "male-avatar.svg";
+  static final String FEMALE_AVATAR = IMAGES + "female-avatar.svg";
+
+  private volatile Set<String> images = Collections.emptySet();
+
+  @PostConstruct
+  public void refresh() {
+
+    log.info("Index images ...");
+
+    Set<String> urls = new HashSet<>();
+
+    try {
+
+      for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+
+        if (resource.getFilename() != null && !resource.getFilename().isEmpty()) {
+          urls.add(IMAGES + resource.getFilename());
+        }
+
+      }
+
+    } catch (IOException e) {
+
+      log.error("{}", e.getLocalizedMessage());
+    }
+
+    images = Collections.unmodifiableSet(urls);
+
+    log.info("Index images complete: {} images", urls.size());
+  }
+
+  public boolean exists(String url) {
+    return images.contains(url);
+  }
+
+  public String getPhotoUrl(Individual individual) {
+
+    Name name = individual.getName();
+
+    if (name == null) {
+      return getPhotoUrl(null, null, individual.getSex());
+    }
+
+    return getPhotoUrl(name.getFamilyName(), name.getGivenName(), individual.getSex());
+  }
+
+  public String getPhotoUrl(String familyName, String givenName, String sex) {
+
+    if (familyName != null && givenName != null) {
+
+      // "images/albanese-anthony.jpg"
+      String url = IMAGES + familyName.toLowerCase() + "-" + givenName.toLowerCase() + ".jpg";
+
+      if (exists(url)) {
+        return url;
+      }
+
+    }
+
+    return Sex.FEMALE.toString().equals(sex) ? FEMALE_AVATAR : MALE_AVATAR;
+  }
+
+}
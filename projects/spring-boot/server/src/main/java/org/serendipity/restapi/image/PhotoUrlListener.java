@@ -0,0 +1,25 @@
+package org.serendipity.restapi.image;
+
+import org.serendipity.restapi.entity.Individual;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+
+@Component
+public class PhotoUrlListener {
+
+  // Resolve an Individual's photo url at write time, so reads are a field copy.
+  // Hibernate obtains entity listeners from the Spring container (SpringBeanContainer), so they can be autowired.
+
+  @Autowired
+  private ImageIndex imageIndex;
+
+  @PrePersist
+  @PreUpdate
+  public void setPhotoUrl(Individual individual) {
+    individual.setPhotoUrl(imageIndex.getPhotoUrl(individual));
+  }
+
+}
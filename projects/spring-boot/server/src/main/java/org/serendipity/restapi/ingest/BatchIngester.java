@@ -0,0 +1,265 @@
+package org.serendipity.restapi.ingest;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+@Component
+@Slf4j
+public class BatchIngester {
+
+  // Items are read one at a time from the request body (a JSON array or NDJSON) and persisted in chunks, each chunk
+  // in its own transaction so its inserts are sent as JDBC batches (hibernate.jdbc.batch_size) and its persistence
+  // context is discarded when it commits. If a chunk fails, its items are retried one at a time so only the items
+  // that can't be persisted (e.g. a unique constraint violation) are reported as failed, and ingest continues.
+  //
+  // An item that can't be read (an NDJSON line that isn't valid JSON, or a value of the wrong type) is reported as
+  // failed and the next one is read. A JSON array whose syntax is invalid can't be read past the error.
+  // If the body can't be read (e.g. the client disconnected) the pending chunk isn't persisted, as no result is sent.
+
+  private final ObjectMapper mapper;
+  private final TransactionTemplate transactionTemplate;
+  private final int chunkSize;
+
+  public BatchIngester(ObjectMapper mapper, TransactionTemplate transactionTemplate,
+                       @Value("${serendipity.ingest.chunk-size:500}") int chunkSize) {
+
+    this.mapper = mapper;
+    this.transactionTemplate = transactionTemplate;
+    this.chunkSize = chunkSize;
+  }
+
+  public <T> BatchResult ingest(InputStream in, Class<T> type, BatchWriter<T> writer, boolean upsert)
+    throws IOException {
+
+    BatchResult result = new BatchResult();
+
+    Chunk<T> chunk = new Chunk<>(writer, upsert, result);
+
+    BufferedInputStream body = new BufferedInputStream(in);
+
+    if (isArray(body)) {
+      readArray(body, type, chunk);
+    } else {
+      readLines(body, type, chunk);
+    }
+
+    // Only once the whole body has been read
+    write(chunk);
+
+    result.getItems().sort(Comparator.comparingInt(BatchItemResult::getIndex));
+
+    log.info("Ingest complete: {} created, {} updated, {} failed", result.getCreated(), result.getUpdated(),
+      result.getFailed());
+
+    return result;
+  }
+
+  // A root level array is unwrapped, a value that can't be mapped is skipped (the iterator resyncs to the next one).
+  // A syntax error inside a value is wrapped in a JsonMappingException by the value's deserializer, it ends the read.
+
+  private <T> void readArray(InputStream in, Class<T> type, Chunk<T> chunk) throws IOException {
+
+    MappingIterator<T> iterator = mapper.readerFor(type).readValues(in);
+
+    int index = 0;
+
+    try {
+
+      while (iterator.hasNextValue()) {
+
+        try {
+
+          add(chunk, index, iterator.nextValue());
+
+        } catch (JsonMappingException e) {
+
+          if (e.getCause() instanceof JsonParseException) {
+            throw (JsonParseException) e.getCause();
+          }
+
+          chunk.result.add(BatchItemResult.failed(index, "Invalid item: " + e.getOriginalMessage()));
+        }
+
+        index++;
+      }
+
+    } catch (JsonParseException e) {
+
+      // The rest of the array can't be read, items read before this one are still persisted
+      log.error("{}", e.getLocalizedMessage());
+
+      chunk.result.add(BatchItemResult.failed(index, "Invalid JSON: " + e.getOriginalMessage()));
+    }
+
+  }
+
+  // NDJSON: one value per line, a line that can't be read doesn't affect the others
+
+  private <T> void readLines(InputStream in, Class<T> type, Chunk<T> chunk) throws IOException {
+
+    ObjectReader reader = mapper.readerFor(type);
+
+    BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+    int index = 0;
+
+    for (String line; (line = lines.readLine()) != null; ) {
+
+      if (line.trim().isEmpty()) {
+        continue;
+      }
+
+      try {
+
+        add(chunk, index, reader.readValue(line));
+
+      } catch (JsonMappingException e) {
+
+        if (e.getCause() instanceof JsonParseException) {
+          String message = ((JsonParseException) e.getCause()).getOriginalMessage();
+          chunk.result.add(BatchItemResult.failed(index, "Invalid JSON: " + message));
+        } else {
+          chunk.result.add(BatchItemResult.failed(index, "Invalid item: " + e.getOriginalMessage()));
+        }
+
+      } catch (JsonProcessingException e) {
+
+        chunk.result.add(BatchItemResult.failed(index, "Invalid JSON: " + e.getOriginalMessage()));
+      }
+
+      index++;
+    }
+
+  }
+
+  private <T> void add(Chunk<T> chunk, int index, T item) {
+
+    try {
+
+      chunk.writer.validate(item);
+
+      chunk.items.add(item);
+      chunk.indexes.add(index);
+
+    } catch (IllegalArgumentException e) {
+
+      chunk.result.add(BatchItemResult.failed(index, e.getLocalizedMessage()));
+    }
+
+    if (chunk.items.size() == chunkSize) {
+      write(chunk);
+    }
+
+  }
+
+  // Leading whitespace is skipped (it's insignificant in both formats), only the first other byte is read ahead, so
+  // the mark doesn't grow the buffer
+
+  private static boolean isArray(BufferedInputStream in) throws IOException {
+
+    while (true) {
+
+      in.mark(1);
+
+      int c = in.read();
+
+      if (c == -1) {
+        return false;
+      }
+
+      if (!Character.isWhitespace(c)) {
+        in.reset();
+        return c == '[';
+      }
+
+    }
+
+  }
+
+  private <T> void write(Chunk<T> chunk) {
+
+    if (chunk.items.isEmpty()) {
+      return;
+    }
+
+    try {
+
+      List<BatchItemResult.Status> statuses = transactionTemplate.execute(status ->
+        chunk.writer.write(chunk.items, chunk.upsert));
+
+      for (int i = 0; i < chunk.items.size(); i++) {
+        chunk.result.add(new BatchItemResult(chunk.indexes.get(i), chunk.writer.getId(chunk.items.get(i)),
+          statuses.get(i), null));
+      }
+
+    } catch (Exception e) {
+
+      log.error("Chunk rolled back, retrying its items one at a time: {}", e.getLocalizedMessage());
+
+      for (int i = 0; i < chunk.items.size(); i++) {
+        writeOne(chunk, chunk.indexes.get(i), chunk.items.get(i));
+      }
+
+    }
+
+    chunk.items.clear();
+    chunk.indexes.clear();
+  }
+
+  private <T> void writeOne(Chunk<T> chunk, int index, T item) {
+
+    try {
+
+      List<BatchItemResult.Status> statuses = transactionTemplate.execute(status ->
+        chunk.writer.write(Collections.singletonList(item), chunk.upsert));
+
+      chunk.result.add(new BatchItemResult(index, chunk.writer.getId(item), statuses.get(0), null));
+
+    } catch (Exception e) {
+
+      log.error("{}", e.getLocalizedMessage());
+
+      chunk.result.add(BatchItemResult.failed(index, "Rolled back: " + e.getClass().getSimpleName()));
+    }
+
+  }
+
+  // The items read but not yet persisted, and their positions in the request
+
+  private static class Chunk<T> {
+
+    private final BatchWriter<T> writer;
+    private final boolean upsert;
+    private final BatchResult result;
+
+    private final List<T> items = new ArrayList<>();
+    private final List<Integer> indexes = new ArrayList<>();
+
+    Chunk(BatchWriter<T> writer, boolean upsert, BatchResult result) {
+      this.writer = writer;
+      this.upsert = upsert;
+      this.result = result;
+    }
+
+  }
+
+}
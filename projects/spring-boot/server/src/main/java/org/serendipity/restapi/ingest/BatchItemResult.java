@@ -0,0 +1,26 @@
+package org.serendipity.restapi.ingest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+  public enum Status { CREATED, UPDATED, FAILED }
+
+  private final int index; // The item's position in the request
+
+  private final Long id;
+
+  private final Status status;
+
+  private final String error;
+
+  public static BatchItemResult failed(int index, String error) {
+    return new BatchItemResult(index, null, Status.FAILED, error);
+  }
+
+}
@@ -0,0 +1,41 @@
+package org.serendipity.restapi.ingest;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public class BatchResult {
+
+  // A compact summary of a bulk ingest, the counts and the id (or error) of each item in request order
+
+  private int created;
+
+  private int updated;
+
+  private int failed;
+
+  private final List<BatchItemResult> items = new ArrayList<>();
+
+  void add(BatchItemResult item) {
+
+    switch (item.getStatus()) {
+
+      case CREATED:
+        created++;
+        break;
+
+      case UPDATED:
+        updated++;
+        break;
+
+      default:
+        failed++;
+        break;
+    }
+
+    items.add(item);
+  }
+
+}
@@ -0,0 +1,18 @@
+package org.serendipity.restapi.ingest;
+
+import java.util.List;
+
+public interface BatchWriter<T> {
+
+  // Throw an IllegalArgumentException if an item can't be persisted, the item is reported as failed
+
+  void validate(T item) throws IllegalArgumentException;
+
+  // Persist a chunk of (valid) items, called inside a transaction. Returns the status of each item (in order), either
+  // CREATED or, when upsert is requested and an item matches an existing row on its natural key, UPDATED.
+
+  List<BatchItemResult.Status> write(List<T> items, boolean upsert);
+
+  Long getId(T item);
+
+}
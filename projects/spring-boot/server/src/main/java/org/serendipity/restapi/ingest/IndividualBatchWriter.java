@@ -0,0 +1,122 @@
+package org.serendipity.restapi.ingest;
+
+import org.serendipity.restapi.entity.Individual;
+import org.serendipity.restapi.entity.Name;
+import org.serendipity.restapi.entity.Party;
+import org.serendipity.restapi.repository.IndividualRepository;
+import org.serendipity.restapi.type.PartyType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class IndividualBatchWriter implements BatchWriter<Individual> {
+
+  // The natural key of an Individual is their email address
+
+  @Autowired
+  private IndividualRepository repository;
+
+  @Override
+  public void validate(Individual item) throws IllegalArgumentException {
+
+    Name name = item.getName();
+
+    if (name == null || name.getFamilyName() == null || name.getFamilyName().isEmpty()) {
+      throw new IllegalArgumentException("name.familyName is required");
+    }
+
+  }
+
+  @Override
+  public List<BatchItemResult.Status> write(List<Individual> items, boolean upsert) {
+
+    // One query per chunk, rather than one per item
+    Map<String, Individual> existing = upsert ?
+      repository.findByEmailIn(items.stream()
+        .map(Individual::getEmail)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet())).stream()
+        .collect(Collectors.toMap(Individual::getEmail, Function.identity(), (first, second) -> first)) :
+      new HashMap<>();
+
+    List<BatchItemResult.Status> statuses = new ArrayList<>(items.size());
+
+    for (Individual item : items) {
+
+      Individual match = item.getEmail() != null ? existing.get(item.getEmail()) : null;
+
+      if (match != null) {
+
+        update(match, item);
+        item.setId(match.getId());
+
+        statuses.add(BatchItemResult.Status.UPDATED);
+
+        continue;
+      }
+
+      item.setId(null);
+      item.setParty(toParty(item));
+
+      repository.save(item);
+
+      if (upsert && item.getEmail() != null) {
+        existing.put(item.getEmail(), item);
+      }
+
+      statuses.add(BatchItemResult.Status.CREATED);
+    }
+
+    return statuses;
+  }
+
+  @Override
+  public Long getId(Individual item) {
+    return item.getId();
+  }
+
+  private static Party toParty(Individual item) {
+
+    Party party = item.getParty() != null ? item.getParty() : new Party();
+
+    party.setId(null);
+    party.setType(PartyType.INDIVIDUAL);
+
+    if (party.getDisplayName() == null || party.getDisplayName().isEmpty()) {
+      party.setDisplayName(item.getName().getFamilyName() + ", " + item.getName().getGivenName());
+    }
+
+    party.setAddresses(new HashSet<>());
+    party.setRoles(new HashSet<>());
+
+    return party;
+  }
+
+  // The managed entity is updated in place (dirty checking), the Party is touched so its ETag changes
+
+  private static void update(Individual entity, Individual item) {
+
+    entity.setName(item.getName());
+    entity.setSex(item.getSex());
+    entity.setGender(item.getGender());
+    entity.setPhoneNumber(item.getPhoneNumber());
+    entity.setElectorate(item.getElectorate());
+    entity.setDateOfBirth(item.getDateOfBirth());
+    entity.setPlaceOfBirth(item.getPlaceOfBirth());
+    entity.setCountryOfBirth(item.getCountryOfBirth());
+    entity.setDateOfDeath(item.getDateOfDeath());
+    entity.setPlaceOfDeath(item.getPlaceOfDeath());
+    entity.setCountryOfDeath(item.getCountryOfDeath());
+
+    if (item.getParty() != null && item.getParty().getDisplayName() != null) {
+      entity.getParty().setDisplayName(item.getParty().getDisplayName());
+    }
+
+    entity.getParty().setUpdatedAt(new Date());
+  }
+
+}
@@ -0,0 +1,108 @@
+package org.serendipity.restapi.ingest;
+
+import org.serendipity.restapi.entity.Organisation;
+import org.serendipity.restapi.entity.Party;
+import org.serendipity.restapi.repository.OrganisationRepository;
+import org.serendipity.restapi.type.PartyType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class OrganisationBatchWriter implements BatchWriter<Organisation> {
+
+  // The natural key of an Organisation is its name
+
+  @Autowired
+  private OrganisationRepository repository;
+
+  @Override
+  public void validate(Organisation item) throws IllegalArgumentException {
+
+    if (item.getName() == null || item.getName().isEmpty()) {
+      throw new IllegalArgumentException("name is required");
+    }
+
+  }
+
+  @Override
+  public List<BatchItemResult.Status> write(List<Organisation> items, boolean upsert) {
+
+    // One query per chunk, rather than one per item
+    Map<String, Organisation> existing = upsert ?
+      repository.findByNameIn(items.stream()
+        .map(Organisation::getName)
+        .collect(Collectors.toSet())).stream()
+        .collect(Collectors.toMap(Organisation::getName, Function.identity(), (first, second) -> first)) :
+      new HashMap<>();
+
+    List<BatchItemResult.Status> statuses = new ArrayList<>(items.size());
+
+    for (Organisation item : items) {
+
+      Organisation match = existing.get(item.getName());
+
+      if (match != null) {
+
+        update(match, item);
+        item.setId(match.getId());
+
+        statuses.add(BatchItemResult.Status.UPDATED);
+
+        continue;
+      }
+
+      item.setId(null);
+      item.setParty(toParty(item));
+
+      repository.save(item);
+
+      if (upsert) {
+        existing.put(item.getName(), item);
+      }
+
+      statuses.add(BatchItemResult.Status.CREATED);
+    }
+
+    return statuses;
+  }
+
+  @Override
+  public Long getId(Organisation item) {
+    return item.getId();
+  }
+
+  private static Party toParty(Organisation item) {
+
+    Party party = item.getParty() != null ? item.getParty() : new Party();
+
+    party.setId(null);
+    party.setType(PartyType.ORGANISATION);
+
+    if (party.getDisplayName() == null || party.getDisplayName().isEmpty()) {
+      party.setDisplayName(item.getName());
+    }
+
+    party.setAddresses(new HashSet<>());
+    party.setRoles(new HashSet<>());
+
+    return party;
+  }
+
+  private static void update(Organisation entity, Organisation item) {
+
+    entity.setEmail(item.getEmail());
+    entity.setPhoneNumber(item.getPhoneNumber());
+    entity.setEstablishmentDate(item.getEstablishmentDate());
+
+    if (item.getParty() != null && item.getParty().getDisplayName() != null) {
+      entity.getParty().setDisplayName(item.getParty().getDisplayName());
+    }
+
+    entity.getParty().setUpdatedAt(new Date());
+  }
+
+}
@@ -0,0 +1,216 @@
+package org.serendipity.restapi.logging;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class PayloadLogger {
+
+  // Request threads only sample and enqueue, a single background thread serializes and writes the payloads.
+  // The writer is created once, ObjectWriter instances are immutable and thread-safe.
+  //
+  // Only detached data is queued: models (built by the assemblers) and ids. An entity can't be, its lazy associations
+  // would be read on this thread after (or while) the request's session is used.
+
+  private final PayloadLoggerProperties properties;
+
+  private final ObjectWriter writer;
+
+  private final BlockingQueue<Event> queue;
+
+  private final AtomicLong dropped = new AtomicLong();
+
+  private Thread worker;
+
+  public PayloadLogger(PayloadLoggerProperties properties) {
+
+    this.properties = properties;
+
+    ObjectMapper mapper = new ObjectMapper();
+
+    mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+
+    this.writer = mapper.writerWithDefaultPrettyPrinter();
+    this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+  }
+
+  @PostConstruct
+  public void start() {
+
+    worker = new Thread(this::drain, "payload-logger");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  @PreDestroy
+  public void stop() {
+
+    if (worker != null) {
+      worker.interrupt();
+    }
+
+  }
+
+  public void log(String endpoint, Object model) {
+
+    if (sampled(endpoint)) {
+      enqueue(new Event(endpoint, model));
+    }
+
+  }
+
+  // For an endpoint that doesn't otherwise build a model (e.g. an update), the model is only built (on the request
+  // thread) if the payload is sampled. A model that can't be built isn't logged, the request carries on.
+
+  public void log(String endpoint, Supplier<?> model) {
+
+    if (!sampled(endpoint)) {
+      return;
+    }
+
+    try {
+
+      enqueue(new Event(endpoint, model.get()));
+
+    } catch (RuntimeException e) {
+
+      log.warn("{} payload: {}", endpoint, e.getLocalizedMessage());
+    }
+
+  }
+
+  private boolean sampled(String endpoint) {
+
+    if (!properties.isEnabled() || !log.isInfoEnabled()) {
+      return false;
+    }
+
+    double samplingRate = properties.getSamplingRate(endpoint);
+
+    return samplingRate > 0.0 && (samplingRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < samplingRate);
+  }
+
+  private void enqueue(Event event) {
+
+    if (event.payload != null && !queue.offer(event)) {
+      dropped.incrementAndGet();
+    }
+
+  }
+
+  public long getDropped() {
+    return dropped.get();
+  }
+
+  private void drain() {
+
+    try {
+
+      while (!Thread.currentThread().isInterrupted()) {
+
+        Event event = queue.take();
+
+        log.info("{} payload: {}", event.endpoint, "\n" + write(event.payload));
+
+      }
+
+    } catch (InterruptedException e) {
+
+      Thread.currentThread().interrupt();
+    }
+
+  }
+
+  // Serialization stops once maxSize characters have been written, a large payload isn't rendered in full
+
+  private String write(Object value) {
+
+    BoundedWriter out = new BoundedWriter(properties.getMaxSize());
+
+    try {
+
+      writer.writeValue(out, value);
+
+    } catch (IOException e) {
+
+      if (!out.isTruncated()) {
+        return "Json Processing Exception: " + e.getLocalizedMessage();
+      }
+
+    }
+
+    return out.isTruncated() ? out + "... (truncated at " + properties.getMaxSize() + " characters)" : out.toString();
+  }
+
+  @AllArgsConstructor
+  private static class Event {
+
+    private final String endpoint;
+    private final Object payload;
+
+  }
+
+  // A Writer that keeps the first maxSize characters and then fails, which stops the serializer
+
+  static class BoundedWriter extends Writer {
+
+    private final StringBuilder buffer = new StringBuilder();
+    private final int maxSize;
+
+    private boolean truncated;
+
+    BoundedWriter(int maxSize) {
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+
+      int remaining = maxSize - buffer.length();
+
+      if (length > remaining) {
+
+        buffer.append(chars, offset, Math.max(remaining, 0));
+        truncated = true;
+
+        throw new IOException("Payload exceeds " + maxSize + " characters");
+      }
+
+      buffer.append(chars, offset, length);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    boolean isTruncated() {
+      return truncated;
+    }
+
+    @Override
+    public String toString() {
+      return buffer.toString();
+    }
+
+  }
+
+}
@@ -0,0 +1,38 @@
+package org.serendipity.restapi.logging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "serendipity.payload-logging")
+@Setter
+@Getter
+public class PayloadLoggerProperties {
+
+  private boolean enabled = true;
+
+  // The fraction of requests (0.0 - 1.0) whose payloads are logged, per endpoint, for example:
+  // serendipity.payload-logging.sampling-rates.electoral-division-find-all=0.0
+
+  private double samplingRate = 0.1;
+
+  private Map<String, Double> samplingRates = new HashMap<>();
+
+  // Payloads are truncated to maxSize characters
+
+  private int maxSize = 4096;
+
+  // Events are dropped (not queued) when the queue is full
+
+  private int queueCapacity = 1000;
+
+  public double getSamplingRate(String endpoint) {
+    return samplingRates.getOrDefault(endpoint, samplingRate);
+  }
+
+}
@@ -0,0 +1,34 @@
+package org.serendipity.restapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.hateoas.PagedModel;
+
+import java.util.List;
+import java.util.Map;
+
+@AllArgsConstructor
+@Getter
+public class CompactModel<T> {
+
+  // The compact representation of a page (?representation=compact): plain JSON rows (see: IndividualCompactModel,
+  // OrganisationCompactModel) that carry ids instead of nested resources, and the page's links at the top level only.
+  //
+  // For example:
+  //
+  // {
+  //   "content": [ { "id": 19, "givenName": "Anthony", "familyName": "Albanese", "electorate": "Grayndler", ... } ],
+  //   "page": { "size": 20, "totalElements": 227, "totalPages": 12, "number": 0 },
+  //   "links": { "self": "http://localhost:8080/api/individuals?representation=compact&page=0&size=20", ... }
+  // }
+
+  public static final String PARAMETER = "representation";
+  public static final String COMPACT = "compact";
+
+  private final List<T> content;
+
+  private final PagedModel.PageMetadata page;
+
+  private final Map<String, String> links;
+
+}
@@ -1,5 +1,6 @@
 package org.serendipity.restapi.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 import org.springframework.hateoas.RepresentationModel;
 
@@ -19,7 +20,10 @@ public class ElectoralDivisionModel extends RepresentationModel<ElectoralDivisio
   private String area;
   private String locationDescription;
   private Date dateGazetted;
-  private String latitude;
-  private String longitude;
+  private Double latitude;
+  private Double longitude;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Double distance; // metres, nearest search only
 
 }
@@ -0,0 +1,40 @@
+package org.serendipity.restapi.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Getter;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+
+import java.util.Collections;
+import java.util.List;
+
+@Getter
+@JsonPropertyOrder({ "_embedded", "_links", "missing" })
+public class IdsModel<T> extends RepresentationModel<IdsModel<T>> {
+
+  // A collection resolved from a list of ids (?ids=), in request order. The ids that weren't found are listed, for
+  // example: { "_embedded": { "individualModels": [ ... ] }, "_links": { "self": ... }, "missing": [ 4, 6 ] }
+  //
+  // Note: Not a CollectionModel, its public constructors are deprecated (use CollectionModel.of()) and a subclass
+  // can't be built that way, the content is rendered as CollectionModel's is (see: Jackson2HalModule).
+
+  @JsonProperty("_embedded")
+  @JsonInclude(JsonInclude.Include.NON_EMPTY)
+  @JsonSerialize(using = Jackson2HalModule.HalResourcesSerializer.class)
+  private final List<T> content;
+
+  private final List<Long> missing;
+
+  public IdsModel(List<T> content, List<Long> missing, Link... links) {
+
+    super(List.of(links));
+
+    this.content = Collections.unmodifiableList(content);
+    this.missing = missing;
+  }
+
+}
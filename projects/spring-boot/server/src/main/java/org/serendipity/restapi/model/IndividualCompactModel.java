@@ -0,0 +1,41 @@
+package org.serendipity.restapi.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.Date;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IndividualCompactModel {
+
+  // A row of the compact representation (see: CompactModel), the Individual's name is flattened and its Party is
+  // reduced to its display name. The addresses, roles and other names are in the detail representation.
+  // Null fields are omitted.
+
+  private Long id;
+  private String displayName;
+  private String title;
+  private String givenName;
+  private String middleName;
+  private String familyName;
+  private String preferredName;
+  private String sex;
+  private String email;
+  private String phoneNumber;
+  private String photoUrl;
+  private String electorate;
+
+  private Date dateOfBirth;
+  private String placeOfBirth;
+  private String countryOfBirth;
+
+  private Date dateOfDeath;
+  private String placeOfDeath;
+  private String countryOfDeath;
+
+}
@@ -0,0 +1,21 @@
+package org.serendipity.restapi.model;
+
+import lombok.*;
+import org.springframework.hateoas.RepresentationModel;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+public class IndividualSummaryModel extends RepresentationModel<IndividualSummaryModel> {
+
+  private Long id;
+  private String title;
+  private String givenName;
+  private String familyName;
+  private String displayName;
+  private String electorate;
+  private String photoUrl;
+
+}
@@ -0,0 +1,23 @@
+package org.serendipity.restapi.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrganisationCompactModel {
+
+  // A row of the compact representation (see: CompactModel), the Organisation's Party is reduced to its display name,
+  // null fields are omitted
+
+  private Long id;
+  private String displayName;
+  private String name;
+  private String email;
+  private String phoneNumber;
+
+}
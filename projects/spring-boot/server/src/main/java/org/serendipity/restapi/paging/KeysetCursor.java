@@ -0,0 +1,51 @@
+package org.serendipity.restapi.paging;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@AllArgsConstructor
+@Getter
+public class KeysetCursor {
+
+  // A keyset (seek) cursor identifies the last row of a page by its sort key and id, so the next page can be
+  // fetched with "WHERE (key, id) > (:key, :id)" against an index instead of an OFFSET scan.
+  // See: https://use-the-index-luke.com/no-offset
+
+  private static final String SEPARATOR = ":";
+
+  private final String key;
+
+  private final Long id;
+
+  // The token is opaque to clients, for example: "MTIzOkFsYmFuZXNl" (123:Albanese)
+
+  public String encode() {
+
+    String value = id + SEPARATOR + (key != null ? key : "");
+
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  // An empty token (?after=) requests the first page
+
+  public static KeysetCursor decode(String token) throws IllegalArgumentException {
+
+    if (token == null || token.isEmpty()) {
+      return null;
+    }
+
+    String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+
+    int index = value.indexOf(SEPARATOR);
+
+    if (index < 1) {
+      throw new IllegalArgumentException("Invalid cursor: " + token);
+    }
+
+    return new KeysetCursor(value.substring(index + 1), Long.valueOf(value.substring(0, index)));
+  }
+
+}
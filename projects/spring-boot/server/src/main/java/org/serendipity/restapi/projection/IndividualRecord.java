@@ -0,0 +1,29 @@
+package org.serendipity.restapi.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+@AllArgsConstructor
+@Getter
+public class IndividualRecord {
+
+  // A flat DTO projection of an Individual used by the export (see: IndividualRepository.streamAllRecords()).
+  // Rows are not managed entities, so the persistence context doesn't grow as the result set is streamed.
+
+  private final Long id;
+  private final String title;
+  private final String givenName;
+  private final String middleName;
+  private final String familyName;
+  private final String honorific;
+  private final String displayName; // Party.displayName
+  private final String sex;
+  private final String email;
+  private final String phoneNumber;
+  private final String electorate;
+  private final String photoUrl;
+  private final Date dateOfBirth;
+
+}
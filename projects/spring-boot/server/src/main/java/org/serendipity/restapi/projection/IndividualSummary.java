@@ -0,0 +1,24 @@
+package org.serendipity.restapi.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class IndividualSummary {
+
+  // A DTO projection populated directly by a JPQL constructor expression (see: IndividualRepository), it reads only
+  // the columns a table view needs rather than hydrating the Individual -> Party -> Address/Role graph.
+
+  private final Long id;
+  private final String title;
+  private final String givenName;
+  private final String familyName;
+  private final String displayName; // Party.displayName
+  private final String sex;
+  private final String electorate;
+  private final String photoUrl;
+
+}
+
+// https://vladmihalcea.com/the-best-way-to-map-a-projection-query-to-a-dto-with-jpa-and-hibernate/
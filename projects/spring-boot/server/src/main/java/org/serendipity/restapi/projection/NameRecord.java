@@ -0,0 +1,29 @@
+package org.serendipity.restapi.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class NameRecord {
+
+  // The searchable parts of a Name, read by the name index (see: NameIndexLoader). An Individual's principal name has
+  // no nameId, a name from the IndividualName history has the IndividualName's id.
+
+  private final Long individualId;
+  private final Long nameId;
+  private final String givenName;
+  private final String preferredGivenName;
+  private final String middleName;
+  private final String familyName;
+  private final String preferredFamilyName;
+  private final String preferredName;
+
+  public NameRecord(Long individualId, String givenName, String preferredGivenName, String middleName,
+                    String familyName, String preferredFamilyName, String preferredName) {
+
+    this(individualId, null, givenName, preferredGivenName, middleName, familyName, preferredFamilyName,
+      preferredName);
+  }
+
+}
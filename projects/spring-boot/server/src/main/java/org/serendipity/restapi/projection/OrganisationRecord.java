@@ -0,0 +1,21 @@
+package org.serendipity.restapi.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+@AllArgsConstructor
+@Getter
+public class OrganisationRecord {
+
+  // A flat DTO projection of an Organisation used by the export (see: OrganisationRepository.streamAllRecords()).
+
+  private final Long id;
+  private final String name;
+  private final String displayName; // Party.displayName
+  private final String email;
+  private final String phoneNumber;
+  private final Date establishmentDate;
+
+}
@@ -3,14 +3,19 @@ package org.serendipity.restapi.repository;
 import org.serendipity.restapi.entity.ElectoralDivision;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
 
 public interface ElectoralDivisionRepository extends PagingAndSortingRepository<ElectoralDivision, Long> {
 
   Page<ElectoralDivision> findAll(Pageable pageable);
 
+  // Reference data, the result is held in the query cache (see: ehcache.xml)
+
+  @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
   Optional<ElectoralDivision> findByName(String name);
 
 }
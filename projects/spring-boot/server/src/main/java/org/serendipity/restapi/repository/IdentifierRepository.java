@@ -11,4 +11,6 @@ public interface IdentifierRepository extends PagingAndSortingRepository<Identif
 
   Page<Identifier> findByType(String type, Pageable pageable);
 
+  boolean existsByTypeAndValue(String type, String value);
+
 }
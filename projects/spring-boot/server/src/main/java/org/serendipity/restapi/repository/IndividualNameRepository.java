@@ -1,8 +1,27 @@
 package org.serendipity.restapi.repository;
 
 import org.serendipity.restapi.entity.IndividualName;
+import org.serendipity.restapi.export.ExportWriter;
+import org.serendipity.restapi.projection.NameRecord;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
+import javax.persistence.QueryHint;
+import java.util.stream.Stream;
+
 public interface IndividualNameRepository extends PagingAndSortingRepository<IndividualName, Long> {
 
+  // Name index: the searchable parts of every name in the IndividualName history, see: NameIndexLoader
+
+  @QueryHints({
+    @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = ExportWriter.FETCH_SIZE),
+    @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+  })
+  @Query("SELECT new org.serendipity.restapi.projection.NameRecord(" +
+    "n.individual.id, n.id, n.name.givenName, n.name.preferredGivenName, n.name.middleName, n.name.familyName, " +
+    "n.name.preferredFamilyName, n.name.preferredName) " +
+    "FROM IndividualName n ORDER BY n.id")
+  Stream<NameRecord> streamAllNames();
+
 }
@@ -1,18 +1,143 @@
 package org.serendipity.restapi.repository;
 
 import org.serendipity.restapi.entity.Individual;
+import org.serendipity.restapi.export.ExportWriter;
+import org.serendipity.restapi.projection.IndividualRecord;
+import org.serendipity.restapi.projection.IndividualSummary;
+import org.serendipity.restapi.projection.NameRecord;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface IndividualRepository extends PagingAndSortingRepository<Individual, Long> {
 
+  // Fetch plans: list endpoints join fetch the Party and batch fetch its collections (see: Party),
+  // the detail endpoint fetches the whole graph in a single query.
+
+  // Note: A fetch graph passed to EntityManager.find() doesn't join the @MapsId Party, a query does.
+
+  @EntityGraph("Individual.detail")
+  @Query("SELECT i FROM Individual i WHERE i.id = :id")
+  Optional<Individual> findById(@Param("id") Long id);
+
+  // A sparse representation that doesn't select the Party's collections (see: FieldSet) only joins the Party
+
+  @EntityGraph("Individual.party")
+  @Query("SELECT i FROM Individual i WHERE i.id = :id")
+  Optional<Individual> findWithPartyById(@Param("id") Long id);
+
+  // Conditional GET: the validator (Party.updatedAt) is read without loading the graph
+
+  @Query("SELECT COALESCE(p.updatedAt, p.createdAt) FROM Individual i JOIN i.party p WHERE i.id = :id")
+  Optional<Date> findUpdatedAtById(@Param("id") Long id);
+
+  // Individual fields aren't stored in the Party table, so an update bumps Party.updatedAt explicitly
+
+  @Modifying
+  @Transactional
+  @Query("UPDATE Party p SET p.updatedAt = :updatedAt WHERE p.id = :id")
+  int touch(@Param("id") Long id, @Param("updatedAt") Date updatedAt);
+
+  @EntityGraph("Individual.party")
   Page<Individual> findAll(Pageable pageable);
 
+  @EntityGraph("Individual.party")
   Page<Individual> findByNameFamilyNameStartsWith(String name, Pageable pageable);
 
+  // Keyset pagination: seek on the (familyName, id) index, a Slice doesn't issue a count query
+
+  @EntityGraph("Individual.party")
+  Slice<Individual> findAllByOrderByNameFamilyNameAscIdAsc(Pageable pageable);
+
+  @EntityGraph("Individual.party")
+  @Query("SELECT i FROM Individual i " +
+    "WHERE i.name.familyName > :familyName OR (i.name.familyName = :familyName AND i.id > :id) " +
+    "ORDER BY i.name.familyName ASC, i.id ASC")
+  Slice<Individual> findAllAfter(@Param("familyName") String familyName, @Param("id") Long id, Pageable pageable);
+
+  @EntityGraph("Individual.party")
+  Slice<Individual> findByNameFamilyNameStartsWithOrderByNameFamilyNameAscIdAsc(String name, Pageable pageable);
+
+  // The prefix is escaped (as the derived StartsWith query's is), so a _ or % in it isn't a wildcard
+
+  @EntityGraph("Individual.party")
+  @Query("SELECT i FROM Individual i " +
+    "WHERE i.name.familyName LIKE CONCAT(:#{escape(#name)}, '%') ESCAPE '\\' " +
+    "AND (i.name.familyName > :familyName OR (i.name.familyName = :familyName AND i.id > :id)) " +
+    "ORDER BY i.name.familyName ASC, i.id ASC")
+  Slice<Individual> findByNameFamilyNameStartsWithAfter(@Param("name") String name,
+                                                        @Param("familyName") String familyName,
+                                                        @Param("id") Long id,
+                                                        Pageable pageable);
+
+  // Bulk ingest: match existing rows on the natural key (email), see: IndividualBatchWriter
+
+  @EntityGraph("Individual.party")
+  List<Individual> findByEmailIn(Collection<String> emails);
+
+  // Summary (table view) projections, only the columns the list views need
+
+  @Query(value = "SELECT new org.serendipity.restapi.projection.IndividualSummary(" +
+    "i.id, i.name.title, i.name.givenName, i.name.familyName, p.displayName, i.sex, i.electorate, i.photoUrl) " +
+    "FROM Individual i JOIN i.party p",
+    countQuery = "SELECT count(i) FROM Individual i")
+  Page<IndividualSummary> findAllSummaries(Pageable pageable);
+
+  @Query(value = "SELECT new org.serendipity.restapi.projection.IndividualSummary(" +
+    "i.id, i.name.title, i.name.givenName, i.name.familyName, p.displayName, i.sex, i.electorate, i.photoUrl) " +
+    "FROM Individual i JOIN i.party p WHERE i.name.familyName LIKE CONCAT(:#{escape(#name)}, '%') ESCAPE '\\'",
+    countQuery = "SELECT count(i) FROM Individual i " +
+      "WHERE i.name.familyName LIKE CONCAT(:#{escape(#name)}, '%') ESCAPE '\\'")
+  Page<IndividualSummary> findSummariesByFamilyNameStartsWith(@Param("name") String name, Pageable pageable);
+
+  // Export: stream a flat projection of every row, see: ExportWriter
+
+  @QueryHints({
+    @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = ExportWriter.FETCH_SIZE),
+    @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+  })
+  @Query("SELECT new org.serendipity.restapi.projection.IndividualRecord(" +
+    "i.id, i.name.title, i.name.givenName, i.name.middleName, i.name.familyName, i.name.honorific, " +
+    "p.displayName, i.sex, i.email, i.phoneNumber, i.electorate, i.photoUrl, i.dateOfBirth) " +
+    "FROM Individual i JOIN i.party p ORDER BY i.id")
+  Stream<IndividualRecord> streamAllRecords();
+
+  // Name index: the searchable parts of every Individual's name, see: NameIndexLoader
+
+  @QueryHints({
+    @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = ExportWriter.FETCH_SIZE),
+    @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+  })
+  @Query("SELECT new org.serendipity.restapi.projection.NameRecord(" +
+    "i.id, i.name.givenName, i.name.preferredGivenName, i.name.middleName, i.name.familyName, " +
+    "i.name.preferredFamilyName, i.name.preferredName) " +
+    "FROM Individual i ORDER BY i.id")
+  Stream<NameRecord> streamAllNames();
+
+  // Search results (the ids are ranked by the name index, see: NameIndex) and batch GET (?ids=)
+
+  @EntityGraph("Individual.party")
+  List<Individual> findByIdIn(Collection<Long> ids);
+
+  @Modifying
+  @Transactional
+  @Query("UPDATE Individual i SET i.photoUrl = :photoUrl WHERE i.id = :id")
+  int updatePhotoUrl(@Param("id") Long id, @Param("photoUrl") String photoUrl);
+
 }
 
 // https://docs.spring.io/spring-data/rest/docs/current/reference/html/#paging-and-sorting
@@ -1,17 +1,114 @@
 package org.serendipity.restapi.repository;
 
 import org.serendipity.restapi.entity.Organisation;
+import org.serendipity.restapi.export.ExportWriter;
+import org.serendipity.restapi.projection.OrganisationRecord;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface OrganisationRepository extends PagingAndSortingRepository<Organisation, Long> {
 
+  // Fetch plans: list endpoints join fetch the Party and batch fetch its collections (see: Party),
+  // the detail endpoint fetches the whole graph in a single query.
+
+  // Note: A fetch graph passed to EntityManager.find() doesn't join the @MapsId Party, a query does.
+
+  @EntityGraph("Organisation.detail")
+  @Query("SELECT o FROM Organisation o WHERE o.id = :id")
+  Optional<Organisation> findById(@Param("id") Long id);
+
+  // A sparse representation that doesn't select the Party's collections (see: FieldSet) only joins the Party
+
+  @EntityGraph("Organisation.party")
+  @Query("SELECT o FROM Organisation o WHERE o.id = :id")
+  Optional<Organisation> findWithPartyById(@Param("id") Long id);
+
+  // Conditional GET: the validator (Party.updatedAt) is read without loading the graph
+
+  @Query("SELECT COALESCE(p.updatedAt, p.createdAt) FROM Organisation o JOIN o.party p WHERE o.id = :id")
+  Optional<Date> findUpdatedAtById(@Param("id") Long id);
+
+  // Organisation fields aren't stored in the Party table, so an update bumps Party.updatedAt explicitly
+
+  @Modifying
+  @Transactional
+  @Query("UPDATE Party p SET p.updatedAt = :updatedAt WHERE p.id = :id")
+  int touch(@Param("id") Long id, @Param("updatedAt") Date updatedAt);
+
+  @EntityGraph("Organisation.party")
   Page<Organisation> findAll(Pageable pageable);
 
+  // The seeders look up a political party by name for every member, the result is held in the query cache
+
+  @EntityGraph("Organisation.party")
+  @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
   Page<Organisation> findByName(String name, Pageable pageable);
+
+  @EntityGraph("Organisation.party")
   Page<Organisation> findByNameStartsWith(String name, Pageable pageable);
 
+  // Keyset pagination: seek on the (name, id) index, a Slice doesn't issue a count query
+
+  @EntityGraph("Organisation.party")
+  Slice<Organisation> findAllByOrderByNameAscIdAsc(Pageable pageable);
+
+  @EntityGraph("Organisation.party")
+  @Query("SELECT o FROM Organisation o " +
+    "WHERE o.name > :name OR (o.name = :name AND o.id > :id) " +
+    "ORDER BY o.name ASC, o.id ASC")
+  Slice<Organisation> findAllAfter(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+
+  @EntityGraph("Organisation.party")
+  Slice<Organisation> findByNameStartsWithOrderByNameAscIdAsc(String name, Pageable pageable);
+
+  // The prefix is escaped (as the derived StartsWith query's is), so a _ or % in it isn't a wildcard
+
+  @EntityGraph("Organisation.party")
+  @Query("SELECT o FROM Organisation o " +
+    "WHERE o.name LIKE CONCAT(:#{escape(#prefix)}, '%') ESCAPE '\\' " +
+    "AND (o.name > :name OR (o.name = :name AND o.id > :id)) " +
+    "ORDER BY o.name ASC, o.id ASC")
+  Slice<Organisation> findByNameStartsWithAfter(@Param("prefix") String prefix,
+                                                @Param("name") String name,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+
+  // Bulk ingest: match existing rows on the natural key (name), see: OrganisationBatchWriter
+
+  @EntityGraph("Organisation.party")
+  List<Organisation> findByNameIn(Collection<String> names);
+
+  // Batch GET (?ids=)
+
+  @EntityGraph("Organisation.party")
+  List<Organisation> findByIdIn(Collection<Long> ids);
+
+  // Export: stream a flat projection of every row, see: ExportWriter
+
+  @QueryHints({
+    @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = ExportWriter.FETCH_SIZE),
+    @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+  })
+  @Query("SELECT new org.serendipity.restapi.projection.OrganisationRecord(" +
+    "o.id, o.name, p.displayName, o.email, o.phoneNumber, o.establishmentDate) " +
+    "FROM Organisation o JOIN o.party p ORDER BY o.id")
+  Stream<OrganisationRecord> streamAllRecords();
+
 }
 
 // https://docs.spring.io/spring-data/rest/docs/current/reference/html/#paging-and-sorting
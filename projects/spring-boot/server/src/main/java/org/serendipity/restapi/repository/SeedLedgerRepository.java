@@ -0,0 +1,8 @@
+package org.serendipity.restapi.repository;
+
+import org.serendipity.restapi.entity.SeedLedger;
+import org.springframework.data.repository.CrudRepository;
+
+public interface SeedLedgerRepository extends CrudRepository<SeedLedger, String> {
+
+}
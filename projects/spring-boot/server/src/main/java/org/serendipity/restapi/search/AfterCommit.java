@@ -0,0 +1,34 @@
+package org.serendipity.restapi.search;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+final class AfterCommit {
+
+  // Runs an index update once the current transaction commits (immediately if there isn't one), so a rolled back
+  // change is never searchable.
+
+  private AfterCommit() {
+  }
+
+  static void run(Runnable update) {
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      update.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+      @Override
+      public void afterCommit() {
+        update.run();
+      }
+
+    });
+
+  }
+
+}
+
+// https://docs.spring.io/spring-framework/docs/5.2.x/spring-framework-reference/data-access.html#transaction-event
@@ -0,0 +1,142 @@
+package org.serendipity.restapi.search;
+
+import lombok.Getter;
+
+import java.util.List;
+
+public class Boundary {
+
+  // A polygon (an outer ring and its holes, as GeoJSON [longitude, latitude] positions) and the name of the Electoral
+  // Division it bounds. A division made up of islands has a Boundary for each polygon.
+  //
+  // Point in polygon is an even-odd ray cast (a point is inside if a ray from it crosses the rings an odd number of
+  // times), which handles holes without telling the rings apart. Boundaries are detailed (rural divisions follow
+  // coastlines and rivers), so the edges are bucketed into horizontal bands and a test only casts against the edges
+  // that cross the point's band.
+
+  static final int EDGES_PER_BAND = 8;
+  static final int MAX_BANDS = 1 << 14;
+
+  @Getter
+  private final String name;
+
+  // { minX, minY, maxX, maxY }
+  @Getter
+  private final double[] box;
+
+  private final double[] x1;
+  private final double[] y1;
+  private final double[] x2;
+  private final double[] y2;
+
+  private final int[][] bands;
+  private final int bandCount;
+  private final double bandHeight;
+
+  public Boundary(String name, List<double[][]> rings) {
+
+    this.name = name;
+
+    int count = 0;
+
+    for (double[][] ring : rings) {
+      count += ring.length;
+    }
+
+    x1 = new double[count];
+    y1 = new double[count];
+    x2 = new double[count];
+    y2 = new double[count];
+
+    double minX = Double.POSITIVE_INFINITY;
+    double minY = Double.POSITIVE_INFINITY;
+    double maxX = Double.NEGATIVE_INFINITY;
+    double maxY = Double.NEGATIVE_INFINITY;
+
+    int edges = 0;
+
+    for (double[][] ring : rings) {
+
+      for (int i = 0; i < ring.length; i++) {
+
+        // A GeoJSON ring is closed (its last position repeats its first), an unclosed ring is closed here
+        double[] from = ring[i];
+        double[] to = ring[(i + 1) % ring.length];
+
+        minX = Math.min(minX, from[0]);
+        minY = Math.min(minY, from[1]);
+        maxX = Math.max(maxX, from[0]);
+        maxY = Math.max(maxY, from[1]);
+
+        // Horizontal edges never cross a horizontal ray
+        if (from[1] == to[1]) {
+          continue;
+        }
+
+        x1[edges] = from[0];
+        y1[edges] = from[1];
+        x2[edges] = to[0];
+        y2[edges] = to[1];
+        edges++;
+      }
+
+    }
+
+    box = new double[] { minX, minY, maxX, maxY };
+
+    bandCount = Math.max(1, Math.min(MAX_BANDS, edges / EDGES_PER_BAND));
+
+    bandHeight = maxY > minY ? (maxY - minY) / bandCount : 1;
+
+    int[] sizes = new int[bandCount];
+
+    for (int edge = 0; edge < edges; edge++) {
+      for (int band = band(Math.min(y1[edge], y2[edge])); band <= band(Math.max(y1[edge], y2[edge])); band++) {
+        sizes[band]++;
+      }
+    }
+
+    bands = new int[bandCount][];
+
+    for (int band = 0; band < bandCount; band++) {
+      bands[band] = new int[sizes[band]];
+      sizes[band] = 0;
+    }
+
+    for (int edge = 0; edge < edges; edge++) {
+      for (int band = band(Math.min(y1[edge], y2[edge])); band <= band(Math.max(y1[edge], y2[edge])); band++) {
+        bands[band][sizes[band]++] = edge;
+      }
+    }
+
+  }
+
+  private int band(double y) {
+    return Math.max(0, Math.min(bandCount - 1, (int) ((y - box[1]) / bandHeight)));
+  }
+
+  public boolean contains(double x, double y) {
+
+    if (x < box[0] || y < box[1] || x > box[2] || y > box[3]) {
+      return false;
+    }
+
+    boolean inside = false;
+
+    for (int edge : bands[band(y)]) {
+
+      if ((y1[edge] > y) != (y2[edge] > y) &&
+        x < x1[edge] + (y - y1[edge]) * (x2[edge] - x1[edge]) / (y2[edge] - y1[edge])) {
+
+        inside = !inside;
+      }
+
+    }
+
+    return inside;
+  }
+
+}
+
+// https://en.wikipedia.org/wiki/Point_in_polygon
+// https://wrfranklin.org/Research/Short_Notes/pnpoly.html
@@ -0,0 +1,185 @@
+package org.serendipity.restapi.search;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+@Component
+@Slf4j
+public class BoundaryIndex {
+
+  // Electoral Division boundaries, loaded at startup from a GeoJSON FeatureCollection of Polygon and MultiPolygon
+  // features (for example, the AEC's boundary shapefile converted with: ogr2ogr -f GeoJSON -t_srs EPSG:4326) into an
+  // R-tree of the polygons' bounding boxes. A lookup is a bounding box prefilter (see: RTree) then an exact point in
+  // polygon test (see: Boundary).
+  //
+  // The file is streamed a feature at a time, it may be gzipped (*.gz). Each feature is matched to an Electoral
+  // Division on a name property (serendipity.boundaries.name-property).
+
+  private final ObjectMapper objectMapper;
+  private final ResourceLoader resourceLoader;
+  private final String path;
+  private final String nameProperty;
+
+  private volatile RTree<Boundary> tree = new RTree<>(new ArrayList<>(), Boundary::getBox);
+
+  public BoundaryIndex(ObjectMapper objectMapper,
+                       ResourceLoader resourceLoader,
+                       @Value("${serendipity.boundaries.path:}") String path,
+                       @Value("${serendipity.boundaries.name-property:Elect_div}") String nameProperty) {
+
+    this.objectMapper = objectMapper;
+    this.resourceLoader = resourceLoader;
+    this.path = path;
+    this.nameProperty = nameProperty;
+  }
+
+  @PostConstruct
+  public void load() {
+
+    if (path.isEmpty()) {
+      return;
+    }
+
+    Resource resource = resourceLoader.getResource(path);
+
+    if (!resource.exists()) {
+      log.warn("Boundaries {} not found, skipped", path);
+      return;
+    }
+
+    log.info("Index boundaries {} ...", path);
+
+    long start = System.currentTimeMillis();
+
+    try {
+
+      List<Boundary> boundaries = read(resource);
+
+      tree = new RTree<>(boundaries, Boundary::getBox);
+
+      log.info("Index boundaries complete: {} polygons in {} ms", boundaries.size(),
+        System.currentTimeMillis() - start);
+
+    } catch (IOException e) {
+
+      log.error("Boundaries {} not loaded: {}", path, e.getLocalizedMessage());
+    }
+
+  }
+
+  public int size() {
+    return tree.size();
+  }
+
+  // The name of the Electoral Division containing (latitude, longitude), or null
+
+  public String containing(double latitude, double longitude) {
+
+    Boundary boundary = tree.find(longitude, latitude, candidate -> candidate.contains(longitude, latitude));
+
+    return boundary != null ? boundary.getName() : null;
+  }
+
+  private List<Boundary> read(Resource resource) throws IOException {
+
+    List<Boundary> boundaries = new ArrayList<>();
+
+    InputStream in = resource.getInputStream();
+
+    if (resource.getFilename() != null && resource.getFilename().endsWith(".gz")) {
+      in = new GZIPInputStream(in);
+    }
+
+    try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new IOException("Not a GeoJSON FeatureCollection");
+      }
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+        String field = parser.getCurrentName();
+
+        JsonToken value = parser.nextToken();
+
+        if (!"features".equals(field) || value != JsonToken.START_ARRAY) {
+          parser.skipChildren();
+          continue;
+        }
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+          add(parser.readValueAsTree(), boundaries);
+        }
+
+      }
+
+    }
+
+    return boundaries;
+  }
+
+  private void add(JsonNode feature, List<Boundary> boundaries) {
+
+    String name = feature.path("properties").path(nameProperty).asText(null);
+    JsonNode geometry = feature.path("geometry");
+    JsonNode coordinates = geometry.path("coordinates");
+
+    if (name == null) {
+      log.warn("Boundary without a {} property, skipped", nameProperty);
+      return;
+    }
+
+    switch (geometry.path("type").asText()) {
+
+      case "Polygon":
+        boundaries.add(new Boundary(name, toRings(coordinates)));
+        break;
+
+      case "MultiPolygon":
+        coordinates.forEach(polygon -> boundaries.add(new Boundary(name, toRings(polygon))));
+        break;
+
+      default:
+        log.warn("Boundary {} isn't a Polygon or MultiPolygon, skipped", name);
+    }
+
+  }
+
+  // [[[longitude, latitude], ...], ...] -> rings of { longitude, latitude } positions
+
+  private static List<double[][]> toRings(JsonNode polygon) {
+
+    List<double[][]> rings = new ArrayList<>();
+
+    for (JsonNode ring : polygon) {
+
+      double[][] positions = new double[ring.size()][];
+
+      for (int i = 0; i < ring.size(); i++) {
+        positions[i] = new double[] { ring.get(i).get(0).asDouble(), ring.get(i).get(1).asDouble() };
+      }
+
+      rings.add(positions);
+    }
+
+    return rings;
+  }
+
+}
+
+// https://datatracker.ietf.org/doc/html/rfc7946
+// https://www.aec.gov.au/electorates/gis/
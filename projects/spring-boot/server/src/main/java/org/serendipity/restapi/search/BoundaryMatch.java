@@ -0,0 +1,20 @@
+package org.serendipity.restapi.search;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BoundaryMatch {
+
+  private final int index; // The point's position in the request
+
+  private final Long id; // The Electoral Division's id, null if the boundary's division isn't in the database
+
+  private final String name; // null if no boundary contains the point
+
+  private final String error; // null unless the point is invalid, for example its lat or lon is out of range
+
+}
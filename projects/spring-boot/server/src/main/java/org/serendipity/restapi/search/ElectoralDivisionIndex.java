@@ -0,0 +1,130 @@
+package org.serendipity.restapi.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.serendipity.restapi.repository.ElectoralDivisionRepository;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Slf4j
+public class ElectoralDivisionIndex {
+
+  // A spatial index (see: KdTree) of each Electoral Division's location, for nearest and bounding box searches, and a
+  // map of their names to ids (a boundary is matched to its division on the name, see: BoundaryIndex). It's loaded once
+  // the application context has started and kept current by ElectoralDivisionIndexListener. Divisions are reference
+  // data, so a change discards the tree and the next search rebuilds it.
+
+  private final ElectoralDivisionRepository repository;
+
+  // Electoral Division id -> { latitude, longitude }
+  private final Map<Long, double[]> locations = new HashMap<>();
+
+  // Electoral Division name -> id, read without the lock
+  private final Map<String, Long> ids = new ConcurrentHashMap<>();
+
+  private volatile KdTree tree;
+
+  public ElectoralDivisionIndex(ElectoralDivisionRepository repository) {
+    this.repository = repository;
+  }
+
+  @EventListener(ContextRefreshedEvent.class)
+  @Transactional(readOnly = true)
+  public void load() {
+
+    log.info("Index electoral divisions ...");
+
+    synchronized (this) {
+
+      locations.clear();
+      ids.clear();
+
+      repository.findAll().forEach(electoralDivision -> put(electoralDivision.getId(), electoralDivision.getName(),
+        electoralDivision.getLatitude(), electoralDivision.getLongitude()));
+    }
+
+    log.info("Index electoral divisions complete: {} locations", getTree().size());
+  }
+
+  public synchronized void put(Long id, String name, Double latitude, Double longitude) {
+
+    // A renamed division's previous name is removed
+    ids.values().remove(id);
+
+    if (name != null) {
+      ids.put(name, id);
+    }
+
+    if (latitude == null || longitude == null) {
+      locations.remove(id);
+    } else {
+      locations.put(id, new double[] { latitude, longitude });
+    }
+
+    tree = null;
+  }
+
+  public synchronized void remove(Long id) {
+
+    locations.remove(id);
+    ids.values().remove(id);
+
+    tree = null;
+  }
+
+  // The id of the Electoral Division with a name, or null
+
+  public Long getId(String name) {
+    return name != null ? ids.get(name) : null;
+  }
+
+  public List<KdTree.Neighbour> nearest(double latitude, double longitude, int k) {
+    return getTree().nearest(latitude, longitude, k);
+  }
+
+  public List<Long> within(double south, double west, double north, double east) {
+    return getTree().within(south, west, north, east);
+  }
+
+  private KdTree getTree() {
+
+    KdTree current = tree;
+
+    return current != null ? current : rebuild();
+  }
+
+  private synchronized KdTree rebuild() {
+
+    if (tree != null) {
+      return tree;
+    }
+
+    int size = locations.size();
+
+    long[] ids = new long[size];
+    double[] latitudes = new double[size];
+    double[] longitudes = new double[size];
+
+    int i = 0;
+
+    for (Map.Entry<Long, double[]> location : locations.entrySet()) {
+
+      ids[i] = location.getKey();
+      latitudes[i] = location.getValue()[0];
+      longitudes[i] = location.getValue()[1];
+      i++;
+    }
+
+    tree = new KdTree(ids, latitudes, longitudes);
+
+    return tree;
+  }
+
+}
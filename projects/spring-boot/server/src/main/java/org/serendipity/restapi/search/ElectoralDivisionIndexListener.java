@@ -0,0 +1,42 @@
+package org.serendipity.restapi.search;
+
+import org.serendipity.restapi.entity.ElectoralDivision;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+@Component
+public class ElectoralDivisionIndexListener {
+
+  // Keeps the electoral division index current, the change is applied once the transaction commits (see: AfterCommit).
+
+  // Lazy: see NameIndexListener
+  @Lazy
+  @Autowired
+  private ElectoralDivisionIndex electoralDivisionIndex;
+
+  @PostPersist
+  @PostUpdate
+  public void put(ElectoralDivision electoralDivision) {
+
+    Long id = electoralDivision.getId();
+    String name = electoralDivision.getName();
+    Double latitude = electoralDivision.getLatitude();
+    Double longitude = electoralDivision.getLongitude();
+
+    AfterCommit.run(() -> electoralDivisionIndex.put(id, name, latitude, longitude));
+  }
+
+  @PostRemove
+  public void remove(ElectoralDivision electoralDivision) {
+
+    Long id = electoralDivision.getId();
+
+    AfterCommit.run(() -> electoralDivisionIndex.remove(id));
+  }
+
+}
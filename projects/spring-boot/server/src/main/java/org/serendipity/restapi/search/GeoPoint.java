@@ -0,0 +1,17 @@
+package org.serendipity.restapi.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+public class GeoPoint {
+
+  private Double lat;
+  private Double lon;
+
+}
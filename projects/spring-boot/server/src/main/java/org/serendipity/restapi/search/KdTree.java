@@ -0,0 +1,217 @@
+package org.serendipity.restapi.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.*;
+
+public class KdTree {
+
+  // An immutable 2-d tree of points on the Earth's surface (latitude, longitude in degrees), for k nearest neighbour
+  // (great-circle distance) and bounding box queries.
+  //
+  // The tree is stored in arrays: the root of the subtree [from, to) is at (from + to) / 2, and it splits the subtree
+  // on latitude at even depths and longitude at odd depths. A nearest neighbour search prunes a subtree if the
+  // distance to the region it covers is further than the k-th best so far. The bounds are lower bounds on a sphere:
+  // across a latitude split the distance along a meridian, across a longitude split the distance to the meridian's
+  // great circle (or the antimeridian's, whichever is nearer).
+
+  static final double EARTH_RADIUS = 6371008.8; // metres, mean radius
+
+  static final int LATITUDE = 0;
+  static final int LONGITUDE = 1;
+
+  private final long[] ids;
+  private final double[] latitudes;
+  private final double[] longitudes;
+
+  @AllArgsConstructor
+  @Getter
+  public static class Neighbour {
+
+    private final long id;
+    private final double distance; // metres
+
+  }
+
+  public KdTree(long[] ids, double[] latitudes, double[] longitudes) {
+
+    int size = ids.length;
+
+    Integer[] order = new Integer[size];
+
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+    }
+
+    build(order, 0, size, 0, latitudes, longitudes);
+
+    this.ids = new long[size];
+    this.latitudes = new double[size];
+    this.longitudes = new double[size];
+
+    for (int i = 0; i < size; i++) {
+      this.ids[i] = ids[order[i]];
+      this.latitudes[i] = latitudes[order[i]];
+      this.longitudes[i] = longitudes[order[i]];
+    }
+
+  }
+
+  private static void build(Integer[] order, int from, int to, int depth, double[] latitudes, double[] longitudes) {
+
+    if (to - from <= 1) {
+      return;
+    }
+
+    double[] axis = depth % 2 == LATITUDE ? latitudes : longitudes;
+
+    Arrays.sort(order, from, to, Comparator.comparingDouble(i -> axis[i]));
+
+    int mid = (from + to) >>> 1;
+
+    build(order, from, mid, depth + 1, latitudes, longitudes);
+    build(order, mid + 1, to, depth + 1, latitudes, longitudes);
+  }
+
+  public int size() {
+    return ids.length;
+  }
+
+  // The k points nearest to (latitude, longitude), nearest first
+
+  public List<Neighbour> nearest(double latitude, double longitude, int k) {
+
+    if (k <= 0 || ids.length == 0) {
+      return Collections.emptyList();
+    }
+
+    // The furthest of the k nearest so far at the head
+    PriorityQueue<Neighbour> nearest = new PriorityQueue<>(k + 1,
+      Comparator.comparingDouble(Neighbour::getDistance).reversed());
+
+    nearest(0, ids.length, 0, Math.toRadians(latitude), Math.toRadians(longitude), k, nearest);
+
+    List<Neighbour> neighbours = new ArrayList<>(nearest);
+
+    neighbours.sort(Comparator.comparingDouble(Neighbour::getDistance));
+
+    return neighbours;
+  }
+
+  private void nearest(int from, int to, int depth, double phi, double lambda, int k,
+                       PriorityQueue<Neighbour> nearest) {
+
+    if (from >= to) {
+      return;
+    }
+
+    int mid = (from + to) >>> 1;
+
+    double distance = EARTH_RADIUS *
+      angle(phi, lambda, Math.toRadians(latitudes[mid]), Math.toRadians(longitudes[mid]));
+
+    if (nearest.size() < k) {
+      nearest.add(new Neighbour(ids[mid], distance));
+    } else if (distance < nearest.peek().getDistance()) {
+      nearest.poll();
+      nearest.add(new Neighbour(ids[mid], distance));
+    }
+
+    double query = depth % 2 == LATITUDE ? phi : lambda;
+    double split = Math.toRadians(depth % 2 == LATITUDE ? latitudes[mid] : longitudes[mid]);
+
+    // Search the side the query is on first, it's the most likely to shrink the k-th best distance
+    boolean lower = query < split;
+
+    if (lower) {
+      nearest(from, mid, depth + 1, phi, lambda, k, nearest);
+    } else {
+      nearest(mid + 1, to, depth + 1, phi, lambda, k, nearest);
+    }
+
+    double bound = depth % 2 == LATITUDE ?
+      EARTH_RADIUS * Math.abs(phi - split) :
+      EARTH_RADIUS * Math.min(meridian(phi, lambda - split), meridian(phi, lambda - Math.PI));
+
+    if (nearest.size() == k && bound >= nearest.peek().getDistance()) {
+      return;
+    }
+
+    if (lower) {
+      nearest(mid + 1, to, depth + 1, phi, lambda, k, nearest);
+    } else {
+      nearest(from, mid, depth + 1, phi, lambda, k, nearest);
+    }
+
+  }
+
+  // The ids of the points in the bounding box, a box whose west edge is east of its east edge crosses the antimeridian
+
+  public List<Long> within(double south, double west, double north, double east) {
+
+    List<Long> within = new ArrayList<>();
+
+    if (west <= east) {
+
+      within(0, ids.length, 0, south, west, north, east, within);
+
+    } else {
+
+      within(0, ids.length, 0, south, west, north, 180, within);
+      within(0, ids.length, 0, south, -180, north, east, within);
+    }
+
+    return within;
+  }
+
+  private void within(int from, int to, int depth, double south, double west, double north, double east,
+                      List<Long> within) {
+
+    if (from >= to) {
+      return;
+    }
+
+    int mid = (from + to) >>> 1;
+
+    double latitude = latitudes[mid];
+    double longitude = longitudes[mid];
+
+    if (latitude >= south && latitude <= north && longitude >= west && longitude <= east) {
+      within.add(ids[mid]);
+    }
+
+    double split = depth % 2 == LATITUDE ? latitude : longitude;
+    double min = depth % 2 == LATITUDE ? south : west;
+    double max = depth % 2 == LATITUDE ? north : east;
+
+    if (min <= split) {
+      within(from, mid, depth + 1, south, west, north, east, within);
+    }
+
+    if (max >= split) {
+      within(mid + 1, to, depth + 1, south, west, north, east, within);
+    }
+
+  }
+
+  // The great-circle (haversine) angle between two points, in radians
+
+  private static double angle(double phi1, double lambda1, double phi2, double lambda2) {
+
+    double a = Math.pow(Math.sin((phi2 - phi1) / 2), 2) +
+      Math.cos(phi1) * Math.cos(phi2) * Math.pow(Math.sin((lambda2 - lambda1) / 2), 2);
+
+    return 2 * Math.asin(Math.min(1, Math.sqrt(a)));
+  }
+
+  // The angular distance from latitude phi to the great circle of a meridian deltaLambda away
+
+  private static double meridian(double phi, double deltaLambda) {
+    return Math.asin(Math.min(1, Math.cos(phi) * Math.abs(Math.sin(deltaLambda))));
+  }
+
+}
+
+// https://en.wikipedia.org/wiki/K-d_tree
+// https://en.wikipedia.org/wiki/Haversine_formula
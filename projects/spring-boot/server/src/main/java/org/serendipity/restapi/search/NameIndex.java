@@ -0,0 +1,778 @@
+package org.serendipity.restapi.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.serendipity.restapi.projection.NameRecord;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@Slf4j
+public class NameIndex {
+
+  // An in-memory inverted index over the names of every Individual, their principal Name and the IndividualName
+  // history, for typo tolerant search: "albanse" finds "Albanese" and "O'Neil" finds "O'Neill".
+  //
+  // Each Individual is a document of name tokens (lower case, accents and apostrophes removed). Documents are numbered
+  // in the order they're added, and the postings of each trigram ("$al", "alb", ... "se$") and each phonetic key
+  // (Soundex) are lists of document numbers in ascending order, so adding a document is an append. A changed
+  // Individual is deleted (a tombstone) and re-added, the postings are compacted when half the documents are deleted.
+  //
+  // Every query term must match one of a document's tokens. A search counts the trigrams of the rarest term in each
+  // document's postings, then ranks the candidates by the average, over the query's terms, of the best match among the
+  // document's tokens (see: similarity). Only the requested page is kept in order (a bounded heap), not every match,
+  // and the counts are kept for the candidates, not every document (see: Counts).
+  //
+  // The index is loaded at startup (see: NameIndexLoader) and kept current as Individuals are created, updated and
+  // deleted (see: NameIndexListener).
+
+  // Each query term must match one of a document's tokens at least this well (see: similarity)
+  static final double MIN_TERM_SCORE = 0.5;
+
+  // Shorter query tokens (initials) are ignored
+  static final int MIN_TOKEN_LENGTH = 2;
+
+  static final int COMPACT_THRESHOLD = 1024;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final Map<Long, Entry> entries = new HashMap<>();
+
+  private final Map<Integer, Postings> grams = new HashMap<>();
+  private final Map<Integer, Postings> keys = new HashMap<>();
+
+  // Document number -> Individual id, tokens and their phonetic keys, null once deleted
+  private long[] ids = new long[COMPACT_THRESHOLD];
+  private String[][] documents = new String[COMPACT_THRESHOLD][];
+  private int[][] phonetics = new int[COMPACT_THRESHOLD][];
+  private int size;
+  private int deleted;
+
+  // An Individual's principal name and names (IndividualName id -> tokens) from their name history
+
+  private static class Entry {
+
+    private int document;
+    private String[] name = new String[0];
+    private Map<Long, String[]> history;
+
+    private String[] tokens() {
+
+      if (history == null) {
+        return name;
+      }
+
+      Set<String> tokens = new LinkedHashSet<>(Arrays.asList(name));
+
+      for (String[] names : history.values()) {
+        tokens.addAll(Arrays.asList(names));
+      }
+
+      return tokens.toArray(new String[0]);
+    }
+
+  }
+
+  private static class Postings {
+
+    private int[] documents = new int[4];
+    private int size;
+
+    private void add(int document) {
+
+      if (size > 0 && documents[size - 1] == document) {
+        return;
+      }
+
+      if (size == documents.length) {
+        documents = Arrays.copyOf(documents, size * 2);
+      }
+
+      documents[size++] = document;
+    }
+
+  }
+
+  public void clear() {
+
+    lock.writeLock().lock();
+
+    try {
+
+      entries.clear();
+      grams.clear();
+      keys.clear();
+
+      ids = new long[COMPACT_THRESHOLD];
+      documents = new String[COMPACT_THRESHOLD][];
+      phonetics = new int[COMPACT_THRESHOLD][];
+      size = 0;
+      deleted = 0;
+
+    } finally {
+
+      lock.writeLock().unlock();
+    }
+
+  }
+
+  // A principal name (nameId == null) or a name from the IndividualName history
+
+  public void put(NameRecord record) {
+
+    String[] tokens = tokenize(record.getGivenName(), record.getPreferredGivenName(), record.getMiddleName(),
+      record.getFamilyName(), record.getPreferredFamilyName(), record.getPreferredName());
+
+    lock.writeLock().lock();
+
+    try {
+
+      Entry entry = entries.get(record.getIndividualId());
+
+      if (entry == null) {
+        entry = new Entry();
+        entry.document = -1;
+        entries.put(record.getIndividualId(), entry);
+      }
+
+      if (record.getNameId() == null) {
+
+        entry.name = tokens;
+
+      } else {
+
+        if (entry.history == null) {
+          entry.history = new HashMap<>();
+        }
+
+        entry.history.put(record.getNameId(), tokens);
+      }
+
+      index(record.getIndividualId(), entry);
+
+    } finally {
+
+      lock.writeLock().unlock();
+    }
+
+  }
+
+  public void remove(Long individualId) {
+
+    lock.writeLock().lock();
+
+    try {
+
+      Entry entry = entries.remove(individualId);
+
+      if (entry != null) {
+        delete(entry.document);
+      }
+
+      compact();
+
+    } finally {
+
+      lock.writeLock().unlock();
+    }
+
+  }
+
+  public void remove(Long individualId, Long nameId) {
+
+    lock.writeLock().lock();
+
+    try {
+
+      Entry entry = entries.get(individualId);
+
+      if (entry == null || entry.history == null || entry.history.remove(nameId) == null) {
+        return;
+      }
+
+      index(individualId, entry);
+
+    } finally {
+
+      lock.writeLock().unlock();
+    }
+
+  }
+
+  public int size() {
+
+    lock.readLock().lock();
+
+    try {
+
+      return entries.size();
+
+    } finally {
+
+      lock.readLock().unlock();
+    }
+
+  }
+
+  // Returns a page of Individual ids, best match first
+
+  public Page<Long> search(String query, Pageable pageable) {
+
+    Term[] terms = Arrays.stream(tokenize(query))
+      .filter(token -> token.length() >= MIN_TOKEN_LENGTH)
+      .map(Term::new)
+      .toArray(Term[]::new);
+
+    if (terms.length == 0) {
+      return Page.empty(pageable);
+    }
+
+    int limit = (int) Math.min(Integer.MAX_VALUE - 1, pageable.getOffset() + pageable.getPageSize());
+
+    // The worst of the best matches so far at the head
+    PriorityQueue<Match> top = new PriorityQueue<>(Math.min(limit + 1, 1024), RANK.reversed());
+
+    int total = 0;
+
+    lock.readLock().lock();
+
+    try {
+
+      // Every term must match, so the candidates are the documents that may match the rarest term
+      Term rarest = terms[0];
+
+      for (Term term : terms) {
+
+        if (cost(term) < cost(rarest)) {
+          rarest = term;
+        }
+
+      }
+
+      Counts counts = new Counts();
+      int[] candidates = new int[1024];
+      int candidateCount = 0;
+
+      for (int gram : rarest.grams) {
+
+        Postings postings = grams.get(gram);
+
+        if (postings == null) {
+          continue;
+        }
+
+        for (int i = 0; i < postings.size; i++) {
+
+          int document = postings.documents[i];
+
+          if (counts.increment(document) == 0) {
+
+            if (candidateCount == candidates.length) {
+              candidates = Arrays.copyOf(candidates, candidateCount * 2);
+            }
+
+            candidates[candidateCount++] = document;
+          }
+
+        }
+
+      }
+
+      // A Dice coefficient of at least MIN_TERM_SCORE (2s / (q + t) >= 0.5 where s <= t) needs at least a third of the
+      // term's trigrams, as does a prefix. A phonetic match is a candidate whatever its trigram count.
+      int threshold = (rarest.grams.length + 2) / 3;
+
+      Postings postings = keys.get(rarest.key);
+
+      for (int i = 0; postings != null && i < postings.size; i++) {
+
+        int document = postings.documents[i];
+        int count = counts.get(document);
+
+        if (count == 0) {
+
+          if (candidateCount == candidates.length) {
+            candidates = Arrays.copyOf(candidates, candidateCount * 2);
+          }
+
+          candidates[candidateCount++] = document;
+        }
+
+        counts.put(document, Math.max(count, threshold));
+      }
+
+      for (int i = 0; i < candidateCount; i++) {
+
+        int document = candidates[i];
+
+        if (counts.get(document) < threshold || documents[document] == null) {
+          continue;
+        }
+
+        double score = score(terms, documents[document], phonetics[document]);
+
+        if (score < 0) {
+          continue;
+        }
+
+        total++;
+
+        if (top.size() == limit && !better(score, ids[document], top.peek())) {
+          continue;
+        }
+
+        top.add(new Match(ids[document], score));
+
+        if (top.size() > limit) {
+          top.poll();
+        }
+
+      }
+
+    } finally {
+
+      lock.readLock().unlock();
+    }
+
+    List<Long> content = new ArrayList<>(top.size());
+
+    while (!top.isEmpty()) {
+      content.add(top.poll().id);
+    }
+
+    Collections.reverse(content);
+
+    int from = (int) Math.min(pageable.getOffset(), content.size());
+
+    return new PageImpl<>(content.subList(from, content.size()), pageable, total);
+  }
+
+  // A search's trigram counts (document number -> count, 0 if absent), an open addressing hash table that grows with
+  // the candidates, so a search for a rare term doesn't allocate (or clear) a count for every document in the index
+
+  private static class Counts {
+
+    // Document number + 1, 0 is an empty slot
+    private int[] keys = new int[2048];
+    private int[] counts = new int[2048];
+    private int size;
+
+    private int get(int document) {
+      return counts[slot(document)];
+    }
+
+    // Returns the previous count
+
+    private int increment(int document) {
+
+      int count = get(document);
+
+      put(document, count + 1);
+
+      return count;
+    }
+
+    private void put(int document, int count) {
+
+      int slot = slot(document);
+
+      counts[slot] = count;
+
+      if (keys[slot] == 0) {
+
+        keys[slot] = document + 1;
+
+        if (++size * 2 > keys.length) {
+          grow();
+        }
+
+      }
+
+    }
+
+    private int slot(int document) {
+
+      int mask = keys.length - 1;
+      int hash = document * 0x9E3779B9;
+      int slot = (hash ^ hash >>> 16) & mask;
+
+      while (keys[slot] != 0 && keys[slot] != document + 1) {
+        slot = (slot + 1) & mask;
+      }
+
+      return slot;
+    }
+
+    private void grow() {
+
+      int[] previousKeys = keys;
+      int[] previousCounts = counts;
+
+      keys = new int[previousKeys.length * 2];
+      counts = new int[keys.length];
+
+      for (int i = 0; i < previousKeys.length; i++) {
+
+        if (previousKeys[i] != 0) {
+
+          int slot = slot(previousKeys[i] - 1);
+
+          keys[slot] = previousKeys[i];
+          counts[slot] = previousCounts[i];
+        }
+
+      }
+
+    }
+
+  }
+
+  // Must hold the read lock
+
+  private int cost(Term term) {
+
+    int cost = 0;
+
+    for (int gram : term.grams) {
+
+      Postings postings = grams.get(gram);
+
+      if (postings != null) {
+        cost += postings.size;
+      }
+
+    }
+
+    return cost;
+  }
+
+  private static class Match {
+
+    private final long id;
+    private final double score;
+
+    private Match(long id, double score) {
+      this.id = id;
+      this.score = score;
+    }
+
+  }
+
+  // Best match first, then by id
+
+  private static final Comparator<Match> RANK = Comparator.comparingDouble((Match match) -> -match.score)
+    .thenComparingLong(match -> match.id);
+
+  private static boolean better(double score, long id, Match match) {
+    return score > match.score || (score == match.score && id < match.id);
+  }
+
+  // A query token, its trigrams and phonetic key are computed once per search
+
+  private static class Term {
+
+    private final String token;
+    private final int[] grams;
+    private final int key;
+
+    private Term(String token) {
+      this.token = token;
+      this.grams = grams(token);
+      this.key = soundex(token);
+    }
+
+  }
+
+  // Must hold the write lock
+
+  private void index(Long individualId, Entry entry) {
+
+    String[] tokens = entry.tokens();
+
+    if (entry.document >= 0 && Arrays.equals(tokens, documents[entry.document])) {
+      return;
+    }
+
+    delete(entry.document);
+
+    entry.document = add(individualId, tokens);
+
+    compact();
+  }
+
+  private int add(long individualId, String[] tokens) {
+
+    if (size == ids.length) {
+      ids = Arrays.copyOf(ids, size * 2);
+      documents = Arrays.copyOf(documents, size * 2);
+      phonetics = Arrays.copyOf(phonetics, size * 2);
+    }
+
+    int document = size++;
+
+    int[] phonetic = new int[tokens.length];
+
+    for (int i = 0; i < tokens.length; i++) {
+
+      for (int gram : grams(tokens[i])) {
+        grams.computeIfAbsent(gram, key -> new Postings()).add(document);
+      }
+
+      phonetic[i] = soundex(tokens[i]);
+
+      keys.computeIfAbsent(phonetic[i], key -> new Postings()).add(document);
+    }
+
+    ids[document] = individualId;
+    documents[document] = tokens;
+    phonetics[document] = phonetic;
+
+    return document;
+  }
+
+  private void delete(int document) {
+
+    if (document >= 0 && documents[document] != null) {
+      documents[document] = null;
+      phonetics[document] = null;
+      deleted++;
+    }
+
+  }
+
+  // Rebuild the postings without the deleted documents
+
+  private void compact() {
+
+    if (deleted < COMPACT_THRESHOLD || deleted * 2 < size) {
+      return;
+    }
+
+    log.info("Compact name index: {} documents, {} deleted", size, deleted);
+
+    grams.clear();
+    keys.clear();
+
+    long[] previousIds = ids;
+    String[][] previousDocuments = documents;
+    int previousSize = size;
+
+    ids = new long[Math.max(COMPACT_THRESHOLD, entries.size() * 2)];
+    documents = new String[ids.length][];
+    phonetics = new int[ids.length][];
+    size = 0;
+    deleted = 0;
+
+    for (int document = 0; document < previousSize; document++) {
+
+      if (previousDocuments[document] != null) {
+        entries.get(previousIds[document]).document = add(previousIds[document], previousDocuments[document]);
+      }
+
+    }
+
+  }
+
+  // The average, over the query's terms, of the best similarity with one of the document's tokens, or -1 if a term
+  // doesn't match any of them
+
+  private static double score(Term[] terms, String[] tokens, int[] phonetic) {
+
+    double score = 0;
+
+    for (Term term : terms) {
+
+      double best = 0;
+
+      for (int i = 0; i < tokens.length && best < 1; i++) {
+        best = similarity(term, tokens[i], phonetic[i], best);
+      }
+
+      if (best < MIN_TERM_SCORE) {
+        return -1;
+      }
+
+      score += best;
+    }
+
+    return score / terms.length;
+  }
+
+  // 1 for an exact match, 0.9 for a prefix ("alb" -> "albanese"), otherwise the Dice coefficient of the trigrams,
+  // at least 0.6 if they sound alike (Soundex). Returns the greater of that and the best match so far, the trigrams
+  // aren't compared if they can't beat it, and the candidate's trigrams are compared without being allocated.
+
+  private static double similarity(Term term, String candidate, int key, double best) {
+
+    if (term.token.equals(candidate)) {
+      return 1;
+    }
+
+    if (candidate.startsWith(term.token)) {
+      return Math.max(best, 0.9);
+    }
+
+    if (term.key == key) {
+      best = Math.max(best, 0.6);
+    }
+
+    int length = candidate.length();
+
+    if (2.0 * Math.min(term.grams.length, length) / (term.grams.length + length) <= best) {
+      return best;
+    }
+
+    int shared = 0;
+
+    for (int i = 0; i < length; i++) {
+
+      int gram = gram(i == 0 ? '$' : candidate.charAt(i - 1), candidate.charAt(i),
+        i == length - 1 ? '$' : candidate.charAt(i + 1));
+
+      for (int g : term.grams) {
+
+        if (g == gram) {
+          shared++;
+          break;
+        }
+
+      }
+
+    }
+
+    return Math.max(best, 2.0 * Math.min(shared, term.grams.length) / (term.grams.length + length));
+  }
+
+  // "O'Neill-Smith, José" -> [ "oneill", "smith", "jose" ]
+
+  static String[] tokenize(String... parts) {
+
+    Set<String> tokens = new LinkedHashSet<>();
+
+    for (String part : parts) {
+
+      if (part == null) {
+        continue;
+      }
+
+      String normalized = Normalizer.normalize(part, Normalizer.Form.NFD)
+        .replaceAll("\\p{M}", "")
+        .toLowerCase(Locale.ROOT)
+        .replaceAll("['’]", "")
+        .replaceAll("[^a-z0-9]+", " ")
+        .trim();
+
+      if (!normalized.isEmpty()) {
+        tokens.addAll(Arrays.asList(normalized.split(" ")));
+      }
+
+    }
+
+    return tokens.toArray(new String[0]);
+  }
+
+  // The distinct trigrams of a token padded with '$': "albanese" -> "$al", "alb", "lba", ... "ese", "se$"
+
+  static int[] grams(String token) {
+
+    int length = token.length();
+
+    int[] grams = new int[length];
+    int count = 0;
+
+    for (int i = 0; i < length; i++) {
+
+      int gram = gram(i == 0 ? '$' : token.charAt(i - 1), token.charAt(i),
+        i == length - 1 ? '$' : token.charAt(i + 1));
+
+      boolean duplicate = false;
+
+      for (int j = 0; j < count && !duplicate; j++) {
+        duplicate = grams[j] == gram;
+      }
+
+      if (!duplicate) {
+        grams[count++] = gram;
+      }
+
+    }
+
+    return Arrays.copyOf(grams, count);
+  }
+
+  // A trigram packed into an int, '$' is 0, 'a' to 'z' are 1 to 26 and '0' to '9' are 27 to 36
+
+  private static int gram(char a, char b, char c) {
+    return (code(a) * 37 + code(b)) * 37 + code(c);
+  }
+
+  private static int code(char c) {
+
+    if (c >= 'a' && c <= 'z') {
+      return c - 'a' + 1;
+    }
+
+    if (c >= '0' && c <= '9') {
+      return c - '0' + 27;
+    }
+
+    return 0;
+  }
+
+  // American Soundex packed into an int: "albanese" -> "A415" -> 1415, "oneil" -> "O540" -> 15540, 0 if the token
+  // doesn't start with a letter
+
+  static int soundex(String token) {
+
+    // a b c d e f g h i j k l m n o p q r s t u v w x y z
+    final String codes = "01230120022455012623010202";
+
+    if (token.isEmpty() || token.charAt(0) < 'a' || token.charAt(0) > 'z') {
+      return 0;
+    }
+
+    int key = token.charAt(0) - 'a' + 1;
+    int digits = 0;
+
+    char previous = codes.charAt(token.charAt(0) - 'a');
+
+    for (int i = 1; i < token.length() && digits < 3; i++) {
+
+      char c = token.charAt(i);
+
+      if (c < 'a' || c > 'z') {
+        continue;
+      }
+
+      char code = codes.charAt(c - 'a');
+
+      if (code != '0' && code != previous) {
+        key = key * 10 + (code - '0');
+        digits++;
+      }
+
+      // 'h' and 'w' don't separate letters with the same code
+      if (c != 'h' && c != 'w') {
+        previous = code;
+      }
+
+    }
+
+    while (digits++ < 3) {
+      key *= 10;
+    }
+
+    return key;
+  }
+
+}
+
+// https://en.wikipedia.org/wiki/Trigram
+// https://en.wikipedia.org/wiki/S%C3%B8rensen%E2%80%93Dice_coefficient
+// https://en.wikipedia.org/wiki/Soundex
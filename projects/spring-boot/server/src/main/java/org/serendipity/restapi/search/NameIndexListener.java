@@ -0,0 +1,85 @@
+package org.serendipity.restapi.search;
+
+import org.serendipity.restapi.entity.Individual;
+import org.serendipity.restapi.entity.IndividualName;
+import org.serendipity.restapi.entity.Name;
+import org.serendipity.restapi.projection.NameRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+@Component
+public class NameIndexListener {
+
+  // Keeps the name index current as Individuals and IndividualNames are created, updated and deleted. The change is
+  // applied once the transaction commits (see: AfterCommit).
+  // Hibernate obtains entity listeners from the Spring container (SpringBeanContainer), so they can be autowired.
+
+  // Lazy: Hibernate creates its listeners while the EntityManagerFactory is bootstrapped in the background, resolving
+  // a bean that isn't created yet would block on the bean factory (and deadlock with a bean waiting for the EMF)
+  @Lazy
+  @Autowired
+  private NameIndex nameIndex;
+
+  @PostPersist
+  @PostUpdate
+  public void put(Object entity) {
+
+    NameRecord record;
+
+    if (entity instanceof Individual) {
+
+      Individual individual = (Individual) entity;
+
+      record = toRecord(individual.getId(), null, individual.getName());
+
+    } else if (entity instanceof IndividualName) {
+
+      IndividualName individualName = (IndividualName) entity;
+
+      record = toRecord(individualName.getIndividual().getId(), individualName.getId(), individualName.getName());
+
+    } else {
+
+      return;
+    }
+
+    AfterCommit.run(() -> nameIndex.put(record));
+  }
+
+  @PostRemove
+  public void remove(Object entity) {
+
+    if (entity instanceof Individual) {
+
+      Long id = ((Individual) entity).getId();
+
+      AfterCommit.run(() -> nameIndex.remove(id));
+
+    } else if (entity instanceof IndividualName) {
+
+      IndividualName individualName = (IndividualName) entity;
+
+      Long individualId = individualName.getIndividual().getId();
+      Long nameId = individualName.getId();
+
+      AfterCommit.run(() -> nameIndex.remove(individualId, nameId));
+    }
+
+  }
+
+  private static NameRecord toRecord(Long individualId, Long nameId, Name name) {
+
+    if (name == null) {
+      return new NameRecord(individualId, nameId, null, null, null, null, null, null);
+    }
+
+    return new NameRecord(individualId, nameId, name.getGivenName(), name.getPreferredGivenName(),
+      name.getMiddleName(), name.getFamilyName(), name.getPreferredFamilyName(), name.getPreferredName());
+  }
+
+}
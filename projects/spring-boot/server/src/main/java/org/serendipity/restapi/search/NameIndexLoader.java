@@ -0,0 +1,56 @@
+package org.serendipity.restapi.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.serendipity.restapi.projection.NameRecord;
+import org.serendipity.restapi.repository.IndividualNameRepository;
+import org.serendipity.restapi.repository.IndividualRepository;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class NameIndexLoader {
+
+  // Loads the name index once the application context has started, before the database is seeded (see: SeedRunner),
+  // from then on it's kept current by NameIndexListener. The names are streamed, not loaded as entities.
+
+  private final NameIndex nameIndex;
+  private final IndividualRepository individualRepository;
+  private final IndividualNameRepository individualNameRepository;
+
+  public NameIndexLoader(NameIndex nameIndex,
+                         IndividualRepository individualRepository,
+                         IndividualNameRepository individualNameRepository) {
+
+    this.nameIndex = nameIndex;
+    this.individualRepository = individualRepository;
+    this.individualNameRepository = individualNameRepository;
+  }
+
+  @EventListener(ContextRefreshedEvent.class)
+  @Transactional(readOnly = true)
+  public void load() {
+
+    log.info("Index names ...");
+
+    long start = System.currentTimeMillis();
+
+    nameIndex.clear();
+
+    try (Stream<NameRecord> names = individualRepository.streamAllNames()) {
+      names.forEach(nameIndex::put);
+    }
+
+    try (Stream<NameRecord> names = individualNameRepository.streamAllNames()) {
+      names.forEach(nameIndex::put);
+    }
+
+    log.info("Index names complete: {} individuals in {} ms", nameIndex.size(),
+      System.currentTimeMillis() - start);
+  }
+
+}
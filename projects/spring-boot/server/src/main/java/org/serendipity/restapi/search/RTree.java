@@ -0,0 +1,152 @@
+package org.serendipity.restapi.search;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+public class RTree<T> {
+
+  // An immutable R-tree of bounding boxes, bulk loaded with Sort-Tile-Recursive (STR) packing: the items are sorted
+  // into vertical slices by the x of their centre, each slice is sorted by y, and consecutive runs of NODE_SIZE items
+  // become leaves. The levels above group consecutive runs of nodes, which the tiling keeps spatially close.
+  //
+  // Each level is stored in an array of boxes { minX, minY, maxX, maxY }: the children of node i are the nodes (or
+  // items) [i * NODE_SIZE, (i + 1) * NODE_SIZE) of the level below.
+
+  static final int NODE_SIZE = 16;
+
+  private final List<T> items;
+
+  // levels[0] are the items' boxes, levels[levels.length - 1] is the root
+  private final double[][] levels;
+
+  public RTree(Collection<T> items, Function<T, double[]> box) {
+
+    List<T> sorted = new ArrayList<>(items);
+
+    int size = sorted.size();
+
+    if (size > 0) {
+
+      Map<T, double[]> boxes = new IdentityHashMap<>();
+      sorted.forEach(item -> boxes.put(item, box.apply(item)));
+
+      int leaves = (size + NODE_SIZE - 1) / NODE_SIZE;
+      int slices = (int) Math.ceil(Math.sqrt(leaves));
+      int sliceSize = slices * NODE_SIZE;
+
+      sorted.sort(Comparator.comparingDouble(item -> centre(boxes.get(item), 0)));
+
+      for (int from = 0; from < size; from += sliceSize) {
+        sorted.subList(from, Math.min(from + sliceSize, size))
+          .sort(Comparator.comparingDouble(item -> centre(boxes.get(item), 1)));
+      }
+
+      List<double[]> levels = new ArrayList<>();
+
+      double[] level = new double[size * 4];
+
+      for (int i = 0; i < size; i++) {
+        System.arraycopy(boxes.get(sorted.get(i)), 0, level, i * 4, 4);
+      }
+
+      levels.add(level);
+
+      while (level.length > 4) {
+        level = parents(level);
+        levels.add(level);
+      }
+
+      this.levels = levels.toArray(new double[0][]);
+
+    } else {
+
+      this.levels = new double[0][];
+    }
+
+    this.items = Collections.unmodifiableList(sorted);
+  }
+
+  private static double centre(double[] box, int axis) {
+    return (box[axis] + box[axis + 2]) / 2;
+  }
+
+  private static double[] parents(double[] children) {
+
+    int count = children.length / 4;
+    int parents = (count + NODE_SIZE - 1) / NODE_SIZE;
+
+    double[] level = new double[parents * 4];
+
+    for (int i = 0; i < parents; i++) {
+
+      double minX = Double.POSITIVE_INFINITY;
+      double minY = Double.POSITIVE_INFINITY;
+      double maxX = Double.NEGATIVE_INFINITY;
+      double maxY = Double.NEGATIVE_INFINITY;
+
+      for (int child = i * NODE_SIZE; child < Math.min((i + 1) * NODE_SIZE, count); child++) {
+        minX = Math.min(minX, children[child * 4]);
+        minY = Math.min(minY, children[child * 4 + 1]);
+        maxX = Math.max(maxX, children[child * 4 + 2]);
+        maxY = Math.max(maxY, children[child * 4 + 3]);
+      }
+
+      level[i * 4] = minX;
+      level[i * 4 + 1] = minY;
+      level[i * 4 + 2] = maxX;
+      level[i * 4 + 3] = maxY;
+    }
+
+    return level;
+  }
+
+  public int size() {
+    return items.size();
+  }
+
+  // The first item whose box contains (x, y) and that passes the test, or null
+
+  public T find(double x, double y, Predicate<T> test) {
+
+    if (levels.length == 0) {
+      return null;
+    }
+
+    return find(levels.length - 1, 0, x, y, test);
+  }
+
+  private T find(int depth, int node, double x, double y, Predicate<T> test) {
+
+    double[] level = levels[depth];
+
+    if (x < level[node * 4] || y < level[node * 4 + 1] || x > level[node * 4 + 2] || y > level[node * 4 + 3]) {
+      return null;
+    }
+
+    if (depth == 0) {
+
+      T item = items.get(node);
+
+      return test.test(item) ? item : null;
+    }
+
+    int children = levels[depth - 1].length / 4;
+
+    for (int child = node * NODE_SIZE; child < Math.min((node + 1) * NODE_SIZE, children); child++) {
+
+      T found = find(depth - 1, child, x, y, test);
+
+      if (found != null) {
+        return found;
+      }
+
+    }
+
+    return null;
+  }
+
+}
+
+// https://en.wikipedia.org/wiki/R-tree
+// https://apps.dtic.mil/sti/pdfs/ADA324493.pdf (STR: A Simple and Efficient Algorithm for R-Tree Packing)
@@ -0,0 +1,164 @@
+package org.serendipity.restapi.benchmark;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+class ClosedLoop {
+
+  // The load driver shared by LoadHarnessTests and ConcurrencyBenchmarkTests. Clients are a closed loop: each one sends
+  // its next request as soon as its previous response (or error) arrives, until the run ends, so a slow server also
+  // lowers the offered load. Responses that arrive during the warmup aren't recorded.
+
+  private final HttpClient client;
+  private final Duration warmup;
+  private final Duration duration;
+  private final Duration timeout;
+
+  ClosedLoop(HttpClient client, Duration warmup, Duration duration, Duration timeout) {
+
+    this.client = client;
+    this.warmup = warmup;
+    this.duration = duration;
+    this.timeout = timeout;
+  }
+
+  // Runs the clients until the warmup and the duration have passed, next returns a client's (numbered from 0) next
+  // request
+
+  Latencies run(int clients, IntFunction<Call> next) throws InterruptedException {
+
+    long now = System.nanoTime();
+
+    Latencies latencies = new Latencies(now + warmup.toNanos(), now + warmup.plus(duration).toNanos());
+
+    CountDownLatch done = new CountDownLatch(clients);
+
+    for (int i = 0; i < clients; i++) {
+      send(i, next, latencies, done);
+    }
+
+    done.await();
+
+    return latencies;
+  }
+
+  private void send(int number, IntFunction<Call> next, Latencies latencies, CountDownLatch done) {
+
+    long start = System.nanoTime();
+
+    if (start >= latencies.end) {
+      done.countDown();
+      return;
+    }
+
+    Call call = next.apply(number);
+
+    HttpRequest request = call.request
+      .timeout(timeout)
+      .build();
+
+    client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, e) -> {
+
+      boolean ok = e == null && response.statusCode() == call.expected;
+
+      latencies.record(call.operation, start, System.nanoTime(), ok);
+
+      call.completed.accept(ok ? response : null);
+
+      send(number, next, latencies, done);
+    });
+
+  }
+
+  static double millis(long nanos) {
+    return Math.round(nanos / 1e5) / 10.0;
+  }
+
+  static class Call {
+
+    final String operation;
+    final HttpRequest.Builder request;
+    final int expected;
+    // The response, or null if the request failed
+    final Consumer<HttpResponse<Void>> completed;
+
+    Call(String operation, HttpRequest.Builder request, int expected, Consumer<HttpResponse<Void>> completed) {
+      this.operation = operation;
+      this.request = request;
+      this.expected = expected;
+      this.completed = completed;
+    }
+
+  }
+
+  // Each operation's latencies in nanoseconds (3 significant digits) and its errors (an exception or an unexpected
+  // status)
+
+  static class Latencies {
+
+    private final long measureFrom;
+    private final long end;
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+
+    private Latencies(long measureFrom, long end) {
+      this.measureFrom = measureFrom;
+      this.end = end;
+    }
+
+    private void record(String operation, long start, long finish, boolean ok) {
+
+      if (finish < measureFrom || finish > end) {
+        return;
+      }
+
+      if (ok) {
+        histogram(operation).recordValue(finish - start);
+      } else {
+        errors.computeIfAbsent(operation, key -> new AtomicLong()).incrementAndGet();
+      }
+
+    }
+
+    Histogram histogram(String operation) {
+      return histograms.computeIfAbsent(operation, key -> new ConcurrentHistogram(3));
+    }
+
+    long errors(String operation) {
+
+      AtomicLong count = errors.get(operation);
+
+      return count == null ? 0 : count.get();
+    }
+
+    Histogram total() {
+
+      Histogram total = new Histogram(3);
+
+      histograms.values().forEach(total::add);
+
+      return total;
+    }
+
+    long totalErrors() {
+      return errors.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+  }
+
+}
+
+// https://hdrhistogram.github.io/HdrHistogram/
+// https://www.scylladb.com/2021/04/22/on-coordinated-omission/
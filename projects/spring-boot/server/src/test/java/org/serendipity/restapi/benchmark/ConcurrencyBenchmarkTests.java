@@ -0,0 +1,152 @@
+package org.serendipity.restapi.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.serendipity.restapi.SerendipityRestApiApplication;
+import org.serendipity.restapi.benchmark.ClosedLoop.Call;
+import org.serendipity.restapi.benchmark.ClosedLoop.Latencies;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.serendipity.restapi.benchmark.ClosedLoop.millis;
+
+@Tag("benchmark")
+@Slf4j
+class ConcurrencyBenchmarkTests {
+
+  // Throughput and latency of GET /api/individuals/{id} with 1k, 5k and 10k concurrent clients, on Tomcat's pool of
+  // platform threads (server.tomcat.threads.max) and on virtual threads (see: VirtualThreadConfig). Clients are a
+  // closed loop (see: ClosedLoop). Both modes use the same connection pool and connection limits, only the request
+  // threads differ.
+  //
+  // Excluded from the default build, run (virtual threads need a Java 21 runtime, the test is skipped without one):
+  // mvn -Ptest,virtual-threads test -Dgroups=benchmark -DexcludedGroups=none -Dtest=ConcurrencyBenchmarkTests
+  //
+  // The client and the server share a JVM, so a client holds two sockets: 10k clients need ulimit -n above 20000.
+  // The levels can be changed with, for example: -Dbenchmark.clients=1000,5000
+
+  private static final String CLIENTS = System.getProperty("benchmark.clients", "1000,5000,10000");
+  private static final String OPERATION = "individual-get";
+
+  private static final Duration WARMUP = Duration.ofSeconds(30);
+  private static final Duration DURATION = Duration.ofSeconds(30);
+  private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+  private static final String[] SERVER = {
+    "--server.port=0",
+    "--spring.datasource.hikari.maximum-pool-size=20",
+    "--spring.datasource.hikari.connection-timeout=10000",
+    "--server.tomcat.max-connections=12000",
+    "--server.tomcat.accept-count=1000",
+    "--logging.level.org.serendipity.restapi.controller=WARN",
+    "--serendipity.payload-logging.enabled=false"
+  };
+
+  @Test
+  void platformThreads() throws Exception {
+    benchmark("platform-threads", "test");
+  }
+
+  @Test
+  void virtualThreads() throws Exception {
+
+    assumeTrue(Runtime.version().feature() >= 21, "Virtual threads require Java 21");
+
+    benchmark("virtual-threads", "test,virtual-threads");
+  }
+
+  private void benchmark(String mode, String profiles) throws Exception {
+
+    List<String> args = new ArrayList<>(Arrays.asList(SERVER));
+    args.add("--spring.profiles.active=" + profiles);
+
+    try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SerendipityRestApiApplication.class,
+      BenchmarkSecurity.class).run(args.toArray(new String[0]))) {
+
+      int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+      List<Long> ids = ids(context.getBean(EntityManagerFactory.class));
+
+      HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(TIMEOUT)
+        .build();
+
+      ClosedLoop loop = new ClosedLoop(client, WARMUP, DURATION, TIMEOUT);
+
+      for (String clients : CLIENTS.split(",")) {
+        run(mode, Integer.parseInt(clients.trim()), loop, port, ids);
+      }
+
+    }
+
+  }
+
+  private void run(String mode, int clients, ClosedLoop loop, int port, List<Long> ids) throws InterruptedException {
+
+    Latencies latencies = loop.run(clients, number -> {
+
+      Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+
+      URI uri = URI.create("http://localhost:" + port + "/api/individuals/" + id);
+
+      return new Call(OPERATION, HttpRequest.newBuilder(uri).header("Authorization", "Bearer benchmark"), 200,
+        response -> { });
+    });
+
+    Histogram histogram = latencies.histogram(OPERATION);
+
+    log.info("Benchmark {} {} clients: {} requests/sec, p50 {} ms, p99 {} ms, max {} ms, {} errors", mode, clients,
+      Math.round(histogram.getTotalCount() / (double) DURATION.toSeconds()),
+      millis(histogram.getValueAtPercentile(50.0)), millis(histogram.getValueAtPercentile(99.0)),
+      millis(histogram.getMaxValue()), latencies.errors(OPERATION));
+  }
+
+  private static List<Long> ids(EntityManagerFactory entityManagerFactory) {
+
+    EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+    try {
+      return entityManager.createQuery("SELECT i.id FROM Individual i", Long.class).getResultList();
+    } finally {
+      entityManager.close();
+    }
+
+  }
+
+  // Every bearer token is accepted, the benchmark measures the request threads not the authorisation server
+
+  @TestConfiguration(proxyBeanMethods = false)
+  static class BenchmarkSecurity {
+
+    @Bean
+    @Primary
+    JwtDecoder benchmarkJwtDecoder() {
+
+      return token -> Jwt.withTokenValue(token)
+        .header("alg", "none")
+        .claim("scope", "individual:read")
+        .build();
+    }
+
+  }
+
+}
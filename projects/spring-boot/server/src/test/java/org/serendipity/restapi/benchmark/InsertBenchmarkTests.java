@@ -0,0 +1,176 @@
+package org.serendipity.restapi.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.serendipity.restapi.entity.Individual;
+import org.serendipity.restapi.entity.Name;
+import org.serendipity.restapi.entity.Party;
+import org.serendipity.restapi.entity.Role;
+import org.serendipity.restapi.repository.IndividualRepository;
+import org.serendipity.restapi.repository.RoleRepository;
+import org.serendipity.restapi.type.PartyType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.HashSet;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test"})
+@Tag("benchmark")
+@Slf4j
+class InsertBenchmarkTests {
+
+  // Inserts per second (and JDBC statements prepared) for the two write paths: a seeder (repository saves in a
+  // single transaction) and POST /individuals (a transaction per request).
+  //
+  // Excluded from the default build, run: mvn test -Dgroups=benchmark -DexcludedGroups=none
+
+  private static final int WARMUP = 100;
+  private static final int ROWS = 2000;
+  private static final int REQUESTS = 500;
+
+  @Autowired
+  private IndividualRepository individualRepository;
+
+  @Autowired
+  private RoleRepository roleRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private MockMvc mvc;
+
+  @Test
+  void seeders() {
+
+    seed("warmup", WARMUP);
+
+    Statistics statistics = statistics();
+
+    long start = System.nanoTime();
+
+    seed("seeder", ROWS);
+
+    report("seeder", ROWS, start, statistics);
+  }
+
+  @Test
+  void postIndividuals() throws Exception {
+
+    for (int i = 0; i < WARMUP; i++) {
+      create("warmup", i);
+    }
+
+    Statistics statistics = statistics();
+
+    long start = System.nanoTime();
+
+    for (int i = 0; i < REQUESTS; i++) {
+      create("post", i);
+    }
+
+    report("post", REQUESTS, start, statistics);
+  }
+
+  // The same writes as a House of Representatives member (see: HouseOfRepresentatives)
+
+  private void seed(String prefix, int rows) {
+
+    transactionTemplate.executeWithoutResult(status -> {
+
+      for (int i = 0; i < rows; i++) {
+
+        Name name = Name.builder().givenName("Given").familyName(prefix + i).build();
+
+        Party party = Party.builder()
+          .type(PartyType.INDIVIDUAL)
+          .displayName(name.getFamilyName() + ", " + name.getGivenName())
+          .addresses(new HashSet<>())
+          .roles(new HashSet<>())
+          .build();
+
+        Individual individual = Individual.builder()
+          .party(party)
+          .name(name)
+          .sex("MALE")
+          .email(prefix + i + "@example.com")
+          .phoneNumber("")
+          .photoUrl("")
+          .build();
+
+        individualRepository.save(individual);
+
+        Role role = Role.builder()
+          .partyId(party.getId())
+          .partyType(party.getType())
+          .partyName(party.getDisplayName())
+          .partyEmail(individual.getEmail())
+          .partyPhoneNumber(individual.getPhoneNumber())
+          .reciprocalPartyId(party.getId())
+          .reciprocalPartyType(PartyType.ORGANISATION)
+          .reciprocalPartyName("Benchmark")
+          .reciprocalPartyEmail("")
+          .reciprocalPartyPhoneNumber("")
+          .build();
+
+        roleRepository.save(role);
+        party.getRoles().add(role);
+
+        individualRepository.save(individual);
+      }
+
+    });
+
+  }
+
+  private void create(String prefix, int i) throws Exception {
+
+    String content = "{ \"party\": { \"type\": \"INDIVIDUAL\", \"displayName\": \"" + prefix + i + ", Given\", \"addresses\": [], \"roles\": [] }, " +
+      "\"name\": { \"givenName\": \"Given\", \"familyName\": \"" + prefix + i + "\" }, " +
+      "\"names\": [], \"sex\": \"MALE\", \"email\": \"" + prefix + i + "@example.com\" }";
+
+    mvc.perform(post("/api/individuals")
+      .contentType(MediaType.APPLICATION_JSON)
+      .content(content)
+      .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_individual:post"))))
+      .andExpect(status().isCreated());
+  }
+
+  private Statistics statistics() {
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    statistics.clear();
+
+    return statistics;
+  }
+
+  private void report(String name, int count, long start, Statistics statistics) {
+
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    log.info("Benchmark {}: {} inserts in {} ms, {} inserts/sec, {} statements prepared, {} entities inserted",
+      name, count, Math.round(seconds * 1000), Math.round(count / seconds), statistics.getPrepareStatementCount(),
+      statistics.getEntityInsertCount());
+  }
+
+}
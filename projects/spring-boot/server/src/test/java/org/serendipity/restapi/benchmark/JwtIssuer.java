@@ -0,0 +1,97 @@
+package org.serendipity.restapi.benchmark;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+@Slf4j
+class JwtIssuer implements AutoCloseable {
+
+  // A stand-in for Keycloak: signs RS256 access tokens and publishes its public key as a JWK Set, so requests go
+  // through the same NimbusJwtDecoder (see: DefaultSecurityConfig) as they do in production, for example:
+  // --spring.security.oauth2.resourceserver.jwt.jwk-set-uri=issuer.getJwkSetUri()
+
+  private static final String CERTS = "/auth/realms/load/protocol/openid-connect/certs";
+
+  private final RSAKey key;
+  private final HttpServer server;
+
+  JwtIssuer() throws IOException, JOSEException {
+
+    key = new RSAKeyGenerator(2048).keyID(UUID.randomUUID().toString()).generate();
+
+    byte[] jwks = new JWKSet(key.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(CERTS, exchange -> {
+
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, jwks.length);
+
+      try (OutputStream body = exchange.getResponseBody()) {
+        body.write(jwks);
+      }
+
+    });
+    server.start();
+
+    log.info("JwtIssuer: {}", getJwkSetUri());
+  }
+
+  String getJwkSetUri() {
+    return "http://localhost:" + server.getAddress().getPort() + CERTS;
+  }
+
+  // A space separated scope claim, for example: "individual:read individual:post" -> SCOPE_individual:read, ...
+
+  String issue(String subject, String scope, Duration lifetime) throws JOSEException {
+
+    Instant now = Instant.now();
+
+    JWTClaimsSet claims = new JWTClaimsSet.Builder()
+      .issuer("http://localhost:" + server.getAddress().getPort() + "/auth/realms/load")
+      .subject(subject)
+      .jwtID(UUID.randomUUID().toString())
+      .issueTime(Date.from(now))
+      .expirationTime(Date.from(now.plus(lifetime)))
+      .claim("scope", scope)
+      .build();
+
+    SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256)
+      .keyID(key.getKeyID())
+      .type(JOSEObjectType.JWT)
+      .build(), claims);
+
+    jwt.sign(new RSASSASigner(key));
+
+    return jwt.serialize();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+  }
+
+}
+
+// https://datatracker.ietf.org/doc/html/rfc7517
+// https://connect2id.com/products/nimbus-jose-jwt/examples/jwt-with-rsa-signature
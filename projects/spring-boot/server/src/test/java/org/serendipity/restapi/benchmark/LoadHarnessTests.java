@@ -0,0 +1,590 @@
+package org.serendipity.restapi.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.serendipity.restapi.SerendipityRestApiApplication;
+import org.serendipity.restapi.benchmark.ClosedLoop.Call;
+import org.serendipity.restapi.benchmark.ClosedLoop.Latencies;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.serendipity.restapi.benchmark.ClosedLoop.millis;
+
+@Tag("benchmark")
+@Slf4j
+class LoadHarnessTests {
+
+  // Drives a weighted mix of reads and writes against the individual, organisation and electoral division endpoints
+  // of an in-process server (the test profile's H2 database) and reports each operation's throughput and its p50,
+  // p95, p99 and p99.9 latencies. Every request carries an RS256 access token signed by a local issuer
+  // (see: JwtIssuer), so the JWT decoder and the scope checks are part of what's measured (ConcurrencyBenchmarkTests
+  // accepts any token).
+  //
+  // Excluded from the default build, run:
+  // mvn -Ptest test -Dgroups=benchmark -DexcludedGroups=none -Dtest=LoadHarnessTests
+  //
+  // The load can be changed with, for example:
+  // -Dload.clients=64 -Dload.warmup=10 -Dload.duration=60 -Dload.mix=individual-get=80,individual-patch=20
+  //
+  // Clients are a closed loop (see: ClosedLoop), so a slow server also lowers the offered load: compare the
+  // requests/sec as well as the percentiles between runs.
+  // Each operation's full latency distribution is written to target/load-harness/<operation>.hgrm
+  // The writes only update and delete the individuals and organisations created during the run, and those that remain
+  // are deleted at the end, the seeded data is left as is.
+
+  private static final String DEFAULT_MIX = "individual-get=30,individual-list=10,individual-post=5," +
+    "individual-patch=5,individual-delete=2,organisation-get=15,organisation-list=5,organisation-post=3," +
+    "organisation-patch=3,organisation-delete=1,division-list=5,division-find-by-name=8,division-nearest=6," +
+    "division-containing=2";
+
+  private static final int CLIENTS = Integer.getInteger("load.clients", 32);
+  private static final String MIX = System.getProperty("load.mix", DEFAULT_MIX);
+  private static final Path HISTOGRAMS = Paths.get(System.getProperty("load.histograms", "target/load-harness"));
+
+  private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup", 10));
+  private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration", 30));
+  private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+  private static final String SCOPE = "individual:read individual:post individual:patch individual:delete";
+
+  private static final int PAGE_SIZE = 20;
+  private static final int POINTS = 100;
+
+  private static final String[] SERVER = {
+    "--server.port=0",
+    "--spring.profiles.active=test",
+    "--logging.level.org.serendipity.restapi.controller=WARN",
+    "--serendipity.payload-logging.enabled=false"
+  };
+
+  @Test
+  void mixedLoad() throws Exception {
+
+    Mix mix = Mix.parse(MIX);
+
+    try (JwtIssuer issuer = new JwtIssuer()) {
+
+      List<String> args = new ArrayList<>(Arrays.asList(SERVER));
+      args.add("--spring.security.oauth2.resourceserver.jwt.jwk-set-uri=" + issuer.getJwkSetUri());
+
+      try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SerendipityRestApiApplication.class)
+        .run(args.toArray(new String[0]))) {
+
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+        Fixture fixture = new Fixture(port, context.getBean(EntityManagerFactory.class));
+
+        HttpClient client = HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_1_1)
+          .connectTimeout(TIMEOUT)
+          .build();
+
+        Duration lifetime = WARMUP.plus(DURATION).plus(TIMEOUT).plusMinutes(5);
+
+        String[] tokens = new String[CLIENTS];
+
+        for (int i = 0; i < CLIENTS; i++) {
+          tokens[i] = issuer.issue("load-client-" + i, SCOPE, lifetime);
+        }
+
+        Latencies latencies = new ClosedLoop(client, WARMUP, DURATION, TIMEOUT).run(CLIENTS, number -> {
+
+          Call call = mix.next().call(fixture);
+
+          call.request.header("Authorization", "Bearer " + tokens[number]);
+
+          return call;
+        });
+
+        report(latencies);
+
+        clean(client, fixture, issuer.issue("load-clean", SCOPE, lifetime));
+      }
+
+    }
+
+  }
+
+  // An update or a delete that created an entity instead is reported as a create, even if creates aren't in the mix
+
+  private void report(Latencies latencies) throws IOException {
+
+    Files.createDirectories(HISTOGRAMS);
+
+    for (Operation operation : Operation.values()) {
+
+      Histogram histogram = latencies.histogram(operation.name);
+      long errors = latencies.errors(operation.name);
+
+      if (histogram.getTotalCount() == 0 && errors == 0) {
+        continue;
+      }
+
+      log(operation.name, histogram, errors);
+      write(operation.name, histogram);
+    }
+
+    Histogram total = latencies.total();
+
+    log("total", total, latencies.totalErrors());
+    write("total", total);
+  }
+
+  private void log(String name, Histogram histogram, long errors) {
+
+    log.info("Load {} ({} clients): {} requests/sec, p50 {} ms, p95 {} ms, p99 {} ms, p99.9 {} ms, max {} ms, " +
+        "{} errors", name, CLIENTS, Math.round(histogram.getTotalCount() / (double) DURATION.toSeconds()),
+      millis(histogram.getValueAtPercentile(50.0)), millis(histogram.getValueAtPercentile(95.0)),
+      millis(histogram.getValueAtPercentile(99.0)), millis(histogram.getValueAtPercentile(99.9)),
+      millis(histogram.getMaxValue()), errors);
+  }
+
+  // Plot with: https://hdrhistogram.github.io/HdrHistogram/plotFiles.html
+
+  private void write(String name, Histogram histogram) throws IOException {
+
+    try (PrintStream out = new PrintStream(Files.newOutputStream(HISTOGRAMS.resolve(name + ".hgrm")), false,
+      StandardCharsets.UTF_8.name())) {
+
+      histogram.outputPercentileDistribution(out, 1e6);
+    }
+
+  }
+
+  // Deletes the individuals and organisations the run created that weren't deleted during it
+
+  private void clean(HttpClient client, Fixture fixture, String token) throws IOException, InterruptedException {
+
+    int count = 0;
+
+    for (Long id; (id = fixture.individuals.poll()) != null; count++) {
+      delete(client, fixture.uri("/individuals/" + id), token);
+    }
+
+    for (Long id; (id = fixture.organisations.poll()) != null; count++) {
+      delete(client, fixture.uri("/organisations/" + id), token);
+    }
+
+    log.info("Load: deleted {} individuals and organisations", count);
+  }
+
+  private void delete(HttpClient client, URI uri, String token) throws IOException, InterruptedException {
+
+    client.send(HttpRequest.newBuilder(uri)
+      .DELETE()
+      .header("Authorization", "Bearer " + token)
+      .timeout(TIMEOUT)
+      .build(), HttpResponse.BodyHandlers.discarding());
+  }
+
+  // The operations, their requests and the status they expect. An update or a delete takes an id from the entities
+  // created during the run (so no two clients write to the same one at the same time) and creates one instead when
+  // there aren't any.
+
+  enum Operation {
+
+    INDIVIDUAL_GET("individual-get") {
+
+      @Override
+      Call call(Fixture fixture) {
+        return get(this, fixture.uri("/individuals/" + random(fixture.individualIds)));
+      }
+
+    },
+
+    INDIVIDUAL_LIST("individual-list") {
+
+      @Override
+      Call call(Fixture fixture) {
+        return get(this, fixture.uri("/individuals?page=" + page(fixture.individualIds) + "&size=" + PAGE_SIZE));
+      }
+
+    },
+
+    INDIVIDUAL_POST("individual-post") {
+
+      @Override
+      Call call(Fixture fixture) {
+
+        String name = "Load" + fixture.sequence.incrementAndGet();
+
+        String content = "{ \"party\": { \"type\": \"INDIVIDUAL\", \"displayName\": \"" + name + ", Given\", " +
+          "\"addresses\": [], \"roles\": [] }, \"name\": { \"givenName\": \"Given\", \"familyName\": \"" + name + "\" }, " +
+          "\"names\": [], \"sex\": \"MALE\", \"email\": \"" + name.toLowerCase() + "@example.com\" }";
+
+        return new Call(this.name, json(fixture.uri("/individuals")).POST(HttpRequest.BodyPublishers.ofString(content)),
+          201, created(fixture.individuals));
+      }
+
+    },
+
+    INDIVIDUAL_PATCH("individual-patch") {
+
+      @Override
+      Call call(Fixture fixture) {
+
+        Long id = fixture.individuals.poll();
+
+        if (id == null) {
+          return INDIVIDUAL_POST.call(fixture);
+        }
+
+        String name = "Load" + fixture.sequence.incrementAndGet();
+
+        String content = "{ \"party\": { \"id\": " + id + ", \"type\": \"INDIVIDUAL\", \"displayName\": \"" + name +
+          ", Given\", \"addresses\": [], \"roles\": [] }, \"name\": { \"givenName\": \"Given\", \"familyName\": \"" +
+          name + "\" }, \"names\": [], \"sex\": \"FEMALE\", \"email\": \"" + name.toLowerCase() + "@example.com\" }";
+
+        return new Call(this.name, json(fixture.uri("/individuals/" + id))
+          .method("PATCH", HttpRequest.BodyPublishers.ofString(content)), 204, response -> fixture.individuals.add(id));
+      }
+
+    },
+
+    INDIVIDUAL_DELETE("individual-delete") {
+
+      @Override
+      Call call(Fixture fixture) {
+
+        Long id = fixture.individuals.poll();
+
+        if (id == null) {
+          return INDIVIDUAL_POST.call(fixture);
+        }
+
+        return new Call(this.name, HttpRequest.newBuilder(fixture.uri("/individuals/" + id)).DELETE(), 204,
+          response -> restore(fixture.individuals, id, response));
+      }
+
+    },
+
+    ORGANISATION_GET("organisation-get") {
+
+      @Override
+      Call call(Fixture fixture) {
+        return get(this, fixture.uri("/organisations/" + random(fixture.organisationIds)));
+      }
+
+    },
+
+    ORGANISATION_LIST("organisation-list") {
+
+      @Override
+      Call call(Fixture fixture) {
+        return get(this, fixture.uri("/organisations?page=" + page(fixture.organisationIds) + "&size=" + PAGE_SIZE));
+      }
+
+    },
+
+    ORGANISATION_POST("organisation-post") {
+
+      @Override
+      Call call(Fixture fixture) {
+
+        String name = "Load Organisation " + fixture.sequence.incrementAndGet();
+
+        String content = "{ \"party\": { \"type\": \"ORGANISATION\", \"displayName\": \"" + name + "\", " +
+          "\"addresses\": [], \"roles\": [] }, \"name\": \"" + name + "\", \"phoneNumber\": \"(02) 6277 7111\" }";
+
+        return new Call(this.name, json(fixture.uri("/organisations"))
+          .POST(HttpRequest.BodyPublishers.ofString(content)), 201, created(fixture.organisations));
+      }
+
+    },
+
+    ORGANISATION_PATCH("organisation-patch") {
+
+      @Override
+      Call call(Fixture fixture) {
+
+        Long id = fixture.organisations.poll();
+
+        if (id == null) {
+          return ORGANISATION_POST.call(fixture);
+        }
+
+        String name = "Load Organisation " + fixture.sequence.incrementAndGet();
+
+        String content = "{ \"party\": { \"id\": " + id + ", \"type\": \"ORGANISATION\", \"displayName\": \"" + name +
+          "\", \"addresses\": [], \"roles\": [] }, \"name\": \"" + name + "\", \"phoneNumber\": \"(02) 6277 7211\" }";
+
+        return new Call(this.name, json(fixture.uri("/organisations/" + id))
+          .method("PATCH", HttpRequest.BodyPublishers.ofString(content)), 204, response -> fixture.organisations.add(id));
+      }
+
+    },
+
+    ORGANISATION_DELETE("organisation-delete") {
+
+      @Override
+      Call call(Fixture fixture) {
+
+        Long id = fixture.organisations.poll();
+
+        if (id == null) {
+          return ORGANISATION_POST.call(fixture);
+        }
+
+        return new Call(this.name, HttpRequest.newBuilder(fixture.uri("/organisations/" + id)).DELETE(), 204,
+          response -> restore(fixture.organisations, id, response));
+      }
+
+    },
+
+    DIVISION_LIST("division-list") {
+
+      @Override
+      Call call(Fixture fixture) {
+        return get(this, fixture.uri("/electoral-divisions?page=" + page(fixture.divisionNames) + "&size=" +
+          PAGE_SIZE));
+      }
+
+    },
+
+    DIVISION_FIND_BY_NAME("division-find-by-name") {
+
+      @Override
+      Call call(Fixture fixture) {
+        return get(this, fixture.uri("/electoral-divisions/search/findByName?name=" +
+          URLEncoder.encode(random(fixture.divisionNames), StandardCharsets.UTF_8)));
+      }
+
+    },
+
+    DIVISION_NEAREST("division-nearest") {
+
+      @Override
+      Call call(Fixture fixture) {
+
+        double[] point = point();
+
+        return get(this, fixture.uri("/electoral-divisions/search/nearest?lat=" + point[0] + "&lon=" + point[1] +
+          "&k=5"));
+      }
+
+    },
+
+    DIVISION_CONTAINING("division-containing") {
+
+      @Override
+      Call call(Fixture fixture) {
+
+        List<String> points = new ArrayList<>(POINTS);
+
+        for (int i = 0; i < POINTS; i++) {
+
+          double[] point = point();
+
+          points.add("{ \"lat\": " + point[0] + ", \"lon\": " + point[1] + " }");
+        }
+
+        String content = "[ " + String.join(", ", points) + " ]";
+
+        return new Call(this.name, json(fixture.uri("/electoral-divisions/search/containing"))
+          .POST(HttpRequest.BodyPublishers.ofString(content)), 200, response -> { });
+      }
+
+    };
+
+    final String name;
+
+    Operation(String name) {
+      this.name = name;
+    }
+
+    abstract Call call(Fixture fixture);
+
+    static Operation of(String name) {
+
+      for (Operation operation : values()) {
+        if (operation.name.equals(name)) {
+          return operation;
+        }
+      }
+
+      throw new IllegalArgumentException("Unknown operation: " + name + ", expected one of: " +
+        Arrays.stream(values()).map(operation -> operation.name).collect(Collectors.joining(", ")));
+    }
+
+    private static Call get(Operation operation, URI uri) {
+      return new Call(operation.name, HttpRequest.newBuilder(uri).GET(), 200, response -> { });
+    }
+
+    private static HttpRequest.Builder json(URI uri) {
+      return HttpRequest.newBuilder(uri).header("Content-Type", "application/json");
+    }
+
+    // The new entity's id is the last segment of its Location, for example: .../api/individuals/123
+
+    private static Consumer<HttpResponse<Void>> created(Deque<Long> ids) {
+
+      return response -> {
+
+        if (response == null) {
+          return;
+        }
+
+        response.headers().firstValue("Location").ifPresent(location ->
+          ids.add(Long.valueOf(location.substring(location.lastIndexOf('/') + 1))));
+      };
+
+    }
+
+    private static void restore(Deque<Long> ids, Long id, HttpResponse<Void> response) {
+
+      if (response == null) {
+        ids.add(id);
+      }
+
+    }
+
+    private static <T> T random(List<T> items) {
+      return items.get(ThreadLocalRandom.current().nextInt(items.size()));
+    }
+
+    private static int page(List<?> items) {
+      return ThreadLocalRandom.current().nextInt(Math.max(1, (items.size() + PAGE_SIZE - 1) / PAGE_SIZE));
+    }
+
+    // A point in mainland Australia's bounding box
+
+    private static double[] point() {
+
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+
+      return new double[] { random.nextDouble(-39.2, -10.7), random.nextDouble(113.3, 153.6) };
+    }
+
+  }
+
+  // The ids and names the requests choose from, read once before the run
+
+  static class Fixture {
+
+    final String base;
+
+    final List<Long> individualIds;
+    final List<Long> organisationIds;
+    final List<String> divisionNames;
+
+    final Deque<Long> individuals = new ConcurrentLinkedDeque<>();
+    final Deque<Long> organisations = new ConcurrentLinkedDeque<>();
+
+    final AtomicLong sequence = new AtomicLong(System.currentTimeMillis());
+
+    Fixture(int port, EntityManagerFactory entityManagerFactory) {
+
+      this.base = "http://localhost:" + port + "/api";
+
+      EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+      try {
+
+        individualIds = entityManager.createQuery("SELECT i.id FROM Individual i", Long.class).getResultList();
+        organisationIds = entityManager.createQuery("SELECT o.id FROM Organisation o", Long.class).getResultList();
+        divisionNames = entityManager.createQuery("SELECT e.name FROM ElectoralDivision e", String.class)
+          .getResultList();
+
+      } finally {
+        entityManager.close();
+      }
+
+    }
+
+    URI uri(String path) {
+      return URI.create(base + path);
+    }
+
+  }
+
+  // Operations are chosen at random in proportion to their weights, for example: individual-get=3,individual-post=1
+
+  static class Mix {
+
+    private final Operation[] operations;
+    private final int[] cumulative;
+
+    private Mix(Operation[] operations, int[] cumulative) {
+      this.operations = operations;
+      this.cumulative = cumulative;
+    }
+
+    static Mix parse(String mix) {
+
+      Map<Operation, Integer> weights = new LinkedHashMap<>();
+
+      for (String entry : mix.split(",")) {
+
+        String[] pair = entry.split("=");
+
+        if (pair.length != 2) {
+          throw new IllegalArgumentException("Expected operation=weight: " + entry);
+        }
+
+        int weight = Integer.parseInt(pair[1].trim());
+
+        if (weight > 0) {
+          weights.merge(Operation.of(pair[0].trim()), weight, Integer::sum);
+        }
+
+      }
+
+      if (weights.isEmpty()) {
+        throw new IllegalArgumentException("The mix doesn't include any operations: " + mix);
+      }
+
+      Operation[] operations = weights.keySet().toArray(new Operation[0]);
+      int[] cumulative = new int[operations.length];
+
+      int sum = 0;
+
+      for (int i = 0; i < operations.length; i++) {
+        sum += weights.get(operations[i]);
+        cumulative[i] = sum;
+      }
+
+      return new Mix(operations, cumulative);
+    }
+
+    Operation next() {
+
+      int choice = ThreadLocalRandom.current().nextInt(cumulative[cumulative.length - 1]);
+
+      for (int i = 0; ; i++) {
+        if (choice < cumulative[i]) {
+          return operations[i];
+        }
+      }
+
+    }
+
+  }
+
+}
+
+// https://hdrhistogram.github.io/HdrHistogram/
+// https://www.scylladb.com/2021/04/22/on-coordinated-omission/
@@ -0,0 +1,66 @@
+package org.serendipity.restapi.controller;
+
+import org.junit.jupiter.api.Test;
+import org.serendipity.restapi.repository.ElectoralDivisionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+  "serendipity.boundaries.path=classpath:boundaries.geojson",
+  "serendipity.boundaries.name-property=name"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles({"test"})
+class ElectoralDivisionControllerTests {
+
+  @Autowired
+  private MockMvc mvc;
+
+  @Autowired
+  private ElectoralDivisionRepository repository;
+
+  // Each point has a match, in request order: an invalid point has an error rather than failing the batch, and a
+  // boundary whose division isn't in the database has a name but no id
+
+  @Test
+  void containingBatch() throws Exception {
+
+    Long adelaide = repository.findByName("Adelaide").orElseThrow().getId();
+
+    String content = "[ { \"lat\": -34.907, \"lon\": 138.602 }, { \"lat\": 91, \"lon\": 138.602 }, " +
+      "{ \"lat\": 0.5, \"lon\": 0.5 }, { \"lat\": 10, \"lon\": 10 }, { \"lon\": 138.602 }, null ]";
+
+    mvc.perform(post("/api/electoral-divisions/search/containing")
+      .contentType(MediaType.APPLICATION_JSON)
+      .content(content)
+      .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_individual:read"))))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.length()").value(6))
+      .andExpect(jsonPath("$[0].index").value(0))
+      .andExpect(jsonPath("$[0].name").value("Adelaide"))
+      .andExpect(jsonPath("$[0].id").value(adelaide))
+      .andExpect(jsonPath("$[0].error").doesNotExist())
+      .andExpect(jsonPath("$[1].index").value(1))
+      .andExpect(jsonPath("$[1].name").doesNotExist())
+      .andExpect(jsonPath("$[1].error").exists())
+      .andExpect(jsonPath("$[2].name").value("Nowhere"))
+      .andExpect(jsonPath("$[2].id").doesNotExist())
+      .andExpect(jsonPath("$[3].index").value(3))
+      .andExpect(jsonPath("$[3].name").doesNotExist())
+      .andExpect(jsonPath("$[3].error").doesNotExist())
+      .andExpect(jsonPath("$[4].error").exists())
+      .andExpect(jsonPath("$[5].index").value(5))
+      .andExpect(jsonPath("$[5].error").exists());
+  }
+
+}
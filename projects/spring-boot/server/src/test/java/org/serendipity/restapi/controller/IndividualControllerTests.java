@@ -0,0 +1,158 @@
+package org.serendipity.restapi.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test"})
+class IndividualControllerTests {
+
+  @Autowired
+  private MockMvc mvc;
+
+  // The name index is updated once each change commits, so the next search sees it
+
+  @Test
+  void searchFollowsCreateUpdateDelete() throws Exception {
+
+    String location = mvc.perform(post("/api/individuals")
+      .contentType(MediaType.APPLICATION_JSON)
+      .content(json(null, "Quixwellbourne"))
+      .with(scopes()))
+      .andExpect(status().isCreated())
+      .andReturn().getResponse().getHeader("Location");
+
+    Long id = Long.valueOf(location.substring(location.lastIndexOf('/') + 1));
+
+    // A typo finds the new Individual
+
+    search("quixwelbourne")
+      .andExpect(jsonPath("$.page.totalElements").value(1))
+      .andExpect(jsonPath("$..familyName", contains("Quixwellbourne")));
+
+    mvc.perform(patch("/api/individuals/" + id)
+      .contentType(MediaType.APPLICATION_JSON)
+      .content(json(id, "Vanderbrackenthorpe"))
+      .with(scopes()))
+      .andExpect(status().isNoContent());
+
+    search("quixwellbourne")
+      .andExpect(jsonPath("$.page.totalElements").value(0));
+
+    search("vanderbrackenthorp")
+      .andExpect(jsonPath("$.page.totalElements").value(1))
+      .andExpect(jsonPath("$..familyName", contains("Vanderbrackenthorpe")));
+
+    mvc.perform(delete("/api/individuals/" + id)
+      .with(scopes()))
+      .andExpect(status().isNoContent());
+
+    search("vanderbrackenthorp")
+      .andExpect(jsonPath("$.page.totalElements").value(0))
+      .andExpect(jsonPath("$..familyName", empty()));
+  }
+
+  // A conditional GET is answered with a 304 (and no body) until the Individual changes, a missing id is a 404 whatever
+  // the client sends
+
+  @Test
+  void conditionalGetFollowsUpdate() throws Exception {
+
+    String location = mvc.perform(post("/api/individuals")
+      .contentType(MediaType.APPLICATION_JSON)
+      .content(json(null, "Etagsworth"))
+      .with(scopes()))
+      .andExpect(status().isCreated())
+      .andReturn().getResponse().getHeader("Location");
+
+    Long id = Long.valueOf(location.substring(location.lastIndexOf('/') + 1));
+
+    String etag = mvc.perform(get("/api/individuals/" + id)
+      .with(scopes()))
+      .andExpect(status().isOk())
+      .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+      .andExpect(jsonPath("$.name.familyName").value("Etagsworth"))
+      .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    mvc.perform(get("/api/individuals/" + id)
+      .header(HttpHeaders.IF_NONE_MATCH, etag)
+      .with(scopes()))
+      .andExpect(status().isNotModified())
+      .andExpect(header().string(HttpHeaders.ETAG, etag))
+      .andExpect(content().string(""));
+
+    // The validators are derived from updatedAt (milliseconds)
+    Thread.sleep(10);
+
+    mvc.perform(patch("/api/individuals/" + id)
+      .contentType(MediaType.APPLICATION_JSON)
+      .content(json(id, "Etagsbury"))
+      .with(scopes()))
+      .andExpect(status().isNoContent());
+
+    mvc.perform(get("/api/individuals/" + id)
+      .header(HttpHeaders.IF_NONE_MATCH, etag)
+      .with(scopes()))
+      .andExpect(status().isOk())
+      .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+      .andExpect(jsonPath("$.name.familyName").value("Etagsbury"));
+
+    mvc.perform(delete("/api/individuals/" + id)
+      .with(scopes()))
+      .andExpect(status().isNoContent());
+
+    mvc.perform(get("/api/individuals/" + id)
+      .header(HttpHeaders.IF_NONE_MATCH, etag)
+      .with(scopes()))
+      .andExpect(status().isNotFound());
+
+    mvc.perform(get("/api/individuals/" + id)
+      .header(HttpHeaders.IF_NONE_MATCH, "*")
+      .with(scopes()))
+      .andExpect(status().isNotFound());
+  }
+
+  private ResultActions search(String q) throws Exception {
+
+    return mvc.perform(get("/api/individuals/search")
+      .param("q", q)
+      .with(scopes()))
+      .andExpect(status().isOk());
+  }
+
+  private static String json(Long id, String familyName) {
+
+    return "{ \"party\": { " + (id == null ? "" : "\"id\": " + id + ", ") + "\"type\": \"INDIVIDUAL\", " +
+      "\"displayName\": \"" + familyName + ", Given\", \"addresses\": [], \"roles\": [] }, " +
+      "\"name\": { \"givenName\": \"Given\", \"familyName\": \"" + familyName + "\" }, " +
+      "\"names\": [], \"sex\": \"MALE\", \"email\": \"" + familyName.toLowerCase() + "@example.com\" }";
+  }
+
+  private static RequestPostProcessor scopes() {
+
+    return jwt().authorities(
+      new SimpleGrantedAuthority("SCOPE_individual:read"),
+      new SimpleGrantedAuthority("SCOPE_individual:post"),
+      new SimpleGrantedAuthority("SCOPE_individual:patch"),
+      new SimpleGrantedAuthority("SCOPE_individual:delete"));
+  }
+
+}
@@ -0,0 +1,121 @@
+package org.serendipity.restapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.serendipity.reactive.SerendipityReactiveApplication;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockJwt;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.springSecurity;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test"})
+class ReactiveComparisonTests {
+
+  // The reactive module's list endpoints return the same representations and validators (ETag, Last-Modified and
+  // Cache-Control) as the server's, read from the same (seeded) test database. The pages' sort keys are unique, the
+  // order of ties is undefined on the server.
+
+  private static final List<String> URLS = List.of(
+    "/api/individuals",
+    "/api/individuals?page=1&size=2",
+    "/api/individuals?sort=id,desc&size=3",
+    "/api/organisations",
+    "/api/organisations?page=1&size=2",
+    "/api/electoral-divisions",
+    "/api/electoral-divisions?page=3&size=10",
+    "/api/electoral-divisions?sort=name&size=5"
+  );
+
+  private static final List<String> HEADERS = List.of(
+    HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL
+  );
+
+  @Autowired
+  private MockMvc mvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Test
+  void sameRepresentations() throws Exception {
+
+    try (ConfigurableApplicationContext reactive = reactive()) {
+
+      WebTestClient client = WebTestClient.bindToApplicationContext(reactive)
+        .apply(springSecurity())
+        .configureClient()
+        .baseUrl("http://localhost")
+        .build()
+        .mutateWith(mockJwt().authorities(new SimpleGrantedAuthority("SCOPE_individual:read")));
+
+      for (String url : URLS) {
+
+        MockHttpServletResponse expected = mvc.perform(get(url)
+          .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_individual:read"))))
+          .andReturn().getResponse();
+
+        EntityExchangeResult<byte[]> actual = client.get().uri(url)
+          .exchange()
+          .expectBody()
+          .returnResult();
+
+        assertEquals(expected.getStatus(), actual.getStatus().value(), url);
+        assertEquals(200, expected.getStatus(), url);
+
+        assertEquals(expected.getContentType(), actual.getResponseHeaders().getFirst(HttpHeaders.CONTENT_TYPE), url);
+
+        for (String header : HEADERS) {
+          assertEquals(expected.getHeader(header), actual.getResponseHeaders().getFirst(header), url + " " + header);
+        }
+
+        assertEquals(objectMapper.readTree(expected.getContentAsByteArray()),
+          objectMapper.readTree(actual.getResponseBody()), url);
+      }
+
+    }
+
+  }
+
+  // The reactive application, with its own properties (the server's application.properties shadow them on this
+  // classpath) and without the server's Flowable engines (they need the server's DataSource)
+
+  private static ConfigurableApplicationContext reactive() {
+
+    String location = SerendipityReactiveApplication.class.getProtectionDomain().getCodeSource().getLocation()
+      .toString();
+
+    return new SpringApplicationBuilder(SerendipityReactiveApplication.class)
+      .web(WebApplicationType.REACTIVE)
+      .run("--spring.config.location=" + (location.endsWith(".jar") ? "jar:" + location + "!/" : location),
+        "--spring.profiles.active=test",
+        "--server.port=0",
+        "--flowable.process.enabled=false",
+        "--flowable.app.enabled=false",
+        "--flowable.cmmn.enabled=false",
+        "--flowable.content.enabled=false",
+        "--flowable.dmn.enabled=false",
+        "--flowable.eventregistry.enabled=false",
+        "--flowable.form.enabled=false",
+        "--flowable.idm.enabled=false");
+  }
+
+}
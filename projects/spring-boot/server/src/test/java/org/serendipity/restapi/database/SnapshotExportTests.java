@@ -0,0 +1,72 @@
+package org.serendipity.restapi.database;
+
+import org.junit.jupiter.api.Test;
+import org.serendipity.restapi.database.seed.SeedRunner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+  "serendipity.snapshot.export=target/snapshot-export-tests.sql.gz",
+  "serendipity.snapshot.exit=false",
+  "serendipity.seed.async=true"
+})
+@ActiveProfiles({"test"})
+class SnapshotExportTests {
+
+  @Autowired
+  private ApplicationContext context;
+
+  @Autowired
+  private SeedRunner seedRunner;
+
+  // The export waits for seeding (in the background, serendipity.seed.async=true) on the main thread, so the seed
+  // runner has to run before it does
+
+  @Test
+  void seedRunnerRunsFirst() {
+
+    List<CommandLineRunner> runners = new ArrayList<>(context.getBeansOfType(CommandLineRunner.class).values());
+
+    AnnotationAwareOrderComparator.sort(runners);
+
+    assertTrue(runners.indexOf(seedRunner) < runners.indexOf(context.getBean(SnapshotExport.class)));
+  }
+
+  // The application started, so the export (run at startup) has written the script
+
+  @Test
+  void scriptIsWritten() throws IOException {
+
+    File snapshot = SnapshotExport.resolve("target/snapshot-export-tests.sql.gz");
+
+    assertTrue(seedRunner.isComplete());
+    assertTrue(snapshot.isFile());
+    assertTrue(snapshot.lastModified() >= ManagementFactory.getRuntimeMXBean().getStartTime() - 1000);
+
+    try (InputStream in = new GZIPInputStream(Files.newInputStream(snapshot.toPath()))) {
+
+      String script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+
+      assertTrue(script.contains("CREATE"));
+      assertTrue(script.contains("INSERT INTO \"PUBLIC\".\"INDIVIDUAL\""));
+    }
+
+  }
+
+}
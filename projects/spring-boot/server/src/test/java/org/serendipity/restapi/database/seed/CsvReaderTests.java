@@ -0,0 +1,136 @@
+package org.serendipity.restapi.database.seed;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTests {
+
+  @Test
+  void unquotedFields() throws IOException {
+
+    assertRecords("name,state,area\nAdelaide,SA,86\n",
+      new String[] { "name", "state", "area" },
+      new String[] { "Adelaide", "SA", "86" });
+  }
+
+  @Test
+  void quotedCommas() throws IOException {
+
+    assertRecords("\"Commonwealth Parliament Offices, Suite 8\",Adelaide\n",
+      new String[] { "Commonwealth Parliament Offices, Suite 8", "Adelaide" });
+  }
+
+  @Test
+  void embeddedLineBreaks() throws IOException {
+
+    CsvReader reader = new CsvReader(new StringReader("\"Level 1\nSuite 8\",Adelaide\nnext,row\n"));
+
+    assertArrayEquals(new String[] { "Level 1\nSuite 8", "Adelaide" }, reader.readRecord());
+    assertEquals(3, reader.getLineNumber());
+
+    assertArrayEquals(new String[] { "next", "row" }, reader.readRecord());
+    assertNull(reader.readRecord());
+  }
+
+  @Test
+  void escapedQuotes() throws IOException {
+
+    assertRecords("\"The \"\"Hon\"\" Member\",\"\",x\n",
+      new String[] { "The \"Hon\" Member", "", "x" });
+  }
+
+  @Test
+  void emptyFields() throws IOException {
+
+    assertRecords(",a,,\n",
+      new String[] { "", "a", "", "" });
+  }
+
+  @Test
+  void crlf() throws IOException {
+
+    assertRecords("a,b\r\nc,\"d\r\ne\"\r\n",
+      new String[] { "a", "b" },
+      new String[] { "c", "d\r\ne" });
+  }
+
+  @Test
+  void missingTrailingNewline() throws IOException {
+
+    assertRecords("a,b\nc,d",
+      new String[] { "a", "b" },
+      new String[] { "c", "d" });
+
+    assertRecords("a,\"b\"",
+      new String[] { "a", "b" });
+  }
+
+  @Test
+  void blankLinesAreSkipped() throws IOException {
+
+    assertRecords("\n\na,b\n\r\n\nc,d\n\n",
+      new String[] { "a", "b" },
+      new String[] { "c", "d" });
+
+    assertRecords("");
+  }
+
+  @Test
+  void unterminatedQuote() throws IOException {
+
+    CsvReader reader = new CsvReader(new StringReader("a,b\n\"c,d\ne\n"));
+
+    assertArrayEquals(new String[] { "a", "b" }, reader.readRecord());
+
+    IOException e = assertThrows(IOException.class, reader::readRecord);
+
+    assertTrue(e.getMessage().contains("line 4"), e.getMessage());
+  }
+
+  // A record (and an escaped quote) that spans the reader's 8192 character buffer
+
+  @Test
+  void recordsSpanningTheBuffer() throws IOException {
+
+    StringBuilder csv = new StringBuilder();
+    List<String[]> expected = new ArrayList<>();
+
+    for (int i = 0; csv.length() < 50000; i++) {
+
+      String value = "row " + i + " \"quoted\", with a comma";
+
+      csv.append(i).append(",\"").append(value.replace("\"", "\"\"")).append("\"\r\n");
+      expected.add(new String[] { String.valueOf(i), value });
+    }
+
+    assertRecords(csv.toString(), expected.toArray(new String[0][]));
+  }
+
+  private static void assertRecords(String csv, String[]... expected) throws IOException {
+
+    try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+
+      List<String[]> records = new ArrayList<>();
+
+      for (String[] record; (record = reader.readRecord()) != null; ) {
+        records.add(record);
+      }
+
+      assertEquals(expected.length, records.size());
+
+      for (int i = 0; i < expected.length; i++) {
+        assertArrayEquals(expected[i], records.get(i), "Record " + i + ": " + Arrays.toString(records.get(i)));
+      }
+
+    }
+
+  }
+
+}
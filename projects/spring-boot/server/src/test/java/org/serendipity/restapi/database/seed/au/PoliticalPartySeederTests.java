@@ -0,0 +1,149 @@
+package org.serendipity.restapi.database.seed.au;
+
+import org.junit.jupiter.api.Test;
+import org.serendipity.restapi.database.seed.Seeder;
+import org.serendipity.restapi.entity.Address;
+import org.serendipity.restapi.entity.Individual;
+import org.serendipity.restapi.entity.Organisation;
+import org.serendipity.restapi.entity.Role;
+import org.serendipity.restapi.repository.IndividualRepository;
+import org.serendipity.restapi.repository.OrganisationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({"test"})
+class PoliticalPartySeederTests {
+
+  @Autowired
+  private AutowireCapableBeanFactory beanFactory;
+
+  @Autowired
+  @Qualifier("australianGreens")
+  private PoliticalPartySeeder australianGreens;
+
+  @Autowired
+  private OrganisationRepository organisationRepository;
+
+  @Autowired
+  private IndividualRepository individualRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  // The Australian Greens' row with a new email, head office and primary contact
+
+  static class ChangedRow extends PoliticalPartySeeder {
+
+    ChangedRow() {
+      super(PoliticalParty.AUSTRALIAN_GREENS);
+    }
+
+    @Override
+    String[] read() throws IOException {
+
+      String[] fields = super.read();
+
+      fields[EMAIL] = "office@greens.example.org";
+      fields[ADDRESS_LINE_1] = "1 Changed St";
+      fields[CONTACT_FIRST_NAME] = "Alex";
+      fields[CONTACT_SURNAME] = "Changed";
+      fields[CONTACT_EMAIL] = "alex.changed@greens.example.org";
+
+      return fields;
+    }
+
+  }
+
+  @Test
+  void reseedUpdatesInPlace() {
+
+    Long id = organisationId();
+
+    // A seeder that's changed (its checksum differs from the ledger's) is applied again
+
+    assertEquals(Seeder.Result.APPLIED, apply(newSeeder()));
+
+    transactionTemplate.execute(status -> {
+
+      Organisation organisation = organisationRepository.findById(id).orElseThrow();
+
+      assertEquals(id, organisationId());
+      assertEquals("office@greens.example.org", organisation.getEmail());
+
+      Address headOffice = organisation.getParty().getAddresses().iterator().next();
+
+      assertEquals(1, organisation.getParty().getAddresses().size());
+      assertEquals("1 Changed St", headOffice.getLine1());
+
+      Role role = organisation.getParty().getRoles().iterator().next();
+
+      assertEquals(1, organisation.getParty().getRoles().size());
+      assertEquals("office@greens.example.org", role.getPartyEmail());
+      assertEquals("Changed, Alex", role.getReciprocalPartyName());
+
+      Individual contact = individualRepository.findById(role.getReciprocalPartyId()).orElseThrow();
+
+      assertEquals("Changed", contact.getName().getFamilyName());
+      assertEquals("alex.changed@greens.example.org", contact.getEmail());
+      assertEquals("office@greens.example.org", contact.getParty().getRoles().iterator().next().getReciprocalPartyEmail());
+
+      return null;
+    });
+
+    // Restore the data file's row
+
+    assertEquals(Seeder.Result.APPLIED, apply(australianGreens));
+
+    transactionTemplate.execute(status -> {
+
+      Organisation organisation = organisationRepository.findById(id).orElseThrow();
+
+      assertEquals("greens@greens.org.au", organisation.getEmail());
+      assertEquals("23/85 Northbourne Ave", organisation.getParty().getAddresses().iterator().next().getLine1());
+
+      return null;
+    });
+
+  }
+
+  private Long organisationId() {
+
+    return organisationRepository.findByName(PoliticalParty.AUSTRALIAN_GREENS.toString(), PageRequest.of(0, 1))
+      .getContent().get(0).getId();
+  }
+
+  // Autowired and proxied (Seeder.apply() is @Transactional) as the seeder beans are
+
+  private PoliticalPartySeeder newSeeder() {
+
+    ChangedRow seeder = new ChangedRow();
+
+    beanFactory.autowireBean(seeder);
+
+    return (PoliticalPartySeeder) beanFactory.initializeBean(seeder, "changedRow");
+  }
+
+  private static Seeder.Result apply(Seeder seeder) {
+
+    try {
+
+      return seeder.apply();
+
+    } catch (IOException e) {
+
+      throw new IllegalStateException(e);
+    }
+
+  }
+
+}
@@ -0,0 +1,62 @@
+package org.serendipity.restapi.export;
+
+import org.junit.jupiter.api.Test;
+import org.serendipity.restapi.projection.OrganisationRecord;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Date;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportWriterTests {
+
+  private static final String HEADER = "id,name,displayName,email,phoneNumber,establishmentDate\r\n";
+
+  private final ExportWriter writer = new ExportWriter();
+
+  @Test
+  void emptyCsvHasHeader() throws Exception {
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertEquals(0, writer.write(Stream.empty(), OrganisationRecord.class, ExportFormat.CSV, "organisations",
+      response));
+
+    assertEquals("text/csv;charset=UTF-8", response.getContentType());
+    assertEquals(HEADER, response.getContentAsString());
+  }
+
+  // Nulls are empty fields, a date is ISO-8601 (as it is in NDJSON)
+
+  @Test
+  void csv() throws Exception {
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    Stream<OrganisationRecord> rows = Stream.of(
+      new OrganisationRecord(1L, "Acme, \"Ltd\"", "Acme", null, "555\r\n0100", new Date(0)),
+      new OrganisationRecord(2L, "Initech", "Initech", "info@initech.com", null, null));
+
+    assertEquals(2, writer.write(rows, OrganisationRecord.class, ExportFormat.CSV, "organisations", response));
+
+    assertEquals(HEADER +
+      "1,\"Acme, \"\"Ltd\"\"\",Acme,,\"555\r\n0100\",1970-01-01T00:00:00.000+00:00\r\n" +
+      "2,Initech,Initech,info@initech.com,,\r\n", response.getContentAsString());
+  }
+
+  @Test
+  void ndjson() throws Exception {
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    Stream<OrganisationRecord> rows = Stream.of(
+      new OrganisationRecord(1L, "Acme", "Acme", null, null, new Date(0)));
+
+    assertEquals(1, writer.write(rows, OrganisationRecord.class, ExportFormat.NDJSON, "organisations", response));
+
+    assertEquals("{\"id\":1,\"name\":\"Acme\",\"displayName\":\"Acme\",\"email\":null,\"phoneNumber\":null," +
+      "\"establishmentDate\":\"1970-01-01T00:00:00.000+00:00\"}\n", response.getContentAsString());
+  }
+
+}
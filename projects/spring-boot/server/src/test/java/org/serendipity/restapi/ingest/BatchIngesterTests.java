@@ -0,0 +1,232 @@
+package org.serendipity.restapi.ingest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test"})
+class BatchIngesterTests {
+
+  // POST /individuals/batch, each item's result is reported in request order. The individuals created are deleted
+  // after each test.
+
+  private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+  @Autowired
+  private MockMvc mvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private final List<Long> created = new ArrayList<>();
+
+  @AfterEach
+  void deleteCreated() throws Exception {
+
+    for (Long id : created) {
+      mvc.perform(delete("/api/individuals/" + id).with(scopes()));
+    }
+
+  }
+
+  // Leading whitespace before the array is skipped
+
+  @Test
+  void jsonArray() throws Exception {
+
+    String content = " \n\t [ " + item("Arraybourne", "arraybourne") + ", " + item("Arraywood", "arraywood") + " ]";
+
+    JsonNode result = ingest(MediaType.APPLICATION_JSON, content, false);
+
+    assertEquals(2, result.get("created").asInt());
+    assertEquals(0, result.get("failed").asInt());
+
+    assertStatuses(result, "CREATED", "CREATED");
+    assertFamilyName(result.get("items").get(0).get("id").asLong(), "Arraybourne");
+    assertFamilyName(result.get("items").get(1).get("id").asLong(), "Arraywood");
+  }
+
+  // Blank lines aren't items
+
+  @Test
+  void ndjson() throws Exception {
+
+    String content = item("Lineford", "lineford") + "\n\n" + item("Linehaven", "linehaven") + "\n" +
+      item("Linemoor", "linemoor") + "\n";
+
+    JsonNode result = ingest(NDJSON, content, false);
+
+    assertEquals(3, result.get("created").asInt());
+
+    assertStatuses(result, "CREATED", "CREATED", "CREATED");
+    assertFamilyName(result.get("items").get(2).get("id").asLong(), "Linemoor");
+  }
+
+  // A line that isn't valid JSON, and one that's missing a required field, don't affect the others
+
+  @Test
+  void unreadableLine() throws Exception {
+
+    String content = item("Readwell", "readwell") + "\n" +
+      "{ \"name\": { \"familyName\": Unquoted } }\n" +
+      "{ \"name\": { \"givenName\": \"Given\" } }\n" +
+      item("Readmore", "readmore") + "\n";
+
+    JsonNode result = ingest(NDJSON, content, false);
+
+    assertEquals(2, result.get("created").asInt());
+    assertEquals(2, result.get("failed").asInt());
+
+    assertStatuses(result, "CREATED", "FAILED", "FAILED", "CREATED");
+    assertTrue(result.get("items").get(1).get("error").asText().startsWith("Invalid JSON"));
+    assertEquals("name.familyName is required", result.get("items").get(2).get("error").asText());
+    assertFamilyName(result.get("items").get(3).get("id").asLong(), "Readmore");
+  }
+
+  // The rest of an array can't be read after a syntax error, the items before it are persisted
+
+  @Test
+  void unreadableArray() throws Exception {
+
+    String content = "[ " + item("Arrayfield", "arrayfield") + ", { \"name\": { \"familyName\": Unquoted } }, " +
+      item("Arraymere", "arraymere") + " ]";
+
+    JsonNode result = ingest(MediaType.APPLICATION_JSON, content, false);
+
+    assertEquals(1, result.get("created").asInt());
+    assertEquals(1, result.get("failed").asInt());
+
+    assertStatuses(result, "CREATED", "FAILED");
+    assertTrue(result.get("items").get(1).get("error").asText().startsWith("Invalid JSON"));
+    assertFamilyName(result.get("items").get(0).get("id").asLong(), "Arrayfield");
+  }
+
+  // A family name longer than its column fails the chunk's transaction, the chunk's items are retried one at a time
+  // so only that item fails
+
+  @Test
+  void failedChunk() throws Exception {
+
+    String content = "[ " + item("Chunkley", "chunkley") + ", " +
+      item(String.join("", Collections.nCopies(30, "Toolongname")), "toolong") + ", " +
+      item("Chunkworth", "chunkworth") + " ]";
+
+    JsonNode result = ingest(MediaType.APPLICATION_JSON, content, false);
+
+    assertEquals(2, result.get("created").asInt());
+    assertEquals(1, result.get("failed").asInt());
+
+    assertStatuses(result, "CREATED", "FAILED", "CREATED");
+    assertTrue(result.get("items").get(1).get("error").asText().startsWith("Rolled back"));
+    assertFalse(result.get("items").get(1).has("id"));
+
+    assertFamilyName(result.get("items").get(0).get("id").asLong(), "Chunkley");
+    assertFamilyName(result.get("items").get(2).get("id").asLong(), "Chunkworth");
+  }
+
+  // An item whose email matches an existing individual updates them
+
+  @Test
+  void upsert() throws Exception {
+
+    String email = "upsert" + System.nanoTime();
+
+    JsonNode first = ingest(NDJSON, item("Upsertford", email) + "\n", false);
+
+    long id = first.get("items").get(0).get("id").asLong();
+
+    String content = item("Upsertham", email) + "\n" + item("Upsertnew", email + "new") + "\n";
+
+    JsonNode result = ingest(NDJSON, content, true);
+
+    assertEquals(1, result.get("created").asInt());
+    assertEquals(1, result.get("updated").asInt());
+
+    assertStatuses(result, "UPDATED", "CREATED");
+    assertEquals(id, result.get("items").get(0).get("id").asLong());
+    assertFamilyName(id, "Upsertham");
+  }
+
+  private JsonNode ingest(MediaType contentType, String content, boolean upsert) throws Exception {
+
+    byte[] body = mvc.perform(post("/api/individuals/batch")
+      .param("upsert", String.valueOf(upsert))
+      .contentType(contentType)
+      .content(content)
+      .with(scopes()))
+      .andExpect(status().isOk())
+      .andReturn().getResponse().getContentAsByteArray();
+
+    JsonNode result = objectMapper.readTree(body);
+
+    for (JsonNode item : result.get("items")) {
+
+      if ("CREATED".equals(item.get("status").asText())) {
+        created.add(item.get("id").asLong());
+      }
+
+    }
+
+    return result;
+  }
+
+  private static void assertStatuses(JsonNode result, String... statuses) {
+
+    List<String> actual = new ArrayList<>();
+
+    for (int i = 0; i < result.get("items").size(); i++) {
+
+      JsonNode item = result.get("items").get(i);
+
+      assertEquals(i, item.get("index").asInt());
+
+      actual.add(item.get("status").asText());
+    }
+
+    assertEquals(List.of(statuses), actual);
+  }
+
+  private void assertFamilyName(long id, String familyName) throws Exception {
+
+    mvc.perform(get("/api/individuals/" + id)
+      .with(scopes()))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.name.familyName").value(familyName));
+  }
+
+  private static String item(String familyName, String email) {
+
+    return "{ \"name\": { \"givenName\": \"Given\", \"familyName\": \"" + familyName + "\" }, \"sex\": \"MALE\", " +
+      "\"email\": \"" + email + "@example.com\" }";
+  }
+
+  private static RequestPostProcessor scopes() {
+
+    return jwt().authorities(
+      new SimpleGrantedAuthority("SCOPE_individual:read"),
+      new SimpleGrantedAuthority("SCOPE_individual:post"),
+      new SimpleGrantedAuthority("SCOPE_individual:delete"));
+  }
+
+}
@@ -0,0 +1,283 @@
+package org.serendipity.restapi.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundaryTests {
+
+  // Boundary.contains() is compared with a brute force even-odd ray cast against every edge (no bands)
+
+  private static final int QUERIES = 5000;
+
+  private final Random random = new Random(18);
+
+  @Test
+  void containsMatchesBruteForce() {
+
+    for (int polygon = 0; polygon < 20; polygon++) {
+
+      List<double[][]> rings = new ArrayList<>();
+
+      rings.add(star(138.6, -34.9, 1, 0.5, 50 + random.nextInt(500)));
+
+      Boundary boundary = new Boundary("Star", rings);
+
+      assertMatchesBruteForce(boundary, rings);
+    }
+
+  }
+
+  // An outer ring and holes, the holes' points are outside
+
+  @Test
+  void holes() {
+
+    List<double[][]> rings = new ArrayList<>();
+
+    rings.add(star(138.6, -34.9, 1, 0.3, 400));
+    rings.add(star(138.6, -34.9, 0.3, 0.2, 100));
+    rings.add(square(138.9, -34.7, 0.05));
+
+    Boundary boundary = new Boundary("Holes", rings);
+
+    assertFalse(boundary.contains(138.6, -34.9));
+    assertFalse(boundary.contains(138.925, -34.675));
+    assertTrue(boundary.contains(138.6, -35.5));
+
+    assertMatchesBruteForce(boundary, rings);
+  }
+
+  // A closed ring (the GeoJSON form) and the same ring unclosed are the same polygon
+
+  @Test
+  void closedAndUnclosedRings() {
+
+    double[][] unclosed = star(0, 0, 1, 0.5, 30);
+    double[][] closed = Arrays.copyOf(unclosed, unclosed.length + 1);
+    closed[unclosed.length] = unclosed[0];
+
+    Boundary a = new Boundary("Unclosed", List.<double[][]>of(unclosed));
+    Boundary b = new Boundary("Closed", List.<double[][]>of(closed));
+
+    for (int query = 0; query < QUERIES; query++) {
+
+      double x = -1.2 + random.nextDouble() * 2.4;
+      double y = -1.2 + random.nextDouble() * 2.4;
+
+      assertEquals(a.contains(x, y), b.contains(x, y));
+    }
+
+  }
+
+  // Neighbouring divisions share edges and vertices, a point on a shared edge is in exactly one of them (the half open
+  // convention: a cell [x, x + size) x [y, y + size) contains its west and south edges)
+
+  @Test
+  void sharedEdges() {
+
+    int n = 8;
+    double size = 0.25;
+
+    List<Boundary> cells = new ArrayList<>();
+
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) {
+        cells.add(new Boundary(i + "," + j, List.<double[][]>of(square(138 + i * size, -35 + j * size, size))));
+      }
+    }
+
+    // Every grid line and vertex, and the points between them
+
+    for (int i = 0; i < n * 4; i++) {
+      for (int j = 0; j < n * 4; j++) {
+
+        double x = 138 + i * size / 4;
+        double y = -35 + j * size / 4;
+
+        String expected = (i / 4) + "," + (j / 4);
+
+        List<String> containing = new ArrayList<>();
+
+        for (Boundary cell : cells) {
+          if (cell.contains(x, y)) {
+            containing.add(cell.getName());
+          }
+        }
+
+        assertEquals(List.of(expected), containing, "(" + x + ", " + y + ")");
+      }
+    }
+
+  }
+
+  // A MultiPolygon (islands) is a Boundary per polygon, an enclave is a hole in the division around it
+
+  @Test
+  void index(@TempDir Path directory) throws IOException {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    String geoJson = "{ \"type\": \"FeatureCollection\", \"features\": [ " +
+      feature("Islands", "MultiPolygon",
+        List.of(List.<double[][]>of(square(0, 0, 1)), List.<double[][]>of(square(5, 0, 1)))) + ", " +
+      feature("Mainland", "Polygon", List.<double[][]>of(square(0, 10, 4), square(1, 11, 2))) + ", " +
+      feature("Enclave", "Polygon", List.<double[][]>of(square(1, 11, 2))) + ", " +
+      feature("Neighbour", "Polygon", List.<double[][]>of(square(4, 10, 4))) + ", " +
+      "{ \"type\": \"Feature\", \"properties\": {}, \"geometry\": { \"type\": \"Point\", \"coordinates\": [0, 0] } }" +
+      " ] }";
+
+    Path path = directory.resolve("boundaries.geojson");
+
+    Files.writeString(path, geoJson);
+
+    BoundaryIndex index = new BoundaryIndex(objectMapper, new DefaultResourceLoader(), path.toUri().toString(),
+      "name");
+
+    index.load();
+
+    assertEquals(5, index.size());
+
+    // containing(latitude, longitude)
+
+    assertEquals("Islands", index.containing(0.5, 0.5));
+    assertEquals("Islands", index.containing(0.5, 5.5));
+    assertNull(index.containing(0.5, 3));
+
+    assertEquals("Mainland", index.containing(10.5, 0.5));
+    assertEquals("Enclave", index.containing(12, 2));
+    assertEquals("Neighbour", index.containing(12, 6));
+
+    // On the shared edges (see: sharedEdges)
+
+    assertEquals("Enclave", index.containing(12, 1));
+    assertEquals("Mainland", index.containing(12, 3));
+    assertEquals("Neighbour", index.containing(12, 4));
+    assertEquals("Mainland", index.containing(10, 2));
+
+    for (int query = 0; query < QUERIES; query++) {
+
+      double latitude = 9 + random.nextDouble() * 6;
+      double longitude = -1 + random.nextDouble() * 10;
+
+      String expected = null;
+
+      if (latitude >= 11 && latitude < 13 && longitude >= 1 && longitude < 3) {
+        expected = "Enclave";
+      } else if (latitude >= 10 && latitude < 14 && longitude >= 0 && longitude < 4) {
+        expected = "Mainland";
+      } else if (latitude >= 10 && latitude < 14 && longitude >= 4 && longitude < 8) {
+        expected = "Neighbour";
+      }
+
+      assertEquals(expected, index.containing(latitude, longitude), "(" + latitude + ", " + longitude + ")");
+    }
+
+  }
+
+  private void assertMatchesBruteForce(Boundary boundary, List<double[][]> rings) {
+
+    double[] box = boundary.getBox();
+
+    double width = box[2] - box[0];
+    double height = box[3] - box[1];
+
+    for (int query = 0; query < QUERIES; query++) {
+
+      double x = box[0] - width * 0.1 + random.nextDouble() * width * 1.2;
+      double y = box[1] - height * 0.1 + random.nextDouble() * height * 1.2;
+
+      assertEquals(contains(rings, x, y), boundary.contains(x, y), "(" + x + ", " + y + ")");
+    }
+
+    // The vertices and the midpoints of the edges
+
+    for (double[][] ring : rings) {
+
+      for (int i = 0; i < ring.length; i++) {
+
+        double[] from = ring[i];
+        double[] to = ring[(i + 1) % ring.length];
+
+        assertEquals(contains(rings, from[0], from[1]), boundary.contains(from[0], from[1]));
+
+        double x = (from[0] + to[0]) / 2;
+        double y = (from[1] + to[1]) / 2;
+
+        assertEquals(contains(rings, x, y), boundary.contains(x, y));
+      }
+
+    }
+
+  }
+
+  // Even-odd: the number of edges a ray from (x, y) towards +x crosses
+
+  private static boolean contains(List<double[][]> rings, double x, double y) {
+
+    boolean inside = false;
+
+    for (double[][] ring : rings) {
+
+      for (int i = 0, j = ring.length - 1; i < ring.length; j = i++) {
+
+        // Each edge from ring[j] to ring[i], as Boundary orients them, so a point on an edge rounds the same way
+        double[] a = ring[j];
+        double[] b = ring[i];
+
+        if ((a[1] > y) != (b[1] > y) && x < a[0] + (y - a[1]) * (b[0] - a[0]) / (b[1] - a[1])) {
+          inside = !inside;
+        }
+
+      }
+
+    }
+
+    return inside;
+  }
+
+  // A star shaped (so simple) polygon with a random radius at each vertex: [longitude, latitude] positions
+
+  private double[][] star(double x, double y, double radius, double jitter, int vertices) {
+
+    double[][] ring = new double[vertices][];
+
+    for (int i = 0; i < vertices; i++) {
+
+      double angle = 2 * Math.PI * i / vertices;
+      double r = radius * (1 - jitter * random.nextDouble());
+
+      ring[i] = new double[] { x + r * Math.cos(angle), y + r * Math.sin(angle) };
+    }
+
+    return ring;
+  }
+
+  // A closed ring, anticlockwise from its south west corner
+
+  private static double[][] square(double x, double y, double size) {
+
+    return new double[][] {
+      { x, y }, { x + size, y }, { x + size, y + size }, { x, y + size }, { x, y }
+    };
+  }
+
+  private static String feature(String name, String type, List<?> coordinates) throws IOException {
+
+    return "{ \"type\": \"Feature\", \"properties\": { \"name\": \"" + name + "\" }, " +
+      "\"geometry\": { \"type\": \"" + type + "\", \"coordinates\": " +
+      new ObjectMapper().writeValueAsString(coordinates) + " } }";
+  }
+
+}
@@ -0,0 +1,267 @@
+package org.serendipity.restapi.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KdTreeTests {
+
+  // Each query is compared with a brute force scan of every point
+
+  private static final int POINTS = 2000;
+  private static final int QUERIES = 500;
+
+  private final Random random = new Random(17);
+
+  @Test
+  void nearest() {
+
+    Points points = points(POINTS);
+    KdTree tree = points.tree();
+
+    for (int query = 0; query < QUERIES; query++) {
+
+      double latitude = latitude();
+      double longitude = longitude();
+      int k = 1 + random.nextInt(20);
+
+      assertNearest(points, tree, latitude, longitude, k);
+    }
+
+  }
+
+  // The nearest points are across the antimeridian, or over a pole
+
+  @Test
+  void nearestAcrossTheAntimeridianAndPoles() {
+
+    Points points = new Points();
+
+    for (int i = 0; i < POINTS; i++) {
+
+      double longitude = 175 + random.nextDouble() * 10;
+
+      points.add(i, -90 + random.nextDouble() * 180, longitude > 180 ? longitude - 360 : longitude);
+    }
+
+    KdTree tree = points.tree();
+
+    for (int query = 0; query < QUERIES; query++) {
+      assertNearest(points, tree, latitude(), random.nextBoolean() ? 179.9 : -179.9, 1 + random.nextInt(10));
+    }
+
+    assertNearest(points, tree, 89.99, 0, 5);
+    assertNearest(points, tree, -89.99, 0, 5);
+  }
+
+  // k greater than the number of points returns every point, nearest first
+
+  @Test
+  void moreNeighboursThanPoints() {
+
+    Points points = points(7);
+    KdTree tree = points.tree();
+
+    assertNearest(points, tree, -34.9, 138.6, 7);
+    assertNearest(points, tree, -34.9, 138.6, 8);
+    assertNearest(points, tree, -34.9, 138.6, 100);
+
+    assertEquals(7, tree.nearest(-34.9, 138.6, 100).size());
+    assertTrue(tree.nearest(-34.9, 138.6, 0).isEmpty());
+
+    assertTrue(new KdTree(new long[0], new double[0], new double[0]).nearest(0, 0, 3).isEmpty());
+  }
+
+  // Points with the same coordinates are all found
+
+  @Test
+  void duplicates() {
+
+    Points points = new Points();
+
+    for (int i = 0; i < 50; i++) {
+      points.add(i, -35.3, 149.1);
+    }
+
+    KdTree tree = points.tree();
+
+    assertEquals(50, new HashSet<>(tree.nearest(-35.3, 149.1, 50).stream()
+      .map(KdTree.Neighbour::getId).collect(Collectors.toList())).size());
+    assertEquals(50, tree.within(-35.3, 149.1, -35.3, 149.1).size());
+  }
+
+  @Test
+  void within() {
+
+    Points points = points(POINTS);
+    KdTree tree = points.tree();
+
+    for (int query = 0; query < QUERIES; query++) {
+
+      double south = latitude();
+      double north = Math.min(90, south + random.nextDouble() * 40);
+      double west = longitude();
+      double east = Math.min(180, west + random.nextDouble() * 60);
+
+      assertWithin(points, tree, south, west, north, east);
+    }
+
+    // The whole world, and a box on a single point (the edges are inclusive)
+
+    assertWithin(points, tree, -90, -180, 90, 180);
+    assertWithin(points, tree, points.latitudes.get(0), points.longitudes.get(0), points.latitudes.get(0),
+      points.longitudes.get(0));
+
+    assertEquals(POINTS, tree.within(-90, -180, 90, 180).size());
+  }
+
+  // A box whose west edge is east of its east edge crosses the antimeridian
+
+  @Test
+  void withinAcrossTheAntimeridian() {
+
+    Points points = points(POINTS);
+
+    points.add(POINTS, 0, 180);
+    points.add(POINTS + 1, 0, -180);
+
+    KdTree tree = points.tree();
+
+    for (int query = 0; query < QUERIES; query++) {
+
+      double south = latitude();
+      double north = Math.min(90, south + random.nextDouble() * 40);
+      double west = 180 - random.nextDouble() * 30;
+      double east = -180 + random.nextDouble() * 30;
+
+      assertWithin(points, tree, south, west, north, east);
+    }
+
+    List<Long> within = tree.within(-1, 170, 1, -170);
+
+    assertTrue(within.contains((long) POINTS));
+    assertTrue(within.contains((long) POINTS + 1));
+  }
+
+  private void assertNearest(Points points, KdTree tree, double latitude, double longitude, int k) {
+
+    List<Double> expected = new ArrayList<>();
+
+    for (int i = 0; i < points.size(); i++) {
+      expected.add(distance(latitude, longitude, points.latitudes.get(i), points.longitudes.get(i)));
+    }
+
+    expected.sort(Comparator.naturalOrder());
+
+    List<KdTree.Neighbour> neighbours = tree.nearest(latitude, longitude, k);
+
+    assertEquals(Math.min(k, points.size()), neighbours.size());
+
+    for (int i = 0; i < neighbours.size(); i++) {
+
+      KdTree.Neighbour neighbour = neighbours.get(i);
+      int point = (int) neighbour.getId();
+
+      // Ties may be returned in either order, so the distances are compared
+      assertEquals(expected.get(i), neighbour.getDistance(), 1e-6,
+        "Neighbour " + i + " of (" + latitude + ", " + longitude + "), k = " + k);
+      assertEquals(distance(latitude, longitude, points.latitudes.get(point), points.longitudes.get(point)),
+        neighbour.getDistance(), 1e-6);
+    }
+
+  }
+
+  private static void assertWithin(Points points, KdTree tree, double south, double west, double north,
+                                   double east) {
+
+    List<Long> expected = new ArrayList<>();
+
+    for (int i = 0; i < points.size(); i++) {
+
+      double latitude = points.latitudes.get(i);
+      double longitude = points.longitudes.get(i);
+
+      boolean inLongitude = west <= east ?
+        longitude >= west && longitude <= east :
+        longitude >= west || longitude <= east;
+
+      if (latitude >= south && latitude <= north && inLongitude) {
+        expected.add(points.ids.get(i));
+      }
+
+    }
+
+    List<Long> within = tree.within(south, west, north, east);
+
+    within.sort(Comparator.naturalOrder());
+
+    assertEquals(expected, within, "bbox " + west + "," + south + "," + east + "," + north);
+  }
+
+  private Points points(int count) {
+
+    Points points = new Points();
+
+    for (int i = 0; i < count; i++) {
+      points.add(i, latitude(), longitude());
+    }
+
+    return points;
+  }
+
+  private double latitude() {
+    return -90 + random.nextDouble() * 180;
+  }
+
+  private double longitude() {
+    return -180 + random.nextDouble() * 360;
+  }
+
+  // Haversine, written out independently of KdTree
+
+  private static double distance(double latitude1, double longitude1, double latitude2, double longitude2) {
+
+    double phi1 = Math.toRadians(latitude1);
+    double phi2 = Math.toRadians(latitude2);
+    double deltaPhi = phi2 - phi1;
+    double deltaLambda = Math.toRadians(longitude2 - longitude1);
+
+    double a = Math.sin(deltaPhi / 2) * Math.sin(deltaPhi / 2) +
+      Math.cos(phi1) * Math.cos(phi2) * Math.sin(deltaLambda / 2) * Math.sin(deltaLambda / 2);
+
+    return KdTree.EARTH_RADIUS * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+  }
+
+  private static class Points {
+
+    private final List<Long> ids = new ArrayList<>();
+    private final List<Double> latitudes = new ArrayList<>();
+    private final List<Double> longitudes = new ArrayList<>();
+
+    private void add(long id, double latitude, double longitude) {
+      ids.add(id);
+      latitudes.add(latitude);
+      longitudes.add(longitude);
+    }
+
+    private int size() {
+      return ids.size();
+    }
+
+    private KdTree tree() {
+
+      return new KdTree(ids.stream().mapToLong(Long::longValue).toArray(),
+        latitudes.stream().mapToDouble(Double::doubleValue).toArray(),
+        longitudes.stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+  }
+
+}
@@ -0,0 +1,296 @@
+package org.serendipity.restapi.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.serendipity.restapi.entity.Individual;
+import org.serendipity.restapi.entity.Name;
+import org.serendipity.restapi.projection.NameRecord;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameIndexTests {
+
+  private NameIndex index;
+
+  @BeforeEach
+  void setUp() {
+
+    index = new NameIndex();
+
+    put(1L, "Anthony", "Albanese");
+    put(2L, "Clare", "O'Neil");
+    put(3L, "Penny", "Wong");
+    put(4L, "Sarah", "Hanson-Young");
+    put(5L, "José", "Ramos-Horta");
+  }
+
+  @AfterEach
+  void tearDown() {
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+  }
+
+  @Test
+  void tokenize() {
+
+    assertArrayEquals(new String[] { "oneill", "smith", "jose" }, NameIndex.tokenize("O'Neill-Smith, José"));
+    assertArrayEquals(new String[] { "dalessandro", "d", "2nd" }, NameIndex.tokenize("D’Alessandro", null, "", "D. 2nd"));
+
+    // Distinct tokens, in order
+    assertArrayEquals(new String[] { "anne", "marie" }, NameIndex.tokenize("Anne", "Marie", "anne"));
+
+    assertArrayEquals(new String[0], NameIndex.tokenize("  -- ", null));
+  }
+
+  @Test
+  void grams() {
+
+    assertArrayEquals(NameIndex.grams("albanese"), NameIndex.grams("albanese"));
+
+    // "$al", "alb", "lba", "ban", "ane", "nes", "ese", "se$"
+    assertEquals(8, NameIndex.grams("albanese").length);
+
+    // "$aa", "aaa", "aa$": the repeated "aaa" is counted once
+    assertEquals(3, NameIndex.grams("aaaaa").length);
+
+    assertEquals(1, NameIndex.grams("a").length);
+    assertEquals(0, NameIndex.grams("").length);
+
+    // Digits are distinct from letters and from each other
+    assertFalse(Arrays.equals(NameIndex.grams("a1"), NameIndex.grams("a2")));
+  }
+
+  @Test
+  void soundex() {
+
+    assertEquals(1415, NameIndex.soundex("albanese"));
+    assertEquals(15540, NameIndex.soundex("oneil"));
+    assertEquals(NameIndex.soundex("oneil"), NameIndex.soundex("oneill"));
+    assertEquals(NameIndex.soundex("robert"), NameIndex.soundex("rupert"));
+
+    // R163: 'h' and 'w' don't separate letters with the same code ("ashcraft" -> A261)
+    assertEquals(18163, NameIndex.soundex("robert"));
+    assertEquals(1261, NameIndex.soundex("ashcraft"));
+
+    // Padded with zeros
+    assertEquals(23000, NameIndex.soundex("wu"));
+    assertEquals(1000, NameIndex.soundex("a"));
+
+    // A token that doesn't start with a letter has no key
+    assertEquals(0, NameIndex.soundex("2nd"));
+    assertEquals(0, NameIndex.soundex("007"));
+    assertEquals(0, NameIndex.soundex(""));
+  }
+
+  @Test
+  void typos() {
+
+    assertEquals(List.of(1L), search("albanse"));
+    assertEquals(List.of(2L), search("O'Neill"));
+    assertEquals(List.of(2L), search("oneil"));
+    assertEquals(List.of(4L), search("hanson young"));
+    assertEquals(List.of(5L), search("jose ramos"));
+
+    assertEquals(List.of(), search("xqzv"));
+    assertEquals(List.of(), search(""));
+
+    // Shorter query tokens (initials) are ignored
+    assertEquals(List.of(3L), search("p wong"));
+  }
+
+  @Test
+  void everyTermMustMatch() {
+
+    assertEquals(List.of(3L), search("penny wong"));
+    assertEquals(List.of(), search("penny albanese"));
+  }
+
+  @Test
+  void ranking() {
+
+    put(6L, "Penelope", "Wong");
+    put(7L, "Penny", "Wongsawat");
+    put(8L, "Penny", "Wang");
+
+    // Exact, then prefix, then the typo
+    assertEquals(List.of(3L, 6L, 7L, 8L), search("wong"));
+
+    // Equal scores are ranked by id
+    put(9L, "Anthony", "Albanese");
+    assertEquals(List.of(1L, 9L), search("anthony albanese"));
+  }
+
+  @Test
+  void pagination() {
+
+    for (long id = 10; id < 40; id++) {
+      put(id, "Given", "Smith");
+    }
+
+    Page<Long> first = index.search("smith", PageRequest.of(0, 10));
+    Page<Long> third = index.search("smith", PageRequest.of(2, 10));
+
+    assertEquals(30, first.getTotalElements());
+    assertEquals(10L, first.getContent().get(0));
+    assertEquals(30L, third.getContent().get(0));
+    assertEquals(10, third.getNumberOfElements());
+
+    assertTrue(index.search("smith", PageRequest.of(5, 10)).getContent().isEmpty());
+  }
+
+  @Test
+  void nameHistory() {
+
+    index.put(new NameRecord(3L, 30L, null, null, null, "Smith", null, null));
+
+    assertEquals(List.of(3L), search("wong"));
+    assertEquals(List.of(3L), search("penny smith"));
+
+    index.remove(3L, 30L);
+
+    assertEquals(List.of(), search("smith"));
+    assertEquals(List.of(3L), search("penny wong"));
+  }
+
+  @Test
+  void updateAndRemove() {
+
+    put(1L, "Anthony", "Smith");
+
+    assertEquals(List.of(), search("albanese"));
+    assertEquals(List.of(1L), search("anthony smith"));
+
+    index.remove(1L);
+
+    assertEquals(List.of(), search("anthony"));
+    assertEquals(4, index.size());
+  }
+
+  // The postings are rebuilt once half the documents are deleted
+
+  @Test
+  void compaction() {
+
+    for (int i = 0; i < 3000; i++) {
+      put(100L + i % 10, "Given", "Name" + i);
+    }
+
+    for (long id = 100; id < 105; id++) {
+      index.remove(id);
+    }
+
+    assertEquals(10, index.size());
+    assertEquals(List.of(1L), search("albanese"));
+    assertEquals(List.of(105L, 106L, 107L, 108L, 109L), search("name"));
+    assertEquals(109L, search("name2999").get(0));
+  }
+
+  // More candidates than the search's initial count table holds
+
+  @Test
+  void manyCandidates() {
+
+    for (long id = 100; id < 5100; id++) {
+      put(id, "Given", "Candidate" + id);
+    }
+
+    Page<Long> page = index.search("candidate", PageRequest.of(0, 3));
+
+    assertEquals(5000, page.getTotalElements());
+    assertEquals(List.of(100L, 101L, 102L), page.getContent());
+  }
+
+  // NameIndexListener: a change is searchable once its transaction commits, a rolled back change never is
+
+  @Test
+  void afterCommit() {
+
+    NameIndexListener listener = new NameIndexListener();
+
+    ReflectionTestUtils.setField(listener, "nameIndex", index);
+
+    TransactionSynchronizationManager.initSynchronization();
+
+    listener.put(individual(6L, "Mark", "Butler"));
+
+    assertEquals(List.of(), search("butler"));
+
+    commit();
+
+    assertEquals(List.of(6L), search("butler"));
+
+    TransactionSynchronizationManager.initSynchronization();
+
+    listener.put(individual(6L, "Mark", "Rolledback"));
+
+    rollback();
+
+    assertEquals(List.of(), search("rolledback"));
+    assertEquals(List.of(6L), search("butler"));
+
+    TransactionSynchronizationManager.initSynchronization();
+
+    listener.remove(individual(6L, "Mark", "Butler"));
+
+    assertEquals(List.of(6L), search("butler"));
+
+    commit();
+
+    assertEquals(List.of(), search("butler"));
+
+    // Without a transaction the change is applied immediately
+
+    listener.put(individual(7L, "Tanya", "Plibersek"));
+
+    assertEquals(List.of(7L), search("plibersek"));
+  }
+
+  private void put(Long id, String givenName, String familyName) {
+    index.put(new NameRecord(id, givenName, null, null, familyName, null, null));
+  }
+
+  private List<Long> search(String query) {
+    return index.search(query, PageRequest.of(0, 20)).getContent();
+  }
+
+  private static Individual individual(Long id, String givenName, String familyName) {
+
+    return Individual.builder()
+      .id(id)
+      .name(Name.builder().givenName(givenName).familyName(familyName).build())
+      .build();
+  }
+
+  private static void commit() {
+
+    List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+    TransactionSynchronizationManager.clearSynchronization();
+
+    TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+  }
+
+  private static void rollback() {
+
+    List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+    TransactionSynchronizationManager.clearSynchronization();
+
+    TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+      TransactionSynchronization.STATUS_ROLLED_BACK);
+  }
+
+}
@@ -0,0 +1,153 @@
+package org.serendipity.restapi.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RTreeTests {
+
+  // Each query is compared with a brute force scan of every box
+
+  private static final int BOXES = 3000;
+  private static final int QUERIES = 2000;
+
+  private final Random random = new Random(18);
+
+  @Test
+  void find() {
+
+    List<double[]> boxes = boxes(BOXES);
+    RTree<double[]> tree = new RTree<>(boxes, box -> box);
+
+    assertEquals(BOXES, tree.size());
+
+    for (int query = 0; query < QUERIES; query++) {
+      assertFind(boxes, tree, -180 + random.nextDouble() * 360, -90 + random.nextDouble() * 180);
+    }
+
+  }
+
+  // The edges and corners of a box are inside it
+
+  @Test
+  void findOnEdges() {
+
+    List<double[]> boxes = boxes(BOXES);
+    RTree<double[]> tree = new RTree<>(boxes, box -> box);
+
+    for (int query = 0; query < QUERIES; query++) {
+
+      double[] box = boxes.get(random.nextInt(BOXES));
+
+      double x = random.nextBoolean() ? box[0] : box[2];
+      double y = random.nextBoolean() ? box[1] : box[3];
+
+      assertNotNull(tree.find(x, y, candidate -> candidate == box));
+      assertNotNull(tree.find((box[0] + box[2]) / 2, box[3], candidate -> candidate == box));
+
+      assertFind(boxes, tree, x, y);
+    }
+
+  }
+
+  // The test rejects a candidate, the search carries on to the next box that contains the point
+
+  @Test
+  void findWithTest() {
+
+    List<double[]> boxes = new ArrayList<>();
+
+    for (int i = 0; i < 100; i++) {
+      boxes.add(new double[] { 0, 0, 1, 1 });
+    }
+
+    RTree<double[]> tree = new RTree<>(boxes, box -> box);
+
+    for (double[] box : boxes) {
+      assertSame(box, tree.find(0.5, 0.5, candidate -> candidate == box));
+    }
+
+    assertNull(tree.find(0.5, 0.5, candidate -> false));
+    assertNull(tree.find(1.5, 0.5, candidate -> true));
+  }
+
+  @Test
+  void smallTrees() {
+
+    assertNull(new RTree<double[]>(Collections.emptyList(), box -> box).find(0, 0, candidate -> true));
+
+    double[] point = { 138.6, -34.9, 138.6, -34.9 };
+
+    RTree<double[]> tree = new RTree<>(Collections.singletonList(point), box -> box);
+
+    assertSame(point, tree.find(138.6, -34.9, candidate -> true));
+    assertNull(tree.find(138.6, -34.8, candidate -> true));
+
+    for (int size = 1; size <= 2 * RTree.NODE_SIZE + 1; size++) {
+
+      List<double[]> boxes = boxes(size);
+      RTree<double[]> small = new RTree<>(boxes, box -> box);
+
+      for (int query = 0; query < 50; query++) {
+        assertFind(boxes, small, -180 + random.nextDouble() * 360, -90 + random.nextDouble() * 180);
+      }
+
+    }
+
+  }
+
+  // find() returns a box that contains the point, or null if none do, and every box that contains it can be found
+
+  private static void assertFind(List<double[]> boxes, RTree<double[]> tree, double x, double y) {
+
+    List<double[]> expected = new ArrayList<>();
+
+    for (double[] box : boxes) {
+
+      if (x >= box[0] && y >= box[1] && x <= box[2] && y <= box[3]) {
+        expected.add(box);
+      }
+
+    }
+
+    double[] found = tree.find(x, y, candidate -> true);
+
+    if (expected.isEmpty()) {
+      assertNull(found, "(" + x + ", " + y + ")");
+      return;
+    }
+
+    assertTrue(expected.contains(found), "(" + x + ", " + y + ")");
+
+    for (double[] box : expected) {
+      assertSame(box, tree.find(x, y, candidate -> candidate == box), "(" + x + ", " + y + ")");
+    }
+
+  }
+
+  // Boxes of mixed sizes (a few degrees, like a rural division, down to a point)
+
+  private List<double[]> boxes(int count) {
+
+    List<double[]> boxes = new ArrayList<>();
+
+    for (int i = 0; i < count; i++) {
+
+      double width = random.nextInt(10) == 0 ? 0 : random.nextDouble() * 10;
+      double height = random.nextInt(10) == 0 ? 0 : random.nextDouble() * 10;
+
+      double minX = -180 + random.nextDouble() * (360 - width);
+      double minY = -90 + random.nextDouble() * (180 - height);
+
+      boxes.add(new double[] { minX, minY, minX + width, minY + height });
+    }
+
+    return boxes;
+  }
+
+}